@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.NameFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+
+/**
+ * Locates the test descriptors the benchmarks run over. The root directory is required and set with the
+ * <code>raml.benchmarks.corpus</code> system property, usually the <code>src/test/resources/org/raml/v2</code>
+ * directory of the parser.
+ */
+public class Corpus
+{
+
+    public static final String CORPUS_DIRECTORY = "raml.benchmarks.corpus";
+
+    private static final String INPUT_FILE_NAME = "input.raml";
+
+    private Corpus()
+    {
+    }
+
+    /**
+     * Returns the <code>input.raml</code> files under the specified directory of the corpus, sorted by path
+     */
+    public static List<File> getInputs(String directory)
+    {
+        final String corpusDirectory = System.getProperty(CORPUS_DIRECTORY);
+        if (corpusDirectory == null || corpusDirectory.trim().isEmpty())
+        {
+            throw new IllegalStateException("Corpus directory not set, use -jvmArgs -D" + CORPUS_DIRECTORY + "=<parser>/src/test/resources/org/raml/v2");
+        }
+        final File root = new File(corpusDirectory, directory);
+        if (!root.isDirectory())
+        {
+            throw new IllegalStateException("Corpus directory not found: " + root.getAbsolutePath() + ", check -D" + CORPUS_DIRECTORY);
+        }
+        final List<File> inputs = new ArrayList<>(FileUtils.listFiles(root, new NameFileFilter(INPUT_FILE_NAME), TrueFileFilter.INSTANCE));
+        if (inputs.isEmpty())
+        {
+            throw new IllegalStateException("No " + INPUT_FILE_NAME + " found under " + root.getAbsolutePath() + ", check -D" + CORPUS_DIRECTORY);
+        }
+        Collections.sort(inputs);
+        return inputs;
+    }
+
+    /**
+     * Returns the RAML 1.0 <code>input.raml</code> files under the specified directory of the corpus
+     */
+    public static List<File> getRaml10Inputs(String directory) throws IOException
+    {
+        final List<File> inputs = new ArrayList<>();
+        for (File input : getInputs(directory))
+        {
+            if (FileUtils.readFileToString(input, "UTF-8").startsWith("#%RAML 1.0"))
+            {
+                inputs.add(input);
+            }
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.raml.v2.internal.utils.DateType;
+import org.raml.v2.internal.utils.DateUtils;
+
+/**
+ * Compares the character scanners of {@link DateUtils#isValidDate(String, DateType, String)} with the Joda
+ * parsing they replaced, for valid and invalid values. The invalid values are where the Joda version paid
+ * for building and throwing an exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DateValidationBenchmark
+{
+
+    private static final DateTimeFormatter hourFormatter = DateTimeFormat.forPattern("HH:mm:ss");
+    private static final DateTimeFormatter dateFormatter = DateTimeFormat.forPattern("YYYY-MM-DD");
+    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormat.forPattern("YYYY-MM-DD'T'HH:mm:ss");
+    private static final DateTimeFormatter dateTimeSecondFormatter = DateTimeFormat.forPattern("YYYY-MM-DD'T'HH:mm:ss.SSS'Z'");
+    private static final DateTimeFormatter rfc2616Formatter = DateTimeFormat.forPattern("EEE, dd MMM yyyy HH:mm:ss zzz");
+
+    @Param({"date_only", "time_only", "datetime_only", "datetime"})
+    private DateType type;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private String value;
+
+    @Setup
+    public void setUp()
+    {
+        switch (type)
+        {
+        case date_only:
+            value = valid ? "2015-05-23" : "2015-05-2x";
+            break;
+        case time_only:
+            value = valid ? "12:30:00" : "12:30:0x";
+            break;
+        case datetime_only:
+            value = valid ? "2015-05-23T12:30:00" : "2015-05-23 12:30:00";
+            break;
+        default:
+            value = valid ? "2015-05-23T12:30:00.090Z" : "2015-05-23T12:30:00.090";
+            break;
+        }
+    }
+
+    @Benchmark
+    public boolean scanner()
+    {
+        return DateUtils.isValidDate(value, type, null);
+    }
+
+    @Benchmark
+    public boolean joda()
+    {
+        return isValidJodaDate(value, type, null);
+    }
+
+    /**
+     * The Joda based validation as it was before the scanners
+     */
+    private static boolean isValidJodaDate(String date, DateType format, String rfc)
+    {
+        try
+        {
+            switch (format)
+            {
+            case date_only:
+                dateFormatter.parseLocalDate(date);
+                break;
+            case time_only:
+                hourFormatter.parseLocalTime(date);
+                break;
+            case datetime_only:
+                dateTimeFormatter.parseLocalDateTime(date);
+                break;
+            case datetime:
+                if ("rfc2616".equals(rfc))
+                {
+                    rfc2616Formatter.parseLocalDateTime(date);
+                }
+                else
+                {
+                    dateTimeSecondFormatter.parseLocalDateTime(date);
+                }
+                break;
+            default:
+                return false;
+            }
+            return true;
+        }
+        catch (Exception e)
+        {
+            return false;
+        }
+    }
+}
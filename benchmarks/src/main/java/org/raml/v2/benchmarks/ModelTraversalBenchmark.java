@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.model.v10.api.Api;
+import org.raml.v2.api.model.v10.bodies.Response;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+import org.raml.v2.api.model.v10.methods.Method;
+import org.raml.v2.api.model.v10.resources.Resource;
+
+/**
+ * Time to walk the resources, methods, parameters, bodies, responses and types of already built RAML 1.0 models,
+ * measuring the cost of the model proxies alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ModelTraversalBenchmark
+{
+
+    private final List<Api> apis = new ArrayList<>();
+
+    @Setup
+    public void setUp()
+    {
+        for (File input : Corpus.getInputs("api/v10"))
+        {
+            final RamlModelResult result = new RamlModelBuilder().buildApi(input);
+            if (!result.hasErrors() && result.getApiV10() != null)
+            {
+                apis.add(result.getApiV10());
+            }
+        }
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole)
+    {
+        for (Api api : apis)
+        {
+            blackhole.consume(api.title());
+            visitTypes(api.types(), blackhole);
+            visitTypes(api.baseUriParameters(), blackhole);
+            visitResources(api.resources(), blackhole);
+        }
+    }
+
+    private void visitResources(List<Resource> resources, Blackhole blackhole)
+    {
+        for (Resource resource : resources)
+        {
+            blackhole.consume(resource.relativeUri());
+            blackhole.consume(resource.description());
+            visitTypes(resource.uriParameters(), blackhole);
+            for (Method method : resource.methods())
+            {
+                blackhole.consume(method.method());
+                blackhole.consume(method.is());
+                visitTypes(method.queryParameters(), blackhole);
+                visitTypes(method.headers(), blackhole);
+                visitTypes(method.body(), blackhole);
+                for (Response response : method.responses())
+                {
+                    blackhole.consume(response.code());
+                    visitTypes(response.headers(), blackhole);
+                    visitTypes(response.body(), blackhole);
+                }
+            }
+            visitResources(resource.resources(), blackhole);
+        }
+    }
+
+    private void visitTypes(List<TypeDeclaration> types, Blackhole blackhole)
+    {
+        for (TypeDeclaration type : types)
+        {
+            blackhole.consume(type.name());
+            blackhole.consume(type.required());
+            blackhole.consume(type.defaultValue());
+            blackhole.consume(type.example());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.v2.internal.impl.RamlBuilder;
+
+/**
+ * Time to run the first <code>phases</code> phases of the RAML 1.0 pipeline over the parser test corpus.
+ * The cost of a single phase is the difference between two consecutive scores, in declaration order:
+ * include, fragments, grammar, libraryLink, referenceCheck, resources, annotationValidation,
+ * mediaTypeInjection, revalidation, schemaValidation and exampleValidation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PhaseBenchmark
+{
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11"})
+    private int phases;
+
+    private List<File> inputs;
+    private RamlBuilder builder;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        inputs = Corpus.getRaml10Inputs("parser");
+        builder = new RamlBuilder(phases);
+    }
+
+    @Benchmark
+    public void buildPhases(Blackhole blackhole)
+    {
+        for (File input : inputs)
+        {
+            blackhole.consume(builder.build(input));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.v2.internal.impl.RamlSuggester;
+
+/**
+ * Latency of {@link RamlSuggester#suggestions(String, int)} over the suggester test cases,
+ * each one requesting the suggestions at its <code>&lt;cursor&gt;</code> marker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SuggesterBenchmark
+{
+
+    private static final String CURSOR_KEYWORD = "<cursor>";
+
+    private final List<String> documents = new ArrayList<>();
+    private final List<Integer> offsets = new ArrayList<>();
+    private RamlSuggester suggester;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        for (File input : Corpus.getInputs("internal/framework/suggester"))
+        {
+            final String content = FileUtils.readFileToString(input, "UTF-8");
+            final int offset = content.indexOf(CURSOR_KEYWORD);
+            if (offset >= 0)
+            {
+                documents.add(content.substring(0, offset) + content.substring(offset + CURSOR_KEYWORD.length()));
+                offsets.add(offset - 1);
+            }
+        }
+        suggester = new RamlSuggester();
+    }
+
+    @Benchmark
+    public void suggestions(Blackhole blackhole)
+    {
+        for (int i = 0; i < documents.size(); i++)
+        {
+            blackhole.consume(suggester.suggestions(documents.get(i), offsets.get(i)));
+        }
+    }
+}
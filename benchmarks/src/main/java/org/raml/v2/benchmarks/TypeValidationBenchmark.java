@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.model.common.ValidationResult;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+/**
+ * Throughput of {@link TypeDeclaration#validate(String)} for a JSON payload and a scalar payload validated against
+ * RAML types, a JSON payload validated against a JSON schema and an XML payload validated against an XSD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypeValidationBenchmark
+{
+
+    private static final String JSON_PAYLOAD = "{\"name\": \"John\", \"age\": 42, \"email\": \"john@example.com\", \"birthday\": \"1974-05-17\"," +
+                                               " \"addresses\": [{\"street\": \"Main 123\", \"city\": \"Springfield\", \"zip\": \"12345\"}," +
+                                               " {\"street\": \"Elm 456\", \"city\": \"Shelbyville\", \"zip\": \"54321\"}]," +
+                                               " \"tags\": [\"a\", \"b\", \"c\"]}";
+
+    private static final String XML_PAYLOAD = "<person><name>John</name><age>42</age><email>john@example.com</email>" +
+                                              "<address><street>Main 123</street><city>Springfield</city><zip>12345</zip></address>" +
+                                              "<address><street>Elm 456</street><city>Shelbyville</city><zip>54321</zip></address>" +
+                                              "</person>";
+
+    private TypeDeclaration ramlType;
+    private TypeDeclaration scalarType;
+    private TypeDeclaration jsonSchemaType;
+    private TypeDeclaration xmlSchemaType;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        final String location = "org/raml/v2/benchmarks/validation.raml";
+        final String content;
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream(location))
+        {
+            content = IOUtils.toString(stream, "UTF-8");
+        }
+        final RamlModelResult result = new RamlModelBuilder().buildApi(content, location);
+        if (result.hasErrors())
+        {
+            throw new IllegalStateException(result.getValidationResults().get(0).getMessage());
+        }
+        final List<TypeDeclaration> types = result.getApiV10().types();
+        ramlType = find(types, "Person");
+        scalarType = find(types, "Zip");
+        jsonSchemaType = find(types, "PersonSchema");
+        xmlSchemaType = find(types, "PersonXmlSchema");
+
+        check(ramlType, JSON_PAYLOAD);
+        check(scalarType, "12345");
+        check(jsonSchemaType, JSON_PAYLOAD);
+        check(xmlSchemaType, XML_PAYLOAD);
+    }
+
+    @Benchmark
+    public List<ValidationResult> ramlTypeJsonPayload()
+    {
+        return ramlType.validate(JSON_PAYLOAD);
+    }
+
+    @Benchmark
+    public List<ValidationResult> ramlScalarPayload()
+    {
+        return scalarType.validate("12345");
+    }
+
+    @Benchmark
+    public List<ValidationResult> jsonSchemaPayload()
+    {
+        return jsonSchemaType.validate(JSON_PAYLOAD);
+    }
+
+    @Benchmark
+    public List<ValidationResult> xmlSchemaPayload()
+    {
+        return xmlSchemaType.validate(XML_PAYLOAD);
+    }
+
+    private static TypeDeclaration find(List<TypeDeclaration> types, String name)
+    {
+        for (TypeDeclaration type : types)
+        {
+            if (name.equals(type.name()))
+            {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Type not found: " + name);
+    }
+
+    private static void check(TypeDeclaration type, String payload)
+    {
+        final List<ValidationResult> results = type.validate(payload);
+        if (!results.isEmpty())
+        {
+            // a failing payload would only measure the error path
+            throw new IllegalStateException(type.name() + ": " + results.get(0).getMessage());
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.raml.v2.api;
 
 import org.apache.commons.io.IOUtils;
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
 import org.raml.v2.api.loader.CompositeResourceLoader;
 import org.raml.v2.api.loader.DefaultResourceLoader;
 import org.raml.v2.api.loader.FileResourceLoader;
@@ -36,16 +37,21 @@ import org.raml.v2.internal.impl.commons.model.RamlValidationResult;
 import org.raml.v2.internal.impl.commons.model.StringType;
 import org.raml.v2.internal.impl.commons.model.factory.TypeDeclarationModelFactory;
 import org.raml.v2.internal.impl.commons.nodes.RamlDocumentNode;
+import org.raml.v2.internal.impl.v10.BaseDocumentCache;
 import org.raml.v2.internal.impl.v10.RamlFragment;
+import org.raml.v2.internal.impl.v10.phase.ExampleValidationPhase;
+import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
 import org.raml.v2.internal.utils.StreamUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Entry point class to parse top level RAML descriptors.
@@ -56,16 +62,102 @@ public class RamlModelBuilder
 
     public static final String MODEL_PACKAGE = "org.raml.v2.internal.impl.commons.model";
     private ResourceLoader resourceLoader;
-    private RamlBuilder builder = new RamlBuilder();
+    private RamlBuilder builder;
 
+    /**
+     * Creates a builder fetching with a {@link DefaultResourceLoader}, which downloads the remote includes and libraries
+     * of a document at the same time
+     */
     public RamlModelBuilder()
     {
         this(new DefaultResourceLoader());
     }
 
     public RamlModelBuilder(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, ValidationLevel.FULL);
+    }
+
+    public RamlModelBuilder(ValidationLevel validationLevel)
+    {
+        this(new DefaultResourceLoader(), validationLevel);
+    }
+
+    /**
+     * @param resourceLoader The loader used to fetch the descriptor and its dependencies
+     * @param validationLevel The validations to perform while building, see {@link RamlModelResult#validateFully()}
+     */
+    public RamlModelBuilder(ResourceLoader resourceLoader, ValidationLevel validationLevel)
     {
         this.resourceLoader = resourceLoader;
+        this.builder = new RamlBuilder(RamlBuilder.ALL_PHASES, validationLevel);
+    }
+
+    /**
+     * Sets the instrumentation that receives the build, phase, resource and schema metrics of the subsequent builds
+     * @param instrumentation The instrumentation to report to or null to disable reporting
+     * @return this builder
+     */
+    @Nonnull
+    public RamlModelBuilder setInstrumentation(@Nullable BuildInstrumentation instrumentation)
+    {
+        builder.setInstrumentation(instrumentation);
+        return this;
+    }
+
+    /**
+     * Enables reusing the base documents of extensions and overlays. When many of them extend the same document,
+     * it is parsed once and each of them is merged into a copy of it.
+     * A base document is parsed again if its content or any resource it includes or uses changes.
+     * @param enabled whether to keep the base documents between builds
+     * @return this builder
+     */
+    @Nonnull
+    public RamlModelBuilder setBaseDocumentCaching(boolean enabled)
+    {
+        builder.setBaseDocumentCache(enabled ? new BaseDocumentCache() : null);
+        return this;
+    }
+
+    /**
+     * Sets how much of the history of the nodes replaced while building is kept in the model.
+     * Processes that keep many models alive can use {@link SourceRetention#POSITIONS_ONLY} to reduce their footprint,
+     * the error positions are kept with every policy.
+     * @param sourceRetention the retention policy, {@link SourceRetention#FULL} by default
+     * @return this builder
+     */
+    @Nonnull
+    public RamlModelBuilder setSourceRetention(@Nonnull SourceRetention sourceRetention)
+    {
+        builder.setSourceRetention(sourceRetention);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of steps allowed when matching a value against a <code>pattern</code> facet,
+     * so a catastrophic pattern is reported as an error instead of blocking the build.
+     * @param patternStepBudget the limit or zero for no limit, the {@link TypeToRuleVisitor#PATTERN_STEP_BUDGET} system property by default
+     * @return this builder
+     */
+    @Nonnull
+    public RamlModelBuilder setPatternStepBudget(int patternStepBudget)
+    {
+        builder.setPatternStepBudget(patternStepBudget);
+        return this;
+    }
+
+    /**
+     * Sets the executor the examples are validated on concurrently, the result is the same as validating them sequentially.
+     * The executor is not shut down by the builder.
+     * @param executor the executor or null to use the pool sized by the {@link ExampleValidationPhase#PARALLELISM} system property,
+     *                 examples are validated sequentially if it is not set
+     * @return this builder
+     */
+    @Nonnull
+    public RamlModelBuilder setExampleValidationExecutor(@Nullable ExecutorService executor)
+    {
+        builder.setExampleValidationExecutor(executor);
+        return this;
     }
 
     @Nonnull
@@ -143,12 +235,32 @@ public class RamlModelBuilder
             }
             if (validationResults.isEmpty())
             {
-                return wrapTree((RamlDocumentNode) ramlNode);
+                final RamlModelResult result = wrapTree((RamlDocumentNode) ramlNode);
+                result.setDeferredValidation(createDeferredValidation((RamlDocumentNode) ramlNode));
+                return result;
             }
         }
         return new RamlModelResult(validationResults);
     }
 
+    private RamlModelResult.DeferredValidation createDeferredValidation(final RamlDocumentNode ramlNode)
+    {
+        return new RamlModelResult.DeferredValidation()
+        {
+            @Override
+            public List<ValidationResult> validate()
+            {
+                final Node validated = builder.validateSkippedPhases(ramlNode, resourceLoader);
+                final List<ValidationResult> validationResults = new ArrayList<>();
+                for (ErrorNode errorNode : validated.findDescendantsWith(ErrorNode.class))
+                {
+                    validationResults.add(new RamlValidationResult(errorNode));
+                }
+                return validationResults;
+            }
+        };
+    }
+
     private RamlModelResult generateRamlApiResult(String errorMessage)
     {
         List<ValidationResult> validationResults = new ArrayList<>();
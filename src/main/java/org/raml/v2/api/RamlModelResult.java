@@ -38,6 +38,7 @@ public class RamlModelResult
     private List<ValidationResult> validationResults = new ArrayList<>();
     private org.raml.v2.api.model.v10.api.Api apiV10;
     private org.raml.v2.api.model.v08.api.Api apiV08;
+    private DeferredValidation deferredValidation;
 
     RamlModelResult(List<ValidationResult> validationResults)
     {
@@ -66,6 +67,35 @@ public class RamlModelResult
         this.apiV08 = apiV08;
     }
 
+    void setDeferredValidation(DeferredValidation deferredValidation)
+    {
+        this.deferredValidation = deferredValidation;
+    }
+
+    /**
+     * Runs the validations skipped because of the {@link ValidationLevel} used to build this result.
+     * If they find errors the Api model is discarded and the errors are reported as for any other parsing error.
+     * Calling it more than once or on a fully validated result has no effect.
+     *
+     * @return the list of validation results or an empty list if there are no errors
+     */
+    @Nonnull
+    public synchronized List<ValidationResult> validateFully()
+    {
+        if (deferredValidation != null)
+        {
+            final List<ValidationResult> results = deferredValidation.validate();
+            deferredValidation = null;
+            if (!results.isEmpty())
+            {
+                validationResults = results;
+                apiV10 = null;
+                apiV08 = null;
+            }
+        }
+        return validationResults;
+    }
+
     /**
      * @return true if any parsing error occurred
      */
@@ -119,4 +149,10 @@ public class RamlModelResult
     {
         return apiV08;
     }
+
+    interface DeferredValidation
+    {
+
+        List<ValidationResult> validate();
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+/**
+ * How much of the history of the nodes replaced while building is kept in the model.
+ *
+ * Every phase that replaces a node records the node it replaced as its source, so by default the model
+ * keeps every intermediate version of the tree and the parsed yaml behind it. Processes that hold many
+ * models can drop that history once the model is built.
+ */
+public enum SourceRetention
+{
+    /**
+     * Keeps the whole chain of replaced nodes, this is the default.
+     */
+    FULL,
+
+    /**
+     * Keeps the start and end position of every node and drops the chain of replaced nodes.
+     */
+    POSITIONS_ONLY,
+
+    /**
+     * Drops the chain of replaced nodes. Only the error nodes keep their positions.
+     */
+    NONE
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+/**
+ * How much validation {@link RamlModelBuilder} performs while building the model.
+ *
+ * The cheaper levels are meant for descriptors that were already validated elsewhere,
+ * the skipped checks can be run later with {@link RamlModelResult#validateFully()}.
+ * RAML 0.8 descriptors have no optional validations so they are always fully validated.
+ */
+public enum ValidationLevel
+{
+    /**
+     * Builds the model (includes, libraries, resource types and traits) without checking references,
+     * annotations, schemas or examples. Libraries are always fully validated.
+     */
+    STRUCTURE_ONLY,
+
+    /**
+     * Like {@link #STRUCTURE_ONLY} but also runs the reference check, reporting references to undefined types,
+     * traits, resource types, etc. Annotations, schemas and examples are still not validated.
+     */
+    REFERENCES,
+
+    /**
+     * Runs every validation, this is the default.
+     */
+    FULL
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.instrumentation;
+
+/**
+ * Receives measurements of the RAML build pipeline.
+ * <p/>
+ * Register an implementation with {@link org.raml.v2.api.RamlModelBuilder#setInstrumentation(BuildInstrumentation)}.
+ * Builds of libraries and extended documents triggered by a build are reported to the same instance.
+ * Implementations must be thread safe as examples may be validated concurrently.
+ */
+public interface BuildInstrumentation
+{
+
+    /**
+     * Called when a build finishes
+     * @param location The location of the built document
+     * @param nanos Wall time of the build
+     * @param hasErrors True if the build produced errors
+     */
+    void buildCompleted(String location, long nanos, boolean hasErrors);
+
+    /**
+     * Called after each phase of a build
+     * @param phaseName The name of the phase, fused phases are joined with '+'
+     * @param nanos Wall time of the phase
+     * @param nodesVisited Number of nodes traversed by the phase or 0 if the phase does not track it
+     * @param nodesReplaced Number of nodes replaced by the phase or 0 if the phase does not track it
+     */
+    void phaseCompleted(String phaseName, long nanos, long nodesVisited, long nodesReplaced);
+
+    /**
+     * Called when a resource (include, library, schema, ...) has been read and its stream closed,
+     * or right away if it was not found
+     * @param resourceName The resource name as requested
+     * @param bytes The number of bytes read or -1 if the resource was not found
+     * @param nanos Time from the request until the stream was closed
+     */
+    void resourceFetched(String resourceName, long bytes, long nanos);
+
+    /**
+     * Called when an external schema is compiled or taken from the compiled schema cache
+     * @param schemaType "json" or "xml"
+     * @param nanos Time spent obtaining it
+     */
+    void schemaCompiled(String schemaType, long nanos);
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe histogram of non negative values using power of two buckets.
+ * Percentiles are approximated by the upper bound of the bucket that contains them.
+ */
+public class Histogram implements HistogramMBean
+{
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    public void record(long value)
+    {
+        final long sample = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(sample));
+        count.incrementAndGet();
+        total.addAndGet(sample);
+        long current = min.get();
+        while (sample < current && !min.compareAndSet(current, sample))
+        {
+            current = min.get();
+        }
+        current = max.get();
+        while (sample > current && !max.compareAndSet(current, sample))
+        {
+            current = max.get();
+        }
+    }
+
+    @Override
+    public long getCount()
+    {
+        return count.get();
+    }
+
+    @Override
+    public long getTotal()
+    {
+        return total.get();
+    }
+
+    @Override
+    public long getMin()
+    {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    @Override
+    public long getMax()
+    {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    @Override
+    public double getMean()
+    {
+        final long samples = getCount();
+        return samples == 0 ? 0 : (double) getTotal() / samples;
+    }
+
+    @Override
+    public long getMedian()
+    {
+        return getPercentile(0.5);
+    }
+
+    @Override
+    public long get99thPercentile()
+    {
+        return getPercentile(0.99);
+    }
+
+    /**
+     * @param percentile A value between 0 and 1
+     * @return The approximated value below which the given fraction of the samples fall
+     */
+    public long getPercentile(double percentile)
+    {
+        final long samples = getCount();
+        if (samples == 0)
+        {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += buckets.get(i);
+            if (seen >= rank)
+            {
+                final long upperBound = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(Math.max(upperBound, getMin()), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private static int bucketOf(long value)
+    {
+        // bucket i holds the values with i significant bits, i.e. [2^(i-1), 2^i - 1]
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+}
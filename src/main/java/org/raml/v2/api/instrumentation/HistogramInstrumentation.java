@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Default {@link BuildInstrumentation} that aggregates every measurement into a {@link Histogram}.
+ * <p/>
+ * Histograms are named after what they measure: <code>build.time</code>, <code>build.errors</code>,
+ * <code>phase.&lt;name&gt;.time</code>, <code>phase.&lt;name&gt;.visited</code>, <code>phase.&lt;name&gt;.replaced</code>,
+ * <code>resource.time</code>, <code>resource.bytes</code>, <code>resource.missing</code> and <code>schema.&lt;type&gt;.time</code>.
+ * Times are in nanoseconds.
+ * <p/>
+ * Once {@link #registerMBeans()} is called every histogram, including the ones created afterwards,
+ * is exposed as an MBean named <code>&lt;domain&gt;:type=Histogram,name=&lt;histogram name&gt;</code>.
+ */
+public class HistogramInstrumentation implements BuildInstrumentation
+{
+
+    public static final String DEFAULT_DOMAIN = "org.raml.parser";
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @Nullable
+    private MBeanServer mBeanServer;
+    private String domain;
+
+    @Override
+    public void buildCompleted(String location, long nanos, boolean hasErrors)
+    {
+        getHistogram("build.time").record(nanos);
+        getHistogram("build.errors").record(hasErrors ? 1 : 0);
+    }
+
+    @Override
+    public void phaseCompleted(String phaseName, long nanos, long nodesVisited, long nodesReplaced)
+    {
+        getHistogram("phase." + phaseName + ".time").record(nanos);
+        getHistogram("phase." + phaseName + ".visited").record(nodesVisited);
+        getHistogram("phase." + phaseName + ".replaced").record(nodesReplaced);
+    }
+
+    @Override
+    public void resourceFetched(String resourceName, long bytes, long nanos)
+    {
+        getHistogram("resource.time").record(nanos);
+        if (bytes < 0)
+        {
+            getHistogram("resource.missing").record(1);
+        }
+        else
+        {
+            getHistogram("resource.bytes").record(bytes);
+        }
+    }
+
+    @Override
+    public void schemaCompiled(String schemaType, long nanos)
+    {
+        getHistogram("schema." + schemaType + ".time").record(nanos);
+    }
+
+    /**
+     * Returns the histogram with the specified name, creating it if it does not exist
+     */
+    @Nonnull
+    public Histogram getHistogram(String name)
+    {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null)
+        {
+            final Histogram created = new Histogram();
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null)
+            {
+                histogram = created;
+                register(name, created);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @return A snapshot of the histograms sorted by name
+     */
+    @Nonnull
+    public Map<String, Histogram> getHistograms()
+    {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    /**
+     * Registers the histograms in the platform MBean server under {@link #DEFAULT_DOMAIN}
+     */
+    public void registerMBeans()
+    {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Registers the histograms in the specified MBean server
+     * @param mBeanServer The MBean server
+     * @param domain The domain of the object names
+     */
+    public synchronized void registerMBeans(MBeanServer mBeanServer, String domain)
+    {
+        this.mBeanServer = mBeanServer;
+        this.domain = domain;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet())
+        {
+            register(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Unregisters the MBeans registered by this instance
+     */
+    public synchronized void unregisterMBeans()
+    {
+        if (mBeanServer != null)
+        {
+            for (String name : histograms.keySet())
+            {
+                try
+                {
+                    final ObjectName objectName = getObjectName(name);
+                    if (mBeanServer.isRegistered(objectName))
+                    {
+                        mBeanServer.unregisterMBean(objectName);
+                    }
+                }
+                catch (JMException e)
+                {
+                    throw new IllegalStateException("Could not unregister histogram " + name, e);
+                }
+            }
+            mBeanServer = null;
+        }
+    }
+
+    private synchronized void register(String name, Histogram histogram)
+    {
+        if (mBeanServer != null)
+        {
+            try
+            {
+                final ObjectName objectName = getObjectName(name);
+                if (!mBeanServer.isRegistered(objectName))
+                {
+                    mBeanServer.registerMBean(histogram, objectName);
+                }
+            }
+            catch (JMException e)
+            {
+                throw new IllegalStateException("Could not register histogram " + name, e);
+            }
+        }
+    }
+
+    private ObjectName getObjectName(String name) throws JMException
+    {
+        return new ObjectName(domain + ":type=Histogram,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.InputStream;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * A loader able to fetch resources in the background, so several of them can be downloaded at the same time.
+ * The includes and libraries of a document are prefetched only when it is built with an asynchronous loader;
+ * a blocking loader can opt in by being adapted with {@link ExecutorResourceLoader#asAsync(ResourceLoader)}.
+ */
+public interface AsyncResourceLoader extends ResourceLoader
+{
+
+    /**
+     * Starts fetching the specified resource.
+     *
+     * @param resourceName the resource to try to fetch
+     * @return A future completed with an input stream for reading the resource, or with <tt>null</tt>
+     *         if the resource could not be found
+     */
+    @Nonnull
+    ListenableFuture<InputStream> fetchResourceAsync(String resourceName);
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+/**
+ * Keeps the content of the resources served by another loader in memory, so they are fetched once and shared
+ * between builds.
+ *
+ * A resource is served from memory while it is fresh. After that it is revalidated with the version reported by
+ * the loader when it is a {@link VersionedResourceLoader} (the modification time of files, the entity tag or
+ * last modification of http resources) and fetched again only if it changed, or if its version can not be known.
+ * Missing resources are remembered too, so a chain of loaders probing many locations does not look for the same
+ * absent resource over and over. The cache is bounded by the size of the content it holds, the least recently
+ * used resources are evicted first.
+ */
+public class CachingResourceLoader implements VersionedResourceLoader
+{
+
+    public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+    // Approximate footprint of an entry besides its content
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ResourceLoader resourceLoader;
+    private final Cache<String, Entry> entries;
+    private long freshnessNanos = TimeUnit.SECONDS.toNanos(1);
+    private long missFreshnessNanos = TimeUnit.SECONDS.toNanos(5);
+
+    public CachingResourceLoader(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param resourceLoader The loader to fetch the resources from
+     * @param maxSize The maximum number of bytes of content to keep
+     */
+    public CachingResourceLoader(ResourceLoader resourceLoader, long maxSize)
+    {
+        this.resourceLoader = resourceLoader;
+        this.entries = CacheBuilder.newBuilder()
+                                   .maximumWeight(maxSize)
+                                   .weigher(new Weigher<String, Entry>()
+                                   {
+                                       @Override
+                                       public int weigh(@Nonnull String resourceName, @Nonnull Entry entry)
+                                       {
+                                           return ENTRY_OVERHEAD + 2 * resourceName.length() + (entry.content != null ? entry.content.length : 0);
+                                       }
+                                   })
+                                   .build();
+    }
+
+    /**
+     * Sets for how long a resource is served without revalidating it, one second by default
+     * @return this loader
+     */
+    @Nonnull
+    public CachingResourceLoader setFreshness(long duration, TimeUnit unit)
+    {
+        this.freshnessNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Sets for how long a missing resource is reported as missing without looking for it again, five seconds by default
+     * @return this loader
+     */
+    @Nonnull
+    public CachingResourceLoader setMissFreshness(long duration, TimeUnit unit)
+    {
+        this.missFreshnessNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        Entry entry = entries.getIfPresent(resourceName);
+        final long now = System.nanoTime();
+        if (entry == null || !isFresh(entry, now) && !revalidate(resourceName, entry, now))
+        {
+            entry = fetch(resourceName, now);
+            entries.put(resourceName, entry);
+        }
+        return entry.content != null ? new ByteArrayInputStream(entry.content) : null;
+    }
+
+    @Nullable
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return resourceLoader instanceof VersionedResourceLoader ? ((VersionedResourceLoader) resourceLoader).getVersion(resourceName) : null;
+    }
+
+    /**
+     * Discards every resource held by this loader
+     */
+    public void clear()
+    {
+        entries.invalidateAll();
+    }
+
+    private boolean isFresh(Entry entry, long now)
+    {
+        return now - entry.validated < (entry.content != null ? freshnessNanos : missFreshnessNanos);
+    }
+
+    private boolean revalidate(String resourceName, Entry entry, long now)
+    {
+        if (entry.content == null || entry.version == null)
+        {
+            return false;
+        }
+        if (entry.version.equals(getVersion(resourceName)))
+        {
+            entry.validated = now;
+            return true;
+        }
+        return false;
+    }
+
+    private Entry fetch(String resourceName, long now)
+    {
+        // the version is read first so a change while fetching is noticed on the next revalidation
+        final String version = getVersion(resourceName);
+        final InputStream inputStream = resourceLoader.fetchResource(resourceName);
+        if (inputStream == null)
+        {
+            return new Entry(null, null, now);
+        }
+        try
+        {
+            return new Entry(IOUtils.toByteArray(inputStream), version, now);
+        }
+        catch (IOException e)
+        {
+            // not remembered, it will be fetched again
+            return new Entry(null, null, now - missFreshnessNanos);
+        }
+        finally
+        {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    private static class Entry
+    {
+
+        @Nullable
+        private final byte[] content;
+        @Nullable
+        private final String version;
+        private volatile long validated;
+
+        Entry(@Nullable byte[] content, @Nullable String version, long validated)
+        {
+            this.content = content;
+            this.version = version;
+            this.validated = validated;
+        }
+    }
+}
@@ -15,9 +15,15 @@
  */
 package org.raml.v2.api.loader;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 
-public class ClassPathResourceLoader implements ResourceLoader
+public class ClassPathResourceLoader implements VersionedResourceLoader
 {
 
     @Override
@@ -30,4 +36,37 @@ public class ClassPathResourceLoader implements ResourceLoader
         }
         return inputStream;
     }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        URL url = getClass().getClassLoader().getResource(resourceName);
+        if (url == null)
+        {
+            url = Thread.currentThread().getContextClassLoader().getResource(resourceName);
+        }
+        if (url == null)
+        {
+            return null;
+        }
+        try
+        {
+            if ("file".equals(url.getProtocol()))
+            {
+                return FileResourceLoader.getVersion(new File(url.toURI()));
+            }
+            final URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection)
+            {
+                // a resource in a jar changes with the jar
+                final URL jarFileUrl = ((JarURLConnection) connection).getJarFileURL();
+                return "file".equals(jarFileUrl.getProtocol()) ? FileResourceLoader.getVersion(new File(jarFileUrl.toURI())) : null;
+            }
+        }
+        catch (IOException | URISyntaxException | IllegalArgumentException e)
+        {
+            // version unknown
+        }
+        return null;
+    }
 }
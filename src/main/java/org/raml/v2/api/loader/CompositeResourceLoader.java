@@ -17,7 +17,7 @@ package org.raml.v2.api.loader;
 
 import java.io.InputStream;
 
-public class CompositeResourceLoader implements ResourceLoader
+public class CompositeResourceLoader implements VersionedResourceLoader
 {
 
     private ResourceLoader[] resourceLoaders;
@@ -41,4 +41,23 @@ public class CompositeResourceLoader implements ResourceLoader
         }
         return inputStream;
     }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        for (ResourceLoader loader : resourceLoaders)
+        {
+            if (!(loader instanceof VersionedResourceLoader))
+            {
+                // it may be the one serving the resource
+                return null;
+            }
+            final String version = ((VersionedResourceLoader) loader).getVersion(resourceName);
+            if (version != null)
+            {
+                return version;
+            }
+        }
+        return null;
+    }
 }
@@ -15,20 +15,60 @@
  */
 package org.raml.v2.api.loader;
 
+import java.io.File;
 import java.io.InputStream;
 
-public class DefaultResourceLoader implements ResourceLoader
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Loads urls, class path resources and files. Http urls are fetched asking for raml content, other urls as they are,
+ * including the ones of any scheme the JVM has a handler for.
+ * Relative paths are looked up in the class path first and then in the search roots, the working directory by default.
+ * <p>
+ * Http urls are fetched with a shared {@link HttpResourceLoader}, so the remote includes and libraries of the documents
+ * built with this loader are downloaded at the same time.
+ */
+public class DefaultResourceLoader implements AsyncResourceLoader, VersionedResourceLoader
 {
 
-    private ResourceLoader resourceLoader;
+    // its threads are daemons stopping when idle, so it is never closed
+    private static final HttpResourceLoader httpResourceLoader = new HttpResourceLoader();
+    private static final RoutingResourceLoader defaultRoutes = createRoutes(new File("."));
+
+    private final RoutingResourceLoader resourceLoader;
 
     public DefaultResourceLoader()
     {
-        resourceLoader = new CompositeResourceLoader(
-                new UrlResourceLoader(),
-                new RamlUrlResourceLoader(),
-                new ClassPathResourceLoader(),
-                new FileResourceLoader("."));
+        resourceLoader = defaultRoutes;
+    }
+
+    /**
+     * @param searchRoots The directories where relative paths not found in the class path are looked up, in order
+     */
+    public DefaultResourceLoader(File... searchRoots)
+    {
+        resourceLoader = createRoutes(searchRoots);
+    }
+
+    private static RoutingResourceLoader createRoutes(File... searchRoots)
+    {
+        final UrlResourceLoader urlResourceLoader = new UrlResourceLoader();
+        final RoutingResourceLoader routes = new RoutingResourceLoader()
+                                                                        .addScheme("http", httpResourceLoader)
+                                                                        .addScheme("https", httpResourceLoader)
+                                                                        .addScheme("file", urlResourceLoader)
+                                                                        .addScheme("jar", urlResourceLoader)
+                                                                        .addScheme("ftp", urlResourceLoader)
+                                                                        .setUrlLoader(urlResourceLoader)
+                                                                        .addRelativeLoader("class path", new ClassPathResourceLoader());
+        for (File searchRoot : searchRoots)
+        {
+            routes.addSearchRoot(searchRoot);
+        }
+        return routes;
     }
 
     @Override
@@ -36,4 +76,27 @@ public class DefaultResourceLoader implements ResourceLoader
     {
         return resourceLoader.fetchResource(resourceName);
     }
+
+    @Nonnull
+    @Override
+    public ListenableFuture<InputStream> fetchResourceAsync(String resourceName)
+    {
+        return resourceLoader.fetchResourceAsync(resourceName);
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return resourceLoader.getVersion(resourceName);
+    }
+
+    /**
+     * Returns the name of the loader that last served the specified resource
+     * @see RoutingResourceLoader#getServedBy(String)
+     */
+    @Nullable
+    public String getServedBy(String resourceName)
+    {
+        return resourceLoader.getServedBy(resourceName);
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Adapts a blocking loader to {@link AsyncResourceLoader} by fetching the resources on an executor.
+ * The content is read completely in the background, the returned streams do not block.
+ */
+public class ExecutorResourceLoader implements AsyncResourceLoader, VersionedResourceLoader
+{
+
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    private static ListeningExecutorService defaultExecutor;
+
+    private final ResourceLoader resourceLoader;
+    private final ListeningExecutorService executor;
+
+    /**
+     * Fetches the resources on a shared pool of {@value #DEFAULT_PARALLELISM} daemon threads
+     */
+    public ExecutorResourceLoader(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, getDefaultExecutor());
+    }
+
+    public ExecutorResourceLoader(ResourceLoader resourceLoader, ExecutorService executor)
+    {
+        this.resourceLoader = resourceLoader;
+        this.executor = MoreExecutors.listeningDecorator(executor);
+    }
+
+    /**
+     * Returns the specified loader if it is already asynchronous, or an adapter fetching on the shared pool
+     */
+    @Nonnull
+    public static AsyncResourceLoader asAsync(ResourceLoader resourceLoader)
+    {
+        return resourceLoader instanceof AsyncResourceLoader ? (AsyncResourceLoader) resourceLoader : new ExecutorResourceLoader(resourceLoader);
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        return resourceLoader.fetchResource(resourceName);
+    }
+
+    @Nonnull
+    @Override
+    public ListenableFuture<InputStream> fetchResourceAsync(final String resourceName)
+    {
+        return executor.submit(new Callable<InputStream>()
+        {
+            @Override
+            public InputStream call() throws Exception
+            {
+                final InputStream inputStream = resourceLoader.fetchResource(resourceName);
+                if (inputStream == null)
+                {
+                    return null;
+                }
+                try
+                {
+                    return new ByteArrayInputStream(IOUtils.toByteArray(inputStream));
+                }
+                finally
+                {
+                    IOUtils.closeQuietly(inputStream);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return resourceLoader instanceof VersionedResourceLoader ? ((VersionedResourceLoader) resourceLoader).getVersion(resourceName) : null;
+    }
+
+    private static synchronized ListeningExecutorService getDefaultExecutor()
+    {
+        if (defaultExecutor == null)
+        {
+            defaultExecutor = MoreExecutors.listeningDecorator(createPool(DEFAULT_PARALLELISM, "raml-resource-loader-%d"));
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Creates a pool of daemon threads that are stopped when idle
+     */
+    static ThreadPoolExecutor createPool(int threads, String nameFormat)
+    {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat(nameFormat).build());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
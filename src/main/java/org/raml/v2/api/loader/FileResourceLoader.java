@@ -23,7 +23,7 @@ import java.io.InputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class FileResourceLoader implements ResourceLoader
+public class FileResourceLoader implements VersionedResourceLoader
 {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -42,10 +42,9 @@ public class FileResourceLoader implements ResourceLoader
     @Override
     public InputStream fetchResource(String resourceName)
     {
-        File includedFile = new File(resourceName);
-        if (!includedFile.isAbsolute())
+        final File includedFile = resolve(resourceName);
+        if (!new File(resourceName).isAbsolute())
         {
-            includedFile = new File(parentPath, resourceName);
             logger.debug("Looking for resource: {} on directory: {}...", resourceName, parentPath);
         }
         else
@@ -64,4 +63,25 @@ public class FileResourceLoader implements ResourceLoader
         return inputStream;
     }
 
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return getVersion(resolve(resourceName));
+    }
+
+    private File resolve(String resourceName)
+    {
+        File includedFile = new File(resourceName);
+        if (!includedFile.isAbsolute())
+        {
+            includedFile = new File(parentPath, resourceName);
+        }
+        return includedFile;
+    }
+
+    static String getVersion(File file)
+    {
+        return file.isFile() ? file.lastModified() + ":" + file.length() : null;
+    }
+
 }
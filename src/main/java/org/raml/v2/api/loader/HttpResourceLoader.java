@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.Callable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Fetches http and https resources with timeouts, fetching at most a given number of them at the same time.
+ * Responses are read completely and their connections closed, so the connections are kept alive and reused
+ * for the following requests to the same server. Other resources are reported as not found.
+ */
+public class HttpResourceLoader implements AsyncResourceLoader, VersionedResourceLoader, Closeable
+{
+
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+    public static final int DEFAULT_MAX_CONCURRENT_FETCHES = 4;
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpResourceLoader.class);
+
+    private final ListeningExecutorService executor;
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+    public HttpResourceLoader()
+    {
+        this(DEFAULT_MAX_CONCURRENT_FETCHES);
+    }
+
+    /**
+     * @param maxConcurrentFetches The maximum number of resources fetched at the same time by {@link #fetchResourceAsync(String)}
+     */
+    public HttpResourceLoader(int maxConcurrentFetches)
+    {
+        this.executor = MoreExecutors.listeningDecorator(ExecutorResourceLoader.createPool(maxConcurrentFetches, "raml-http-loader-%d"));
+    }
+
+    /**
+     * Sets the timeout in milliseconds to establish a connection, 10 seconds by default
+     * @return this loader
+     */
+    @Nonnull
+    public HttpResourceLoader setConnectTimeout(int connectTimeout)
+    {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the timeout in milliseconds to wait for data once connected, 30 seconds by default
+     * @return this loader
+     */
+    @Nonnull
+    public HttpResourceLoader setReadTimeout(int readTimeout)
+    {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        final byte[] content = fetch(resourceName);
+        return content != null ? new ByteArrayInputStream(content) : null;
+    }
+
+    @Nonnull
+    @Override
+    public ListenableFuture<InputStream> fetchResourceAsync(final String resourceName)
+    {
+        if (!isHttp(resourceName))
+        {
+            return Futures.immediateFuture(null);
+        }
+        return executor.submit(new Callable<InputStream>()
+        {
+            @Override
+            public InputStream call() throws Exception
+            {
+                return fetchResource(resourceName);
+            }
+        });
+    }
+
+    @Nullable
+    @Override
+    public String getVersion(String resourceName)
+    {
+        if (!isHttp(resourceName))
+        {
+            return null;
+        }
+        try
+        {
+            final HttpURLConnection connection = open(resourceName, "HEAD");
+            if (connection.getResponseCode() / 100 != 2)
+            {
+                return null;
+            }
+            final String entityTag = connection.getHeaderField("ETag");
+            if (entityTag != null)
+            {
+                return entityTag;
+            }
+            final long lastModified = connection.getLastModified();
+            return lastModified != 0 ? String.valueOf(lastModified) : null;
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Stops the threads fetching in the background
+     */
+    @Override
+    public void close()
+    {
+        executor.shutdown();
+    }
+
+    @Nullable
+    private byte[] fetch(String resourceName)
+    {
+        if (!isHttp(resourceName))
+        {
+            return null;
+        }
+        try
+        {
+            final HttpURLConnection connection = open(resourceName, "GET");
+            if (connection.getResponseCode() / 100 != 2)
+            {
+                discard(connection.getErrorStream());
+                return null;
+            }
+            try (InputStream inputStream = connection.getInputStream())
+            {
+                return IOUtils.toByteArray(inputStream);
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            logger.debug("Resource {} could not be fetched: {}", resourceName, e.getMessage());
+            return null;
+        }
+    }
+
+    private HttpURLConnection open(String resourceName, String method) throws IOException
+    {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(resourceName).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        connection.setRequestProperty("Accept", RamlUrlResourceLoader.APPLICATION_RAML + ", */*");
+        return connection;
+    }
+
+    /**
+     * Consumes an error body so the connection can be reused
+     */
+    private static void discard(@Nullable InputStream inputStream) throws IOException
+    {
+        if (inputStream != null)
+        {
+            try
+            {
+                IOUtils.skip(inputStream, Long.MAX_VALUE);
+            }
+            finally
+            {
+                IOUtils.closeQuietly(inputStream);
+            }
+        }
+    }
+
+    private static boolean isHttp(String resourceName)
+    {
+        return resourceName.startsWith("http://") || resourceName.startsWith("https://");
+    }
+}
@@ -21,7 +21,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 
-public class RamlUrlResourceLoader implements ResourceLoader
+public class RamlUrlResourceLoader implements VersionedResourceLoader
 {
     public static final String APPLICATION_RAML = "application/raml+yaml";
 
@@ -41,7 +41,11 @@ public class RamlUrlResourceLoader implements ResourceLoader
             // ignore on resource not found
         }
         return inputStream;
-
     }
 
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return UrlResourceLoader.getVersion(resourceName, APPLICATION_RAML + ", */*");
+    }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Chooses the loader of a resource from its name instead of trying every loader in turn.
+ * Urls go to the loader registered for their scheme, absolute paths to the file system and
+ * relative paths to the relative loaders (the class path and search roots) in the order they were added.
+ * Urls with a scheme no loader was added for go to the url loader, if one is set and the JVM has a handler for the
+ * scheme. Other names with an unknown scheme are handled as relative paths.
+ * Resources routed to an {@link AsyncResourceLoader} are fetched in the background by {@link #fetchResourceAsync(String)},
+ * the others are fetched right away.
+ */
+public class RoutingResourceLoader implements AsyncResourceLoader, VersionedResourceLoader
+{
+
+    private static final int MAX_REPORTED_RESOURCES = 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingResourceLoader.class);
+
+    private final Map<String, Route> schemeRoutes = new HashMap<>();
+    private final List<Route> relativeRoutes = new ArrayList<>();
+    private final Route absoluteRoute = new Route("file system", new FileResourceLoader("."));
+    private ResourceLoader urlLoader;
+    private final Cache<String, String> servedBy = CacheBuilder.newBuilder().maximumSize(MAX_REPORTED_RESOURCES).build();
+
+    /**
+     * Routes the resources with the specified url scheme to a loader
+     * @param scheme The scheme, like <code>http</code>
+     * @return this loader
+     */
+    @Nonnull
+    public RoutingResourceLoader addScheme(@Nonnull String scheme, @Nonnull ResourceLoader resourceLoader)
+    {
+        schemeRoutes.put(scheme.toLowerCase(Locale.ENGLISH), new Route(scheme, resourceLoader));
+        return this;
+    }
+
+    /**
+     * Sets the loader of the urls whose scheme has no loader of its own, tried when the name parses as an url
+     * @return this loader
+     */
+    @Nonnull
+    public RoutingResourceLoader setUrlLoader(@Nullable ResourceLoader urlLoader)
+    {
+        this.urlLoader = urlLoader;
+        return this;
+    }
+
+    /**
+     * Adds a loader for relative paths, tried after the ones already added
+     * @param name The name reported for the resources served by this loader
+     * @return this loader
+     */
+    @Nonnull
+    public RoutingResourceLoader addRelativeLoader(@Nonnull String name, @Nonnull ResourceLoader resourceLoader)
+    {
+        relativeRoutes.add(new Route(name, resourceLoader));
+        return this;
+    }
+
+    /**
+     * Adds a directory where relative paths are looked up, after the relative loaders already added
+     * @return this loader
+     */
+    @Nonnull
+    public RoutingResourceLoader addSearchRoot(@Nonnull File root)
+    {
+        return addRelativeLoader(root.getPath(), new FileResourceLoader(root));
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        final Route route = route(resourceName);
+        if (route != null)
+        {
+            return fetch(route, resourceName);
+        }
+        for (Route relativeRoute : relativeRoutes)
+        {
+            final InputStream inputStream = fetch(relativeRoute, resourceName);
+            if (inputStream != null)
+            {
+                return inputStream;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    @Override
+    public ListenableFuture<InputStream> fetchResourceAsync(final String resourceName)
+    {
+        final Route route = route(resourceName);
+        if (route != null && route.resourceLoader instanceof AsyncResourceLoader)
+        {
+            return Futures.transform(((AsyncResourceLoader) route.resourceLoader).fetchResourceAsync(resourceName), new Function<InputStream, InputStream>()
+            {
+                @Override
+                public InputStream apply(@Nullable InputStream inputStream)
+                {
+                    return served(route, resourceName, inputStream);
+                }
+            });
+        }
+        try
+        {
+            return Futures.immediateFuture(fetchResource(resourceName));
+        }
+        catch (RuntimeException e)
+        {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        final Route route = route(resourceName);
+        if (route != null)
+        {
+            return route.getVersion(resourceName);
+        }
+        for (Route relativeRoute : relativeRoutes)
+        {
+            if (!(relativeRoute.resourceLoader instanceof VersionedResourceLoader))
+            {
+                // it may be the one serving the resource
+                return null;
+            }
+            final String version = relativeRoute.getVersion(resourceName);
+            if (version != null)
+            {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the loader that last served the specified resource, the url scheme,
+     * <code>file system</code> for absolute paths or the name of the relative loader.
+     * Only the most recently fetched resources are remembered.
+     */
+    @Nullable
+    public String getServedBy(String resourceName)
+    {
+        return servedBy.getIfPresent(resourceName);
+    }
+
+    @Nullable
+    private InputStream fetch(Route route, String resourceName)
+    {
+        return served(route, resourceName, route.resourceLoader.fetchResource(resourceName));
+    }
+
+    @Nullable
+    private InputStream served(Route route, String resourceName, @Nullable InputStream inputStream)
+    {
+        if (inputStream != null)
+        {
+            logger.debug("Resource {} served by {}", resourceName, route.name);
+            servedBy.put(resourceName, route.name);
+        }
+        return inputStream;
+    }
+
+    /**
+     * Returns the single route of urls and absolute paths, or null for relative paths
+     */
+    @Nullable
+    private Route route(String resourceName)
+    {
+        final String scheme = getScheme(resourceName);
+        if (scheme != null)
+        {
+            final Route route = schemeRoutes.get(scheme.toLowerCase(Locale.ENGLISH));
+            if (route != null)
+            {
+                return route;
+            }
+            if (urlLoader != null && isUrl(resourceName))
+            {
+                return new Route(scheme, urlLoader);
+            }
+        }
+        return new File(resourceName).isAbsolute() ? absoluteRoute : null;
+    }
+
+    private static boolean isUrl(String resourceName)
+    {
+        try
+        {
+            new URL(resourceName);
+            return true;
+        }
+        catch (MalformedURLException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the scheme of an url or null if the name does not start with one. Single letters are
+     * not schemes but windows drives.
+     */
+    @Nullable
+    static String getScheme(String resourceName)
+    {
+        if (resourceName.isEmpty() || !isAsciiLetter(resourceName.charAt(0)))
+        {
+            return null;
+        }
+        for (int i = 1; i < resourceName.length(); i++)
+        {
+            final char c = resourceName.charAt(i);
+            if (c == ':')
+            {
+                return i > 1 ? resourceName.substring(0, i) : null;
+            }
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.')
+            {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAsciiLetter(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static class Route
+    {
+        private final String name;
+        private final ResourceLoader resourceLoader;
+
+        Route(String name, ResourceLoader resourceLoader)
+        {
+            this.name = name;
+            this.resourceLoader = resourceLoader;
+        }
+
+        @Nullable
+        String getVersion(String resourceName)
+        {
+            return resourceLoader instanceof VersionedResourceLoader ? ((VersionedResourceLoader) resourceLoader).getVersion(resourceName) : null;
+        }
+    }
+}
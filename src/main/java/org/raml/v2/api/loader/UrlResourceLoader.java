@@ -16,11 +16,17 @@
 package org.raml.v2.api.loader;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 
-public class UrlResourceLoader implements ResourceLoader
+import javax.annotation.Nullable;
+
+public class UrlResourceLoader implements VersionedResourceLoader
 {
 
     @Override
@@ -39,4 +45,54 @@ public class UrlResourceLoader implements ResourceLoader
         return inputStream;
 
     }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return getVersion(resourceName, null);
+    }
+
+    /**
+     * Returns the entity tag or last modification time of an http resource, asking only for its headers,
+     * or the modification time of a file url
+     */
+    @Nullable
+    static String getVersion(String resourceName, @Nullable String accept)
+    {
+        try
+        {
+            final URL url = new URL(resourceName);
+            if ("file".equals(url.getProtocol()))
+            {
+                return FileResourceLoader.getVersion(new File(url.toURI()));
+            }
+            final URLConnection connection = url.openConnection();
+            if (!(connection instanceof HttpURLConnection))
+            {
+                return null;
+            }
+            final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+            httpConnection.setRequestMethod("HEAD");
+            if (accept != null)
+            {
+                httpConnection.setRequestProperty("Accept", accept);
+            }
+            if (httpConnection.getResponseCode() / 100 != 2)
+            {
+                return null;
+            }
+            final String entityTag = httpConnection.getHeaderField("ETag");
+            if (entityTag != null)
+            {
+                return entityTag;
+            }
+            final long lastModified = httpConnection.getLastModified();
+            return lastModified != 0 ? String.valueOf(lastModified) : null;
+        }
+        catch (IOException | URISyntaxException | IllegalArgumentException e)
+        {
+            // not a url or not reachable
+            return null;
+        }
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import javax.annotation.Nullable;
+
+/**
+ * A loader able to tell the version of a resource without fetching it,
+ * used by {@link CachingResourceLoader} to revalidate the resources it keeps.
+ */
+public interface VersionedResourceLoader extends ResourceLoader
+{
+
+    /**
+     * Returns a token that changes whenever the content of the resource changes,
+     * like the modification time of a file or the entity tag of an http resource.
+     *
+     * @param resourceName the resource to check
+     * @return The version of the resource, or <tt>null</tt> if this loader can not serve it or can not tell its version
+     */
+    @Nullable
+    String getVersion(String resourceName);
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.internal.utils.ByteBufferInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the resources of an api bundled in a zip or jar archive without unpacking it.
+ * The archive is memory mapped and its entries indexed once, stored entries are then read straight from the mapping
+ * and compressed ones inflated in memory. Resource names are paths inside the archive, <code>./</code> and <code>..</code>
+ * segments, leading slashes and backslashes are normalized so relative includes resolve as they would on disk.
+ */
+public class ZipResourceLoader implements VersionedResourceLoader
+{
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_ENTRY_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_MARKER = 0xFFFFFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int ENCRYPTED_FLAG = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Logger logger = LoggerFactory.getLogger(ZipResourceLoader.class);
+
+    private final File archive;
+    private final ByteBuffer content;
+    private final Map<String, Entry> entries;
+
+    public ZipResourceLoader(File archive) throws IOException
+    {
+        this.archive = archive;
+        this.content = map(archive);
+        this.entries = readCentralDirectory(content);
+    }
+
+    /**
+     * Returns the normalized names of all the files in the archive, sorted
+     */
+    @Nonnull
+    public List<String> getResourceNames()
+    {
+        final List<String> names = new ArrayList<>(entries.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        final String name = normalize(resourceName);
+        final Entry entry = name != null ? entries.get(name) : null;
+        if (entry == null)
+        {
+            return null;
+        }
+        try
+        {
+            return new ByteBufferInputStream(read(entry));
+        }
+        catch (IOException e)
+        {
+            logger.debug("Resource {} could not be read from {}: {}", resourceName, archive, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        final String name = normalize(resourceName);
+        final Entry entry = name != null ? entries.get(name) : null;
+        return entry != null ? Integer.toHexString(entry.crc) + ":" + entry.size : null;
+    }
+
+    private ByteBuffer read(Entry entry) throws IOException
+    {
+        final ByteBuffer buffer = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (entry.headerOffset + LOCAL_FILE_HEADER_SIZE > buffer.limit() || buffer.getInt(entry.headerOffset) != LOCAL_FILE_HEADER)
+        {
+            throw new IOException("Invalid local header");
+        }
+        final int dataOffset = entry.headerOffset + LOCAL_FILE_HEADER_SIZE + unsignedShort(buffer, entry.headerOffset + 26) + unsignedShort(buffer, entry.headerOffset + 28);
+        if (dataOffset + (long) entry.compressedSize > buffer.limit())
+        {
+            throw new IOException("Truncated entry");
+        }
+        buffer.position(dataOffset).limit(dataOffset + entry.compressedSize);
+        final ByteBuffer data = buffer.slice();
+        if (entry.method == STORED)
+        {
+            return data;
+        }
+        if (entry.method != DEFLATED)
+        {
+            throw new IOException("Unsupported compression method " + entry.method);
+        }
+        final byte[] compressed = new byte[entry.compressedSize];
+        data.get(compressed);
+        final byte[] inflated = new byte[entry.size];
+        final Inflater inflater = new Inflater(true);
+        try
+        {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < inflated.length && !inflater.finished())
+            {
+                final int read = inflater.inflate(inflated, length, inflated.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+                length += read;
+            }
+            if (length != inflated.length)
+            {
+                throw new IOException("Corrupted entry");
+            }
+            return ByteBuffer.wrap(inflated);
+        }
+        catch (DataFormatException e)
+        {
+            throw new IOException(e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer map(File archive) throws IOException
+    {
+        try (RandomAccessFile file = new RandomAccessFile(archive, "r"))
+        {
+            final FileChannel channel = file.getChannel();
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException("Archive too large: " + archive);
+            }
+            // the mapping remains valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static Map<String, Entry> readCentralDirectory(ByteBuffer content) throws IOException
+    {
+        final ByteBuffer buffer = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int end = findEndOfCentralDirectory(buffer);
+        final int entryCount = unsignedShort(buffer, end + 10);
+        final int directoryOffset = buffer.getInt(end + 16);
+        if (entryCount == 0xFFFF || directoryOffset == ZIP64_MARKER)
+        {
+            throw new IOException("Zip64 archives are not supported");
+        }
+        final Map<String, Entry> entries = new HashMap<>(entryCount * 4 / 3 + 1);
+        int offset = directoryOffset;
+        for (int i = 0; i < entryCount; i++)
+        {
+            if (offset < 0 || offset + CENTRAL_DIRECTORY_ENTRY_SIZE > buffer.limit() || buffer.getInt(offset) != CENTRAL_DIRECTORY_ENTRY)
+            {
+                throw new IOException("Invalid central directory");
+            }
+            final int flags = unsignedShort(buffer, offset + 8);
+            final int method = unsignedShort(buffer, offset + 10);
+            final int crc = buffer.getInt(offset + 16);
+            final int compressedSize = buffer.getInt(offset + 20);
+            final int size = buffer.getInt(offset + 24);
+            final int nameLength = unsignedShort(buffer, offset + 28);
+            final int extraLength = unsignedShort(buffer, offset + 30);
+            final int commentLength = unsignedShort(buffer, offset + 32);
+            final int headerOffset = buffer.getInt(offset + 42);
+            if (offset + CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength > buffer.limit())
+            {
+                throw new IOException("Invalid central directory");
+            }
+            final byte[] nameBytes = new byte[nameLength];
+            buffer.position(offset + CENTRAL_DIRECTORY_ENTRY_SIZE);
+            buffer.get(nameBytes);
+            final String name = normalize(new String(nameBytes, UTF_8));
+            if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || headerOffset == ZIP64_MARKER)
+            {
+                throw new IOException("Zip64 archives are not supported");
+            }
+            if (name != null && !name.isEmpty() && !name.endsWith("/") && (flags & ENCRYPTED_FLAG) == 0 && compressedSize >= 0 && size >= 0)
+            {
+                entries.put(name, new Entry(method, crc, compressedSize, size, headerOffset));
+            }
+            offset += CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer buffer) throws IOException
+    {
+        final int last = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+        final int first = Math.max(0, last - MAX_COMMENT_SIZE);
+        for (int offset = last; offset >= first; offset--)
+        {
+            if (buffer.getInt(offset) == END_OF_CENTRAL_DIRECTORY)
+            {
+                return offset;
+            }
+        }
+        throw new IOException("Not a zip archive");
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int offset)
+    {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    /**
+     * Normalizes a path inside the archive, returns null for paths outside of it
+     */
+    @Nullable
+    static String normalize(String resourceName)
+    {
+        final String[] segments = resourceName.replace('\\', '/').split("/", -1);
+        final List<String> path = new ArrayList<>(segments.length);
+        for (String segment : segments)
+        {
+            if ("..".equals(segment))
+            {
+                if (path.isEmpty())
+                {
+                    return null;
+                }
+                path.remove(path.size() - 1);
+            }
+            else if (!segment.isEmpty() && !".".equals(segment))
+            {
+                path.add(segment);
+            }
+        }
+        final StringBuilder name = new StringBuilder(resourceName.length());
+        for (String segment : path)
+        {
+            if (name.length() > 0)
+            {
+                name.append('/');
+            }
+            name.append(segment);
+        }
+        if (resourceName.endsWith("/") && name.length() > 0)
+        {
+            name.append('/');
+        }
+        return name.toString();
+    }
+
+    private static class Entry
+    {
+        private final int method;
+        private final int crc;
+        private final int compressedSize;
+        private final int size;
+        private final int headerOffset;
+
+        Entry(int method, int crc, int compressedSize, int size, int headerOffset)
+        {
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.headerOffset = headerOffset;
+        }
+    }
+}
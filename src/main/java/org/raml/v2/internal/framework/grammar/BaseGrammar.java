@@ -42,12 +42,12 @@ import org.raml.v2.internal.framework.grammar.rule.Rule;
 import org.raml.v2.internal.framework.grammar.rule.ScalarTypeRule;
 import org.raml.v2.internal.framework.grammar.rule.StringTypeRule;
 import org.raml.v2.internal.framework.grammar.rule.StringValueRule;
+import org.raml.v2.internal.utils.PatternCache;
 
 import javax.annotation.Nullable;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import static java.util.Collections.singletonList;
 
@@ -282,7 +282,7 @@ public class BaseGrammar
      */
     public RegexValueRule regex(String pattern)
     {
-        return new RegexValueRule(Pattern.compile(pattern));
+        return new RegexValueRule(PatternCache.compile(pattern));
     }
 
     protected NodeReferenceRule nodeRef(String referenceKey)
@@ -101,6 +101,34 @@ public class AllOfRule extends Rule
         return createNodeUsingFactory(node);
     }
 
+    @Nullable
+    @Override
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        if (rules.isEmpty())
+        {
+            return super.applyIfMatches(node);
+        }
+        // The first rule is the type rule, usually the expensive one, so it checks its own match while being applied
+        for (int i = 1; i < rules.size(); i++)
+        {
+            if (!rules.get(i).matches(node))
+            {
+                return null;
+            }
+        }
+        Node result = rules.get(0).applyIfMatches(node);
+        if (result == null)
+        {
+            return null;
+        }
+        for (int i = 1; i < rules.size(); i++)
+        {
+            result = rules.get(i).apply(result);
+        }
+        return createNodeUsingFactory(result);
+    }
+
     @Override
     public String getDescription()
     {
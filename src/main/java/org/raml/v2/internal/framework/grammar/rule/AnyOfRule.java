@@ -95,17 +95,34 @@ public class AnyOfRule extends Rule
 
     @Override
     public Node apply(@Nonnull Node node)
+    {
+        final Node appliedNode = applyFirstMatching(node);
+        if (appliedNode != null)
+        {
+            return appliedNode;
+        }
+        return ErrorNodeFactory.createInvalidNode(node);
+    }
+
+    @Nullable
+    @Override
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        return applyFirstMatching(node);
+    }
+
+    @Nullable
+    private Node applyFirstMatching(@Nonnull Node node)
     {
         for (Rule rule : rules)
         {
-            if (rule.matches(node))
+            final Node appliedNode = rule.applyIfMatches(node);
+            if (appliedNode != null)
             {
-                final Node appliedNode = rule.apply(node);
                 return createNodeUsingFactory(appliedNode);
             }
         }
-
-        return ErrorNodeFactory.createInvalidNode(node);
+        return null;
     }
 
     @Override
@@ -103,9 +103,9 @@ public class ArrayRule extends Rule
             final List<Node> children = node.getChildren();
             for (Node child : children)
             {
-                if (of.matches(child))
+                final Node transform = of.applyIfMatches(child);
+                if (transform != null)
                 {
-                    final Node transform = of.apply(child);
                     child.replaceWith(transform);
                 }
                 else
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.grammar.rule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang.StringUtils;
+import org.raml.v2.internal.framework.nodes.FloatingNode;
+import org.raml.v2.internal.framework.nodes.IntegerNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.StringNode;
+import org.raml.v2.internal.framework.suggester.DefaultSuggestion;
+import org.raml.v2.internal.framework.suggester.RamlParsingContext;
+import org.raml.v2.internal.framework.suggester.Suggestion;
+
+/**
+ * Accepts a value if it is one of the values of an <code>enum</code> facet.
+ * The values are kept in a hash set so the membership check does not depend on the number of options.
+ */
+public class EnumRule extends Rule
+{
+
+    private final Set<Object> values;
+    private final List<String> suggestions;
+    private final boolean numeric;
+
+    private EnumRule(Set<Object> values, List<String> suggestions, boolean numeric)
+    {
+        this.values = values;
+        this.suggestions = suggestions;
+        this.numeric = numeric;
+    }
+
+    /**
+     * Creates a rule that accepts string nodes with any of the specified values
+     */
+    public static EnumRule forStrings(@Nonnull Collection<String> values)
+    {
+        return new EnumRule(new HashSet<Object>(values), new ArrayList<>(new LinkedHashSet<>(values)), false);
+    }
+
+    /**
+     * Creates a rule that accepts numeric nodes, or strings representing a number, equal to any of the specified values
+     */
+    public static EnumRule forNumbers(@Nonnull Collection<? extends Number> values)
+    {
+        final Set<Object> keys = new HashSet<>();
+        for (Number value : values)
+        {
+            keys.add(numericKey(value.doubleValue()));
+        }
+        return new EnumRule(keys, new ArrayList<String>(), true);
+    }
+
+    @Nonnull
+    @Override
+    public List<Suggestion> getSuggestions(Node node, RamlParsingContext context)
+    {
+        final List<Suggestion> result = new ArrayList<>();
+        for (String suggestion : suggestions)
+        {
+            result.add(new DefaultSuggestion(suggestion, null, StringUtils.capitalize(suggestion)));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean matches(@Nonnull Node node)
+    {
+        final Object key = numeric ? numericKey(node) : stringKey(node);
+        return key != null && values.contains(key);
+    }
+
+    @Nonnull
+    @Override
+    public Node apply(@Nonnull Node node)
+    {
+        if (!matches(node))
+        {
+            return ErrorNodeFactory.createInvalidNode(node);
+        }
+        return createNodeUsingFactory(node);
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Any of " + values.size() + " enum values";
+    }
+
+    @Nullable
+    private static Object stringKey(Node node)
+    {
+        return node instanceof StringNode ? ((StringNode) node).getValue() : null;
+    }
+
+    @Nullable
+    private static Object numericKey(Node node)
+    {
+        if (node instanceof FloatingNode)
+        {
+            final BigDecimal value = ((FloatingNode) node).getValue();
+            return numericKey(value.doubleValue());
+        }
+        else if (node instanceof IntegerNode)
+        {
+            return numericKey(((IntegerNode) node).getValue().doubleValue());
+        }
+        else if (node instanceof StringNode)
+        {
+            try
+            {
+                return numericKey(Double.parseDouble(((StringNode) node).getValue()));
+            }
+            catch (NumberFormatException ex)
+            {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Double numericKey(double value)
+    {
+        // 0.0 and -0.0 are equal numbers but not equal Double instances
+        return value == 0 ? 0d : value;
+    }
+}
@@ -167,6 +167,11 @@ public class ErrorNodeFactory
         return new ErrorNode("Invalid value '" + node + "'. Expected " + expected);
     }
 
+    public static Node createPatternStepBudgetExceeded(Node node, String pattern, int stepBudget)
+    {
+        return new ErrorNode("Invalid value '" + node + "'. Matching against " + pattern + " exceeded the limit of " + stepBudget + " steps");
+    }
+
     public static Node createInvalidSiblingsValue(Node node, Set<String> siblings)
     {
         return new ErrorNode("Invalid node '" + node + "'. Node not expected when one of " + siblings + " is present.");
@@ -235,4 +240,14 @@ public class ErrorNodeFactory
         }
         return new ErrorNode("Invalid overlay node. Cannot override node: " + label);
     }
+
+    public static ErrorNode createBaseDocumentNotFound(String baseReference)
+    {
+        return new ErrorNode("Extended document cannot be resolved: " + baseReference);
+    }
+
+    public static ErrorNode createCyclicExtension(String baseReference)
+    {
+        return new ErrorNode("Cyclic extension of document: " + baseReference);
+    }
 }
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.raml.v2.internal.framework.nodes.ErrorNode;
 import org.raml.v2.internal.framework.nodes.Node;
@@ -60,4 +61,16 @@ public class FirstOfRule extends AnyOfRule
         }
         return apply;
     }
+
+    @Nullable
+    @Override
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        Node apply = super.applyIfMatches(node);
+        if (apply instanceof ErrorNode)
+        {
+            apply = rules.get(0).apply(node);
+        }
+        return apply;
+    }
 }
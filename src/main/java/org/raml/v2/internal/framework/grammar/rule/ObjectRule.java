@@ -23,6 +23,7 @@ import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.NullNode;
 import org.raml.v2.internal.framework.nodes.ObjectNode;
+import org.raml.v2.internal.framework.nodes.StringNode;
 import org.raml.v2.internal.framework.suggester.RamlParsingContext;
 import org.raml.v2.internal.framework.suggester.RamlParsingContextType;
 import org.raml.v2.internal.framework.suggester.Suggestion;
@@ -34,10 +35,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -50,6 +55,9 @@ public class ObjectRule extends Rule
     private boolean strict = false;
     private boolean allowsAdditionalProperties = false;
 
+    // Field indexes by the conditional rules that were added to the fields of this object
+    private final Map<List<KeyValueRule>, FieldIndex> fieldIndexes = Collections.synchronizedMap(new IdentityHashMap<List<KeyValueRule>, FieldIndex>());
+
     public ObjectRule()
     {
         this.fields = new ArrayList<>();
@@ -120,13 +128,49 @@ public class ObjectRule extends Rule
     private boolean allChildrenMatch(Node node)
     {
         List<Node> children = node.getChildren();
-        final List<KeyValueRule> allFieldRules = getAllFieldRules(node);
-        boolean matches = true;
-        for (KeyValueRule rule : allFieldRules)
+        final FieldIndex fieldIndex = getFieldIndex(node);
+        Set<String> keys = null;
+        for (int i = 0; i < fieldIndex.size(); i++)
         {
-            matches &= !rule.isRequired(node) || matchesAny(rule, children);
+            final KeyValueRule rule = fieldIndex.getRule(i);
+            if (rule.isRequired(node))
+            {
+                final List<String> literalKeys = fieldIndex.getLiteralKeys(i);
+                if (literalKeys == null)
+                {
+                    if (!matchesAny(rule, children))
+                    {
+                        return false;
+                    }
+                }
+                else
+                {
+                    if (keys == null)
+                    {
+                        keys = getStringKeys(children);
+                    }
+                    if (Collections.disjoint(keys, literalKeys))
+                    {
+                        return false;
+                    }
+                }
+            }
         }
-        return matches;
+        return true;
+    }
+
+    private Set<String> getStringKeys(List<Node> children)
+    {
+        final Set<String> keys = new HashSet<>();
+        for (Node child : children)
+        {
+            final String key = getStringKey(child);
+            if (key != null)
+            {
+                keys.add(key);
+            }
+        }
+        return keys;
     }
 
     @Nonnull
@@ -139,52 +183,56 @@ public class ObjectRule extends Rule
         }
         else
         {
+            return applyMatched(node);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        return matches(node) ? applyMatched(node) : null;
+    }
 
-            final List<Node> children = node.getChildren();
-            final List<KeyValueRule> allFieldRules = getAllFieldRules(node);
-            final List<KeyValueRule> nonMatchingRules = new ArrayList<>(allFieldRules);
+    private Node applyMatched(@Nonnull Node node)
+    {
+        final List<Node> children = node.getChildren();
+        final FieldIndex fieldIndex = getFieldIndex(node);
+        final BitSet matchedRules = new BitSet(fieldIndex.size());
 
-            for (Node child : children)
+        for (Node child : children)
+        {
+            final int matchingRule = fieldIndex.findMatchingRule(child);
+            if (matchingRule >= 0)
             {
-                final Rule matchingRule = findMatchingRule(allFieldRules, child);
-                if (matchingRule != null)
-                {
-                    nonMatchingRules.remove(matchingRule);
-                    final Node newChild = matchingRule.apply(child);
-                    child.replaceWith(newChild);
-                }
-                else
-                {
-                    if (!allowsAdditionalProperties)
-                    {
-                        final Collection<String> options = Collections2.transform(allFieldRules, new Function<KeyValueRule, String>()
-                        {
-                            @Override
-                            public String apply(KeyValueRule rule)
-                            {
-                                return rule.getKeyRule().getDescription();
-                            }
-                        });
-                        child.replaceWith(ErrorNodeFactory.createUnexpectedKey(((KeyValueNode) child).getKey(), new TreeSet<>(options)));
-                    }
-                }
+                matchedRules.set(matchingRule);
+                final Node newChild = fieldIndex.getRule(matchingRule).apply(child);
+                child.replaceWith(newChild);
             }
-
-            for (KeyValueRule rule : nonMatchingRules)
+            else
             {
-                if (rule.isRequired(node))
-                {
-                    node.addChild(ErrorNodeFactory.createRequiredValueNotFound(node, rule.getKeyRule()));
-                }
-                else
+                if (!allowsAdditionalProperties)
                 {
-                    rule.applyDefault(node);
+                    child.replaceWith(ErrorNodeFactory.createUnexpectedKey(((KeyValueNode) child).getKey(), fieldIndex.getOptions()));
                 }
             }
+        }
 
-            validateKeysUnique(node);
-            return getResult(node);
+        for (int i = matchedRules.nextClearBit(0); i < fieldIndex.size(); i = matchedRules.nextClearBit(i + 1))
+        {
+            final KeyValueRule rule = fieldIndex.getRule(i);
+            if (rule.isRequired(node))
+            {
+                node.addChild(ErrorNodeFactory.createRequiredValueNotFound(node, rule.getKeyRule()));
+            }
+            else
+            {
+                rule.applyDefault(node);
+            }
         }
+
+        validateKeysUnique(node);
+        return getResult(node);
     }
 
     private void validateKeysUnique(final Node node)
@@ -218,6 +266,35 @@ public class ObjectRule extends Rule
         return createNodeUsingFactory(node);
     }
 
+    private FieldIndex getFieldIndex(Node node)
+    {
+        final List<KeyValueRule> conditionalFields = conditionalRules != null ? conditionalRules.getRulesNode(node) : Collections.<KeyValueRule> emptyList();
+        FieldIndex fieldIndex = fieldIndexes.get(conditionalFields);
+        // Fields may still be added after the index was built
+        if (fieldIndex == null || fieldIndex.size() != fields.size() + conditionalFields.size())
+        {
+            final List<KeyValueRule> rules = new ArrayList<>(fields);
+            rules.addAll(conditionalFields);
+            fieldIndex = new FieldIndex(rules);
+            fieldIndexes.put(conditionalFields, fieldIndex);
+        }
+        return fieldIndex;
+    }
+
+    @Nullable
+    private static String getStringKey(Node node)
+    {
+        if (node instanceof KeyValueNode)
+        {
+            final Node key = ((KeyValueNode) node).getKey();
+            if (key instanceof StringNode)
+            {
+                return ((StringNode) key).getValue();
+            }
+        }
+        return null;
+    }
+
     private List<KeyValueRule> getAllFieldRules(Node node)
     {
         if (conditionalRules != null)
@@ -234,19 +311,6 @@ public class ObjectRule extends Rule
         }
     }
 
-    @Nullable
-    private Rule findMatchingRule(List<? extends Rule> rootRule, Node node)
-    {
-        for (Rule rule : rootRule)
-        {
-            if (rule.matches(node))
-            {
-                return rule;
-            }
-        }
-        return null;
-    }
-
     @Override
     public ObjectRule then(Class<? extends Node> clazz)
     {
@@ -314,8 +378,9 @@ public class ObjectRule extends Rule
                 return getSuggestions(mappingNode, context);
             default:
                 final Node node = pathToRoot.get(1);
-                final Rule matchingRule = findMatchingRule(getAllFieldRules(mappingNode), node);
-                return matchingRule == null ? Collections.<Suggestion> emptyList() : matchingRule.getSuggestions(pathToRoot.subList(1, pathToRoot.size()), context);
+                final FieldIndex fieldIndex = getFieldIndex(mappingNode);
+                final int matchingRule = fieldIndex.findMatchingRule(node);
+                return matchingRule < 0 ? Collections.<Suggestion> emptyList() : fieldIndex.getRule(matchingRule).getSuggestions(pathToRoot.subList(1, pathToRoot.size()), context);
             }
         }
     }
@@ -343,4 +408,125 @@ public class ObjectRule extends Rule
         return this;
     }
 
+    /**
+     * Dispatches the children of an object to the field rule that matches them. Fields with literal keys are
+     * looked up by key and only the fields with pattern keys are tried one by one, in the order they were defined.
+     */
+    private static class FieldIndex
+    {
+
+        private final List<KeyValueRule> rules;
+        private final List<List<String>> literalKeys = new ArrayList<>();
+        private final Map<String, Integer> literalRules = new HashMap<>();
+        private final List<Integer> patternRules = new ArrayList<>();
+        private Set<String> options;
+
+        private FieldIndex(List<KeyValueRule> rules)
+        {
+            this.rules = rules;
+            for (int i = 0; i < rules.size(); i++)
+            {
+                final KeyValueRule rule = rules.get(i);
+                final List<String> keys = rule.getClass() == KeyValueRule.class ? getLiteralKeys(rule.getKeyRule()) : null;
+                literalKeys.add(keys);
+                if (keys == null)
+                {
+                    patternRules.add(i);
+                }
+                else
+                {
+                    for (String key : keys)
+                    {
+                        // The first field that matches a key wins
+                        if (!literalRules.containsKey(key))
+                        {
+                            literalRules.put(key, i);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the keys matched by the specified key rule or null if it does not match only literal keys
+         */
+        @Nullable
+        private static List<String> getLiteralKeys(Rule keyRule)
+        {
+            if (keyRule.getClass() == StringValueRule.class)
+            {
+                return Collections.singletonList(((StringValueRule) keyRule).getValue());
+            }
+            else if (keyRule.getClass() == AnyOfRule.class || keyRule.getClass() == FirstOfRule.class)
+            {
+                final List<String> keys = new ArrayList<>();
+                for (Rule rule : ((AnyOfRule) keyRule).getRules())
+                {
+                    final List<String> ruleKeys = getLiteralKeys(rule);
+                    if (ruleKeys == null)
+                    {
+                        return null;
+                    }
+                    keys.addAll(ruleKeys);
+                }
+                return keys;
+            }
+            return null;
+        }
+
+        /**
+         * Returns the index of the first field rule that matches the specified node or -1 if none does
+         */
+        int findMatchingRule(Node node)
+        {
+            final String key = getStringKey(node);
+            final Integer literalRule = key != null ? literalRules.get(key) : null;
+            final int limit = literalRule != null ? literalRule : rules.size();
+            for (Integer patternRule : patternRules)
+            {
+                if (patternRule >= limit)
+                {
+                    break;
+                }
+                if (rules.get(patternRule).matches(node))
+                {
+                    return patternRule;
+                }
+            }
+            return literalRule != null ? literalRule : -1;
+        }
+
+        KeyValueRule getRule(int index)
+        {
+            return rules.get(index);
+        }
+
+        @Nullable
+        List<String> getLiteralKeys(int index)
+        {
+            return literalKeys.get(index);
+        }
+
+        int size()
+        {
+            return rules.size();
+        }
+
+        Set<String> getOptions()
+        {
+            if (options == null)
+            {
+                final Collection<String> descriptions = Collections2.transform(rules, new Function<KeyValueRule, String>()
+                {
+                    @Override
+                    public String apply(KeyValueRule rule)
+                    {
+                        return rule.getKeyRule().getDescription();
+                    }
+                });
+                options = Collections.unmodifiableSet(new TreeSet<>(descriptions));
+            }
+            return options;
+        }
+    }
 }
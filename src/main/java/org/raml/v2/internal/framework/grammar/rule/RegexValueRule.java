@@ -37,6 +37,7 @@ public class RegexValueRule extends Rule
     private String description;
     private String suggestion;
     private String label;
+    private int stepBudget;
 
     public RegexValueRule(Pattern value)
     {
@@ -61,12 +62,24 @@ public class RegexValueRule extends Rule
     @Override
     public boolean matches(@Nonnull Node node)
     {
-        return node instanceof StringNode && getMatcher((StringNode) node).matches();
+        if (!(node instanceof StringNode))
+        {
+            return false;
+        }
+        try
+        {
+            return getMatcher((StringNode) node).matches();
+        }
+        catch (StepBudgetExceededException e)
+        {
+            return false;
+        }
     }
 
     private Matcher getMatcher(StringNode node)
     {
-        return value.matcher(node.getValue());
+        final String input = node.getValue();
+        return value.matcher(stepBudget > 0 ? new BudgetedCharSequence(input, stepBudget) : input);
     }
 
     public RegexValueRule label(String value)
@@ -87,20 +100,39 @@ public class RegexValueRule extends Rule
         return this;
     }
 
+    /**
+     * Bounds the work done by each match to the specified number of character reads, so that patterns with
+     * catastrophic backtracking can not stall the validation. Values that exhaust the budget are rejected.
+     * @param stepBudget The maximum number of steps per match or zero for no limit
+     * @return this rule
+     */
+    public RegexValueRule stepBudget(int stepBudget)
+    {
+        this.stepBudget = stepBudget;
+        return this;
+    }
+
     @Override
     public Node apply(@Nonnull Node node)
     {
-        if (!matches(node))
+        if (!(node instanceof StringNode))
         {
             return ErrorNodeFactory.createInvalidValue(node, String.valueOf(value));
         }
         final Matcher matcher = getMatcher((StringNode) node);
-        final int i = matcher.groupCount();
-        final List<String> groups = new ArrayList<>();
-        if (i > 0)
+        try
+        {
+            if (!matcher.matches())
+            {
+                return ErrorNodeFactory.createInvalidValue(node, String.valueOf(value));
+            }
+        }
+        catch (StepBudgetExceededException e)
         {
-            matcher.matches();
+            return ErrorNodeFactory.createPatternStepBudgetExceeded(node, String.valueOf(value), stepBudget);
         }
+        final int i = matcher.groupCount();
+        final List<String> groups = new ArrayList<>();
         for (int j = 1; j <= i; j++)
         {
             final String group = matcher.group(j);
@@ -114,4 +146,63 @@ public class RegexValueRule extends Rule
     {
         return "/" + value.pattern() + "/";
     }
+
+    /**
+     * Counts every character read by the regex engine and aborts the match when the budget is exhausted.
+     */
+    private static class BudgetedCharSequence implements CharSequence
+    {
+
+        private final CharSequence value;
+        private final int[] remainingSteps;
+
+        private BudgetedCharSequence(CharSequence value, int stepBudget)
+        {
+            this(value, new int[] {stepBudget});
+        }
+
+        private BudgetedCharSequence(CharSequence value, int[] remainingSteps)
+        {
+            this.value = value;
+            this.remainingSteps = remainingSteps;
+        }
+
+        @Override
+        public int length()
+        {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(int index)
+        {
+            if (--remainingSteps[0] < 0)
+            {
+                throw new StepBudgetExceededException();
+            }
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end)
+        {
+            return new BudgetedCharSequence(value.subSequence(start, end), remainingSteps);
+        }
+
+        @Nonnull
+        @Override
+        public String toString()
+        {
+            return value.toString();
+        }
+    }
+
+    private static class StepBudgetExceededException extends RuntimeException
+    {
+
+        private StepBudgetExceededException()
+        {
+            super(null, null, false, false);
+        }
+    }
 }
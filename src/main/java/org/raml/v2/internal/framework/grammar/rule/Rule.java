@@ -58,6 +58,20 @@ public abstract class Rule
     @Nonnull
     public abstract Node apply(@Nonnull Node node);
 
+    /**
+     * Applies the rule to the node only if it matches, checking the match just once.
+     * Rules whose {@link #matches(Node)} is expensive override this so callers that try several
+     * alternatives ({@link AnyOfRule}, {@link ArrayRule}) do not evaluate the winner twice.
+     *
+     * @param node The current node
+     * @return the result of {@link #apply(Node)} or null if the rule does not match
+     */
+    @Nullable
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        return matches(node) ? apply(node) : null;
+    }
+
     /**
      * Returns a description of this rule
      * @return the description
@@ -16,7 +16,6 @@
 package org.raml.v2.internal.framework.nodes;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -24,11 +23,14 @@ import javax.annotation.Nullable;
 
 import org.raml.v2.internal.utils.NodeSelector;
 
+import com.google.common.collect.ImmutableList;
+
 public abstract class BaseNode implements Node
 {
 
     private Node source;
     private Node parent;
+    // Copy on write: once handed out by getChildren the list is immutable, and it is copied back on the next change
     protected List<Node> children = new ArrayList<>();
 
     public BaseNode()
@@ -38,6 +40,7 @@ public abstract class BaseNode implements Node
     public BaseNode(BaseNode node)
     {
         this.source = node;
+        this.children = new ArrayList<>(node.children.size());
         for (Node child : node.children)
         {
             addChild(child.copy());
@@ -54,21 +57,36 @@ public abstract class BaseNode implements Node
     @Override
     public List<Node> getChildren()
     {
-        return Collections.unmodifiableList(new ArrayList<>(children));
+        List<Node> snapshot = children;
+        if (!(snapshot instanceof ImmutableList))
+        {
+            snapshot = ImmutableList.copyOf(snapshot);
+            children = snapshot;
+        }
+        return snapshot;
+    }
+
+    private List<Node> mutableChildren()
+    {
+        if (children instanceof ImmutableList)
+        {
+            children = new ArrayList<>(children);
+        }
+        return children;
     }
 
     @Override
     public void addChild(Node node)
     {
         node.setParent(this);
-        children.add(node);
+        mutableChildren().add(node);
     }
 
     @Override
     public void removeChild(Node node)
     {
         node.setParent(null);
-        children.remove(node);
+        mutableChildren().remove(node);
     }
 
     @Override
@@ -136,20 +154,20 @@ public abstract class BaseNode implements Node
         {
             child.setParent(null);
         }
-        children.clear();
+        children = new ArrayList<>();
     }
 
     @Override
     public void setChild(int idx, Node newNode)
     {
-        children.set(idx, newNode);
+        mutableChildren().set(idx, newNode);
         newNode.setParent(this);
     }
 
     @Override
     public void addChild(int idx, Node newNode)
     {
-        children.add(idx, newNode);
+        mutableChildren().add(idx, newNode);
         newNode.setParent(this);
     }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.nodes.snakeyaml;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.utils.NodeUtils;
+
+/**
+ * Parsed trees of the resources used by successive builds, so the resources that did not change are not parsed again.
+ * <p>
+ * A tree is identified by the location of its resource and reused only while the resource has the same content.
+ * The cached trees are never handed out, every parse gets a copy. The positions of a reused tree keep referencing
+ * the resource loader it was first parsed with, so a cache is meant to be shared only by builds resolving
+ * the resources the same way, like the successive builds of one document.
+ */
+public class ParsedResourceCache
+{
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong parseCount = new AtomicLong();
+
+    /**
+     * Returns a copy of the tree parsed from the specified content, parsing it only if it is not cached
+     * @return The tree, an {@link ErrorNode} if the content is not valid yaml or null if it is empty
+     */
+    @Nullable
+    public Node parse(@Nonnull ResourceLoader resourceLoader, @Nonnull String resourcePath, @Nonnull String content)
+    {
+        final Entry entry = entries.get(resourcePath);
+        if (entry != null && entry.content.equals(content))
+        {
+            return NodeUtils.detachedCopy(entry.tree);
+        }
+        parseCount.incrementAndGet();
+        final Node tree = RamlNodeParser.parse(resourceLoader, resourcePath, content);
+        if (tree == null || tree instanceof ErrorNode)
+        {
+            entries.remove(resourcePath);
+        }
+        else
+        {
+            entries.put(resourcePath, new Entry(content, NodeUtils.detachedCopy(tree)));
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the number of resources parsed because they were not cached or their content changed
+     */
+    public long getParseCount()
+    {
+        return parseCount.get();
+    }
+
+    private static class Entry
+    {
+
+        private final String content;
+        private final Node tree;
+
+        private Entry(String content, Node tree)
+        {
+            this.content = content;
+            this.tree = tree;
+        }
+    }
+}
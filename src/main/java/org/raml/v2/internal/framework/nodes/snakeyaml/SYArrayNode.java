@@ -16,7 +16,6 @@
 package org.raml.v2.internal.framework.nodes.snakeyaml;
 
 import org.apache.commons.lang.StringUtils;
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.ArrayNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
@@ -28,15 +27,19 @@ import javax.annotation.Nonnull;
 
 public class SYArrayNode extends SYBaseRamlNode implements ArrayNode
 {
+    private final boolean jsonStyle;
+
     // For copy
     private SYArrayNode(SYArrayNode node)
     {
         super(node);
+        this.jsonStyle = node.jsonStyle;
     }
 
-    public SYArrayNode(SequenceNode sequenceNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYArrayNode(SequenceNode sequenceNode, SYLineTable lineTable)
     {
-        super(sequenceNode, resourcePath, resourceLoader);
+        super(sequenceNode, lineTable);
+        this.jsonStyle = !sequenceNode.getFlowStyle();
     }
 
     @Override
@@ -65,6 +68,6 @@ public class SYArrayNode extends SYBaseRamlNode implements ArrayNode
     @Override
     public boolean isJsonStyle()
     {
-        return !((SequenceNode) getYamlNode()).getFlowStyle();
+        return jsonStyle;
     }
 }
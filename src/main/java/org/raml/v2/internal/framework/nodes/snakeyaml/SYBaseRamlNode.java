@@ -21,68 +21,63 @@ import javax.annotation.Nullable;
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.BaseNode;
 import org.raml.v2.internal.framework.nodes.Position;
+import org.raml.v2.internal.utils.StringPool;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
 public abstract class SYBaseRamlNode extends BaseNode
 {
-
-    private Node yamlNode;
-    private String resourcePath;
-    private final ResourceLoader resourceLoader;
+    private final SYLineTable lineTable;
+    private final int startIndex;
+    private final int endIndex;
+    @Nullable
+    private final String literalValue;
 
     // For copy use cases
     protected SYBaseRamlNode(SYBaseRamlNode node)
     {
         super(node);
-        this.yamlNode = node.yamlNode;
-        this.resourcePath = node.getResourcePath();
-        this.resourceLoader = node.getResourceLoader();
-    }
-
-    public SYBaseRamlNode(Node yamlNode, String resourcePath, ResourceLoader resourceLoader)
-    {
-        this.yamlNode = yamlNode;
-        this.resourcePath = resourcePath;
-        this.resourceLoader = resourceLoader;
+        this.lineTable = node.lineTable;
+        this.startIndex = node.startIndex;
+        this.endIndex = node.endIndex;
+        this.literalValue = node.literalValue;
     }
 
-    protected Node getYamlNode()
+    public SYBaseRamlNode(Node yamlNode, SYLineTable lineTable)
     {
-        return yamlNode;
+        this.lineTable = lineTable;
+        this.startIndex = lineTable.register(yamlNode.getStartMark());
+        this.endIndex = lineTable.register(yamlNode.getEndMark());
+        this.literalValue = yamlNode instanceof ScalarNode ? StringPool.intern(((ScalarNode) yamlNode).getValue()) : null;
     }
 
     public String getResourcePath()
     {
-        return resourcePath;
+        return lineTable.getResourcePath();
     }
 
     @Nonnull
     @Override
     public Position getStartPosition()
     {
-        return new SYPosition(yamlNode.getStartMark(), resourceLoader, resourcePath);
+        return new SYPosition(lineTable, startIndex);
     }
 
     @Nonnull
     @Override
     public Position getEndPosition()
     {
-        return new SYPosition(yamlNode.getEndMark(), resourceLoader, resourcePath);
+        return new SYPosition(lineTable, endIndex);
     }
 
     @Nullable
     public String getLiteralValue()
     {
-        if (yamlNode instanceof ScalarNode)
-        {
-            return ((ScalarNode) getYamlNode()).getValue();
-        }
-        return null;
+        return literalValue;
     }
 
     public ResourceLoader getResourceLoader()
     {
-        return resourceLoader;
+        return lineTable.getResourceLoader();
     }
 }
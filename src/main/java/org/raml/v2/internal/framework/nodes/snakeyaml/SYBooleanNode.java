@@ -17,7 +17,6 @@ package org.raml.v2.internal.framework.nodes.snakeyaml;
 
 import javax.annotation.Nonnull;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.BooleanNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
@@ -31,14 +30,14 @@ public class SYBooleanNode extends SYBaseRamlNode implements BooleanNode
         super(node);
     }
 
-    public SYBooleanNode(ScalarNode scalarNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYBooleanNode(ScalarNode scalarNode, SYLineTable lineTable)
     {
-        super(scalarNode, resourcePath, resourceLoader);
+        super(scalarNode, lineTable);
     }
 
     public Boolean getValue()
     {
-        final String value = ((ScalarNode) getYamlNode()).getValue();
+        final String value = getLiteralValue();
         return Boolean.parseBoolean(value);
     }
 
@@ -15,7 +15,6 @@
  */
 package org.raml.v2.internal.framework.nodes.snakeyaml;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.FloatingNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
@@ -32,15 +31,15 @@ public class SYFloatingNode extends SYBaseRamlNode implements FloatingNode
         super(node);
     }
 
-    public SYFloatingNode(ScalarNode yamlNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYFloatingNode(ScalarNode yamlNode, SYLineTable lineTable)
     {
-        super(yamlNode, resourcePath, resourceLoader);
+        super(yamlNode, lineTable);
     }
 
     @Override
     public BigDecimal getValue()
     {
-        final String value = ((ScalarNode) getYamlNode()).getValue();
+        final String value = getLiteralValue();
         return new BigDecimal(value);
     }
 
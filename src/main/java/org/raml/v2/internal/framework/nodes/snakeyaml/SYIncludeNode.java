@@ -15,7 +15,6 @@
  */
 package org.raml.v2.internal.framework.nodes.snakeyaml;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
@@ -29,9 +28,9 @@ public class SYIncludeNode extends SYStringNode
         super(node);
     }
 
-    public SYIncludeNode(ScalarNode scalarNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYIncludeNode(ScalarNode scalarNode, SYLineTable lineTable)
     {
-        super(scalarNode, resourcePath, resourceLoader);
+        super(scalarNode, lineTable);
     }
 
     public String getIncludePath()
@@ -17,7 +17,6 @@ package org.raml.v2.internal.framework.nodes.snakeyaml;
 
 import javax.annotation.Nonnull;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.IntegerNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
@@ -32,14 +31,14 @@ public class SYIntegerNode extends SYBaseRamlNode implements IntegerNode
         super(node);
     }
 
-    public SYIntegerNode(ScalarNode scalarNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYIntegerNode(ScalarNode scalarNode, SYLineTable lineTable)
     {
-        super(scalarNode, resourcePath, resourceLoader);
+        super(scalarNode, lineTable);
     }
 
     public Integer getValue()
     {
-        final String value = ((ScalarNode) getYamlNode()).getValue();
+        final String value = getLiteralValue();
         if (value != null && (value.startsWith("0x") || value.startsWith("0X")))
         {
             return Integer.valueOf(value.substring(2), 16);
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.nodes.snakeyaml;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.internal.framework.nodes.Position;
+import org.yaml.snakeyaml.error.Mark;
+
+/**
+ * The path and line starts of a parsed resource, shared by all its nodes.
+ * Nodes only keep the offsets of their start and end, lines and columns are computed from this table
+ * when a position is requested, so the snakeyaml marks (and the parsed yaml tree) are not kept alive.
+ *
+ * The table learns the start of a line from the marks registered while wrapping the yaml tree,
+ * every offset registered has its line recorded.
+ */
+public class SYLineTable
+{
+
+    private static final int UNKNOWN_LINE = -1;
+
+    private final String resourcePath;
+    private final ResourceLoader resourceLoader;
+
+    private int[] lineStarts = new int[0];
+    private int lines;
+    private boolean sealed;
+
+    public SYLineTable(String resourcePath, ResourceLoader resourceLoader)
+    {
+        this.resourcePath = resourcePath;
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Records the line of the specified mark
+     * @return The offset of the mark or {@link Position#UNKNOWN} if there is no mark
+     */
+    public int register(@Nullable Mark mark)
+    {
+        if (mark == null)
+        {
+            return Position.UNKNOWN;
+        }
+        if (sealed)
+        {
+            throw new IllegalStateException("Positions of " + resourcePath + " were already computed");
+        }
+        final int line = mark.getLine();
+        if (line >= lineStarts.length)
+        {
+            final int length = lineStarts.length;
+            lineStarts = Arrays.copyOf(lineStarts, Math.max(line + 1, length * 2));
+            Arrays.fill(lineStarts, length, lineStarts.length, UNKNOWN_LINE);
+        }
+        lineStarts[line] = mark.getIndex() - mark.getColumn();
+        lines = Math.max(lines, line + 1);
+        return mark.getIndex();
+    }
+
+    /**
+     * Returns the zero based line of the specified offset
+     */
+    public int getLine(int index)
+    {
+        if (index == Position.UNKNOWN)
+        {
+            return Position.UNKNOWN;
+        }
+        seal();
+        // last line starting at or before the index
+        int low = 0;
+        int high = lines - 1;
+        while (low < high)
+        {
+            final int middle = (low + high + 1) >>> 1;
+            if (lineStarts[middle] <= index)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the zero based column of the specified offset
+     */
+    public int getColumn(int index)
+    {
+        if (index == Position.UNKNOWN)
+        {
+            return Position.UNKNOWN;
+        }
+        return index - lineStarts[getLine(index)];
+    }
+
+    @Nonnull
+    public String getResourcePath()
+    {
+        return resourcePath;
+    }
+
+    @Nonnull
+    public ResourceLoader getResourceLoader()
+    {
+        return resourceLoader;
+    }
+
+    private synchronized void seal()
+    {
+        if (sealed)
+        {
+            return;
+        }
+        // Lines without marks take the start of the next known line, so the starts are sorted
+        // and an offset always resolves to the last known line starting at or before it
+        int next = Integer.MAX_VALUE;
+        for (int i = lines - 1; i >= 0; i--)
+        {
+            if (lineStarts[i] == UNKNOWN_LINE)
+            {
+                lineStarts[i] = next;
+            }
+            else
+            {
+                next = lineStarts[i];
+            }
+        }
+        lineStarts = Arrays.copyOf(lineStarts, lines);
+        sealed = true;
+    }
+}
@@ -32,13 +32,11 @@ import org.yaml.snakeyaml.nodes.Tag;
 public class SYModelWrapper
 {
 
-    private ResourceLoader resourceLoader;
-    private String resourcePath;
+    private final SYLineTable lineTable;
 
     public SYModelWrapper(ResourceLoader resourceLoader, String resourcePath)
     {
-        this.resourceLoader = resourceLoader;
-        this.resourcePath = resourcePath;
+        this.lineTable = new SYLineTable(resourcePath, resourceLoader);
     }
 
     private static class MappingNodeMerger extends SafeConstructor
@@ -78,7 +76,7 @@ public class SYModelWrapper
         {
             new MappingNodeMerger().merge(mappingNode);
         }
-        SYObjectNode mapping = new SYObjectNode(mappingNode, resourceLoader, resourcePath);
+        SYObjectNode mapping = new SYObjectNode(mappingNode, lineTable);
         for (NodeTuple nodeTuple : mappingNode.getValue())
         {
             Node key = wrap(nodeTuple.getKeyNode());
@@ -95,19 +93,19 @@ public class SYModelWrapper
         final Tag tag = scalarNode.getTag();
         if (INCLUDE_TAG.equals(tag))
         {
-            return new SYIncludeNode(scalarNode, resourcePath, resourceLoader);
+            return new SYIncludeNode(scalarNode, lineTable);
         }
         else if (Tag.NULL.equals(tag))
         {
-            return new SYNullNode(scalarNode, resourcePath, resourceLoader);
+            return new SYNullNode(scalarNode, lineTable);
         }
         else if (Tag.FLOAT.equals(tag))
         {
-            return new SYFloatingNode(scalarNode, resourcePath, resourceLoader);
+            return new SYFloatingNode(scalarNode, lineTable);
         }
         else if (Tag.INT.equals(tag))
         {
-            SYIntegerNode syIntegerNode = new SYIntegerNode(scalarNode, resourcePath, resourceLoader);
+            SYIntegerNode syIntegerNode = new SYIntegerNode(scalarNode, lineTable);
             try
             {
                 syIntegerNode.getValue();
@@ -116,7 +114,7 @@ public class SYModelWrapper
             catch (NumberFormatException e)
             {
                 // wrap with string node if number is invalid e.g: 12:30:00
-                return new SYStringNode(scalarNode, resourcePath, resourceLoader);
+                return new SYStringNode(scalarNode, lineTable);
             }
         }
         else
@@ -125,18 +123,18 @@ public class SYModelWrapper
             // We only use true or false as boolean possibilities for yaml 1.2 and not yes no.
             if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))
             {
-                return new SYBooleanNode(scalarNode, resourcePath, resourceLoader);
+                return new SYBooleanNode(scalarNode, lineTable);
             }
             else
             {
-                return new SYStringNode(scalarNode, resourcePath, resourceLoader);
+                return new SYStringNode(scalarNode, lineTable);
             }
         }
     }
 
     private SYArrayNode wrap(SequenceNode sequenceNode)
     {
-        SYArrayNode sequence = new SYArrayNode(sequenceNode, resourcePath, resourceLoader);
+        SYArrayNode sequence = new SYArrayNode(sequenceNode, lineTable);
         for (org.yaml.snakeyaml.nodes.Node node : sequenceNode.getValue())
         {
             sequence.addChild(wrap(node));
@@ -17,7 +17,6 @@ package org.raml.v2.internal.framework.nodes.snakeyaml;
 
 import javax.annotation.Nonnull;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.NullNode;
 import org.yaml.snakeyaml.nodes.Node;
@@ -29,9 +28,9 @@ public class SYNullNode extends SYBaseRamlNode implements NullNode
         super(node);
     }
 
-    public SYNullNode(Node yamlNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYNullNode(Node yamlNode, SYLineTable lineTable)
     {
-        super(yamlNode, resourcePath, resourceLoader);
+        super(yamlNode, lineTable);
     }
 
     @Nonnull
@@ -18,7 +18,6 @@ package org.raml.v2.internal.framework.nodes.snakeyaml;
 import javax.annotation.Nonnull;
 
 import org.apache.commons.lang.StringUtils;
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.ObjectNode;
@@ -27,9 +26,9 @@ import org.yaml.snakeyaml.nodes.MappingNode;
 public class SYObjectNode extends SYBaseRamlNode implements ObjectNode
 {
 
-    public SYObjectNode(MappingNode mappingNode, ResourceLoader resourceLoader, String resourcePath)
+    public SYObjectNode(MappingNode mappingNode, SYLineTable lineTable)
     {
-        super(mappingNode, resourcePath, resourceLoader);
+        super(mappingNode, lineTable);
     }
 
     // For copy reasons
@@ -19,50 +19,65 @@ import javax.annotation.Nonnull;
 
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.AbstractPosition;
-import org.yaml.snakeyaml.error.Mark;
+import org.raml.v2.internal.framework.nodes.Position;
 
+/**
+ * A position in a parsed resource, the line and column are resolved from its {@link SYLineTable} when requested.
+ */
 public class SYPosition extends AbstractPosition
 {
 
-    private Mark mark;
-    private ResourceLoader resourceLoader;
-    private String resourcePath;
+    private final SYLineTable lineTable;
+    private final int index;
 
-    public SYPosition(Mark mark, ResourceLoader resourceLoader, String resourcePath)
+    public SYPosition(SYLineTable lineTable, int index)
     {
-        this.mark = mark;
-        this.resourceLoader = resourceLoader;
-        this.resourcePath = resourcePath;
+        this.lineTable = lineTable;
+        this.index = index;
     }
 
     @Override
     public int getIndex()
     {
-        return mark.getIndex();
+        return index;
     }
 
     @Override
     public int getLine()
     {
-        return mark.getLine();
+        return lineTable.getLine(index);
     }
 
     @Override
     public int getColumn()
     {
-        return mark.getColumn();
+        return lineTable.getColumn(index);
     }
 
     @Nonnull
     @Override
     public String getPath()
     {
-        return resourcePath;
+        return lineTable.getResourcePath();
     }
 
     @Nonnull
     public ResourceLoader getResourceLoader()
     {
-        return resourceLoader;
+        return lineTable.getResourceLoader();
+    }
+
+    @Nonnull
+    @Override
+    public Position rightShift(int offset)
+    {
+        return index == UNKNOWN ? this : new SYPosition(lineTable, index + offset);
+    }
+
+    @Nonnull
+    @Override
+    public Position leftShift(int offset)
+    {
+        return index == UNKNOWN ? this : new SYPosition(lineTable, index - offset);
     }
 }
@@ -17,7 +17,6 @@ package org.raml.v2.internal.framework.nodes.snakeyaml;
 
 import javax.annotation.Nonnull;
 
-import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.StringNode;
@@ -33,14 +32,14 @@ public class SYStringNode extends SYBaseRamlNode implements StringNode
     }
 
 
-    public SYStringNode(ScalarNode scalarNode, String resourcePath, ResourceLoader resourceLoader)
+    public SYStringNode(ScalarNode scalarNode, SYLineTable lineTable)
     {
-        super(scalarNode, resourcePath, resourceLoader);
+        super(scalarNode, lineTable);
     }
 
     public String getValue()
     {
-        return ((ScalarNode) getYamlNode()).getValue();
+        return getLiteralValue();
     }
 
     @Nonnull
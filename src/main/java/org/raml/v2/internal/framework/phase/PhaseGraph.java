@@ -0,0 +1,178 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
+/**
+ * Declares the phases of a build in execution order, together with the phases each one depends on.
+ * <p/>
+ * Depending on a phase means it has to be applied to the whole tree, and produce no errors, before this one starts.
+ * Adjacent {@link TransformationPhase}s that do not depend on each other are fused so their transformers
+ * share a single traversal of the tree.
+ */
+public class PhaseGraph
+{
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Entry> entriesByName = new HashMap<>();
+
+    /**
+     * Adds a phase after the ones already declared
+     * @param name Unique name of the phase in this graph
+     * @param phase The phase
+     * @param dependencies Names of previously declared phases that must be completed before this one
+     * @return this
+     */
+    public PhaseGraph phase(@Nonnull String name, @Nonnull Phase phase, String... dependencies)
+    {
+        if (entriesByName.containsKey(name))
+        {
+            throw new IllegalArgumentException("Phase '" + name + "' is already declared");
+        }
+        final Set<String> closure = new HashSet<>();
+        for (String dependency : dependencies)
+        {
+            final Entry entry = entriesByName.get(dependency);
+            if (entry == null)
+            {
+                throw new IllegalArgumentException("Phase '" + name + "' depends on '" + dependency + "' which is not declared before it");
+            }
+            closure.add(dependency);
+            closure.addAll(entry.dependencies);
+        }
+        final Entry entry = new Entry(name, phase, closure);
+        entries.add(entry);
+        entriesByName.put(name, entry);
+        return this;
+    }
+
+    /**
+     * Returns the phases to run, fusing the independent adjacent transformation phases
+     * @param maxPhaseNumber Number of declared phases to take into account
+     * @return The phases in execution order
+     */
+    @Nonnull
+    public List<Phase> getPhases(int maxPhaseNumber)
+    {
+        return getPhases(maxPhaseNumber, Predicates.<String> alwaysTrue());
+    }
+
+    /**
+     * Returns the phases to run, fusing the independent adjacent transformation phases
+     * @param maxPhaseNumber Number of declared phases to take into account
+     * @param selected Selects by name the phases to run, the rest are skipped
+     * @return The selected phases in execution order
+     */
+    @Nonnull
+    public List<Phase> getPhases(int maxPhaseNumber, @Nonnull Predicate<String> selected)
+    {
+        final List<Phase> result = new ArrayList<>();
+        for (Entry entry : compile(maxPhaseNumber, selected))
+        {
+            result.add(entry.phase);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of the phases returned by {@link #getPhases(int)}, in the same order
+     */
+    @Nonnull
+    public List<String> getPhaseNames(int maxPhaseNumber)
+    {
+        return getPhaseNames(maxPhaseNumber, Predicates.<String> alwaysTrue());
+    }
+
+    /**
+     * Returns the names of the phases returned by {@link #getPhases(int, Predicate)}, in the same order.
+     * Fused phases are named after the declared ones joined with '+'.
+     */
+    @Nonnull
+    public List<String> getPhaseNames(int maxPhaseNumber, @Nonnull Predicate<String> selected)
+    {
+        final List<String> result = new ArrayList<>();
+        for (Entry entry : compile(maxPhaseNumber, selected))
+        {
+            result.add(entry.name);
+        }
+        return result;
+    }
+
+    private List<Entry> compile(int maxPhaseNumber, Predicate<String> selected)
+    {
+        final List<Entry> result = new ArrayList<>();
+        final Set<String> fusedNames = new HashSet<>();
+        List<Transformer> fusedTransformers = null;
+        for (int i = 0; i < entries.size() && i < maxPhaseNumber; i++)
+        {
+            final Entry entry = entries.get(i);
+            if (!selected.apply(entry.name))
+            {
+                continue;
+            }
+            if (entry.phase instanceof TransformationPhase)
+            {
+                final List<Transformer> transformers = ((TransformationPhase) entry.phase).getTransformers();
+                if (fusedTransformers != null && Collections.disjoint(fusedNames, entry.dependencies))
+                {
+                    fusedTransformers.addAll(transformers);
+                    final Entry fused = result.get(result.size() - 1);
+                    result.set(result.size() - 1, new Entry(fused.name + "+" + entry.name, new TransformationPhase(fusedTransformers), fused.dependencies));
+                }
+                else
+                {
+                    fusedNames.clear();
+                    fusedTransformers = new ArrayList<>(transformers);
+                    result.add(entry);
+                }
+                fusedNames.add(entry.name);
+            }
+            else
+            {
+                fusedNames.clear();
+                fusedTransformers = null;
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static class Entry
+    {
+        private final String name;
+        private final Phase phase;
+        private final Set<String> dependencies;
+
+        Entry(String name, Phase phase, Set<String> dependencies)
+        {
+            this.name = name;
+            this.phase = phase;
+            this.dependencies = dependencies;
+        }
+    }
+}
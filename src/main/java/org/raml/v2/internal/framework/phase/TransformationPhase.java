@@ -17,6 +17,7 @@ package org.raml.v2.internal.framework.phase;
 
 import org.raml.v2.internal.framework.nodes.Node;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,15 +28,44 @@ public class TransformationPhase implements Phase
 {
 
     private List<Transformer> transformers;
+    private long visitedNodes;
+    private long replacedNodes;
 
     public TransformationPhase(Transformer... transformers)
     {
-        this.transformers = Arrays.asList(transformers);
+        this(Arrays.asList(transformers));
+    }
+
+    public TransformationPhase(List<Transformer> transformers)
+    {
+        this.transformers = new ArrayList<>(transformers);
+    }
+
+    List<Transformer> getTransformers()
+    {
+        return transformers;
+    }
+
+    /**
+     * @return The number of nodes traversed by this phase so far
+     */
+    public long getVisitedNodes()
+    {
+        return visitedNodes;
+    }
+
+    /**
+     * @return The number of nodes replaced by this phase so far
+     */
+    public long getReplacedNodes()
+    {
+        return replacedNodes;
     }
 
     @Override
     public Node apply(Node tree)
     {
+        visitedNodes++;
         // first pass may replace child nodes
         Node result = tree;
         for (Transformer transformer : transformers)
@@ -45,9 +75,13 @@ public class TransformationPhase implements Phase
                 result = transformer.transform(result);
             }
         }
-        if (tree != result && tree.getParent() != null)
+        if (tree != result)
         {
-            tree.replaceWith(result);
+            replacedNodes++;
+            if (tree.getParent() != null)
+            {
+                tree.replaceWith(result);
+            }
         }
         for (Node node : result.getChildren())
         {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+
+/**
+ * Resolves resources as files relative to the directory of a root raml, or to the working directory, and records them,
+ * found or not, as dependencies of the root. Anything else (urls, classpath resources) is delegated and not recorded.
+ */
+class DependencyRecordingResourceLoader implements ResourceLoader
+{
+
+    private final File parent;
+    private final ResourceLoader delegate = new DefaultResourceLoader();
+    private final Set<File> dependencies = new HashSet<>();
+
+    DependencyRecordingResourceLoader(@Nonnull File parent)
+    {
+        this.parent = parent;
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        if (resourceName.contains("://"))
+        {
+            return delegate.fetchResource(resourceName);
+        }
+        File file = new File(resourceName);
+        if (!file.isAbsolute())
+        {
+            final File relative = new File(parent, resourceName);
+            file = relative.isFile() || !file.isFile() ? relative : file;
+        }
+        file = normalize(file);
+        dependencies.add(file);
+        final byte[] bytes = file.isFile() ? read(file) : null;
+        return bytes != null ? new ByteArrayInputStream(bytes) : delegate.fetchResource(resourceName);
+    }
+
+    /**
+     * Returns the files fetched so far
+     */
+    @Nonnull
+    public Set<File> getDependencies()
+    {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Returns the content of the specified file or null if it can not be read
+     */
+    @Nullable
+    protected byte[] read(@Nonnull File file)
+    {
+        try
+        {
+            return Files.readAllBytes(file.toPath());
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    static File normalize(File file)
+    {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+}
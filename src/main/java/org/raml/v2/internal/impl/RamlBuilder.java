@@ -18,22 +18,35 @@ package org.raml.v2.internal.impl;
 import static org.raml.v2.internal.impl.commons.RamlVersion.RAML_10;
 
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.Nullable;
 
 import org.apache.commons.io.IOUtils;
+import org.raml.v2.api.SourceRetention;
+import org.raml.v2.api.ValidationLevel;
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
 import org.raml.v2.api.loader.CompositeResourceLoader;
 import org.raml.v2.api.loader.DefaultResourceLoader;
 import org.raml.v2.api.loader.FileResourceLoader;
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
 import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.snakeyaml.ParsedResourceCache;
 import org.raml.v2.internal.impl.commons.RamlHeader;
 import org.raml.v2.internal.impl.commons.nodes.RamlDocumentNode;
+import org.raml.v2.internal.impl.commons.phase.SourceRetentionPhase;
 import org.raml.v2.internal.impl.v08.Raml08Builder;
+import org.raml.v2.internal.impl.v10.BaseDocumentCache;
 import org.raml.v2.internal.impl.v10.Raml10Builder;
+import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
+import org.raml.v2.internal.utils.InstrumentationContext;
+import org.raml.v2.internal.utils.InstrumentedResourceLoader;
+import org.raml.v2.internal.utils.StreamUtils;
 
 /**
  * RamlBuilder create a Node representation of your raml.
@@ -50,18 +63,38 @@ public class RamlBuilder
 
     private int maxPhaseNumber;
 
+    private ValidationLevel validationLevel;
+
+    private BuildInstrumentation instrumentation;
+
+    private BaseDocumentCache baseDocumentCache;
+
+    private SourceRetention sourceRetention = SourceRetention.FULL;
+
+    private int patternStepBudget = TypeToRuleVisitor.DEFAULT_PATTERN_STEP_BUDGET;
+
+    private ExecutorService exampleValidationExecutor;
+
+    private ParsedResourceCache parsedResources;
+
     private ResourceLoader resourceLoader = null;
 
     private String actualPath = null;
 
     public RamlBuilder()
     {
-        maxPhaseNumber = ALL_PHASES;
+        this(ALL_PHASES);
     }
 
     public RamlBuilder(int maxPhaseNumber)
+    {
+        this(maxPhaseNumber, ValidationLevel.FULL);
+    }
+
+    public RamlBuilder(int maxPhaseNumber, ValidationLevel validationLevel)
     {
         this.maxPhaseNumber = maxPhaseNumber;
+        this.validationLevel = validationLevel;
     }
 
     public Node build(File ramlFile)
@@ -73,14 +106,16 @@ public class RamlBuilder
     {
         this.resourceLoader = new CompositeResourceLoader(resourceLoader, new FileResourceLoader(ramlFile.getParent()));
         this.actualPath = ramlFile.getPath();
-        try (FileReader reader = new FileReader(ramlFile))
+        final String content;
+        try
         {
-            return build(reader, this.resourceLoader, ramlFile.getName());
+            content = StreamUtils.toString(new FileInputStream(ramlFile));
         }
         catch (IOException ioe)
         {
             return ErrorNodeFactory.createInvalidInput(ioe);
         }
+        return build(content, this.resourceLoader, ramlFile.getName());
     }
 
     public Node build(String content)
@@ -93,21 +128,113 @@ public class RamlBuilder
         return build(content, new DefaultResourceLoader(), resourceLocation);
     }
 
-    public Node build(String content, ResourceLoader resourceLoader, String resourceLocation)
+
+    /**
+     * Sets the instrumentation that receives the metrics of the builds
+     */
+    public void setInstrumentation(@Nullable BuildInstrumentation instrumentation)
+    {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Sets the cache of the base documents of the extensions and overlays built by this builder
+     */
+    public void setBaseDocumentCache(@Nullable BaseDocumentCache baseDocumentCache)
     {
-        return build(new StringReader(content), resourceLoader, resourceLocation);
+        this.baseDocumentCache = baseDocumentCache;
+    }
+
+    /**
+     * Sets how much of the history of the replaced nodes is kept in the built trees
+     */
+    public void setSourceRetention(SourceRetention sourceRetention)
+    {
+        this.sourceRetention = sourceRetention;
+    }
+
+    /**
+     * Sets the maximum number of steps per match of the <code>pattern</code> facets or zero for no limit
+     */
+    public void setPatternStepBudget(int patternStepBudget)
+    {
+        this.patternStepBudget = patternStepBudget;
+    }
+
+    /**
+     * Sets the executor the examples are validated on concurrently or null to use the default setting
+     */
+    public void setExampleValidationExecutor(@Nullable ExecutorService exampleValidationExecutor)
+    {
+        this.exampleValidationExecutor = exampleValidationExecutor;
+    }
+
+    /**
+     * Sets the trees parsed by previous builds to reuse for the resources that did not change or null to parse them every time
+     */
+    public void setParsedResourceCache(@Nullable ParsedResourceCache parsedResources)
+    {
+        this.parsedResources = parsedResources;
     }
 
     public Node build(Reader content, ResourceLoader resourceLoader, String resourceLocation)
     {
         try
         {
-            final String stringContent = IOUtils.toString(content);
+            return build(IOUtils.toString(content), resourceLoader, resourceLocation);
+        }
+        catch (IOException ioe)
+        {
+            return ErrorNodeFactory.createInvalidInput(ioe);
+        }
+        finally
+        {
+            IOUtils.closeQuietly(content);
+        }
+    }
+
+    public Node build(String content, ResourceLoader resourceLoader, String resourceLocation)
+    {
+        final BuildInstrumentation instrumentation = this.instrumentation != null ? this.instrumentation : InstrumentationContext.get();
+        if (instrumentation == null)
+        {
+            return doBuild(content, resourceLoader, resourceLocation);
+        }
+        final BuildInstrumentation previous = InstrumentationContext.set(instrumentation);
+        final long start = System.nanoTime();
+        Node result = null;
+        try
+        {
+            // nested builds (base documents) fetch through the loader of the outer build, already instrumented
+            if (previous != instrumentation && !(resourceLoader instanceof InstrumentedResourceLoader))
+            {
+                resourceLoader = InstrumentedResourceLoader.wrap(resourceLoader, instrumentation);
+            }
+            result = doBuild(content, resourceLoader, resourceLocation);
+            return result;
+        }
+        finally
+        {
+            final boolean hasErrors = result == null || result instanceof ErrorNode || !result.findDescendantsWith(ErrorNode.class).isEmpty();
+            instrumentation.buildCompleted(resourceLocation, System.nanoTime() - start, hasErrors);
+            InstrumentationContext.restore(previous);
+        }
+    }
+
+    private Node doBuild(String stringContent, ResourceLoader resourceLoader, String resourceLocation)
+    {
+        try
+        {
             RamlHeader ramlHeader = RamlHeader.parse(stringContent);
             Node result;
             if (RAML_10 == ramlHeader.getVersion())
             {
-                result = new Raml10Builder().build(stringContent, ramlHeader.getFragment(), resourceLoader, resourceLocation, maxPhaseNumber);
+                result =
+                        new Raml10Builder(validationLevel, baseDocumentCache).setPatternStepBudget(patternStepBudget)
+                                                                             .setExampleValidationExecutor(exampleValidationExecutor)
+                                                                             .setParsedResourceCache(parsedResources)
+                                                                             .build(stringContent, ramlHeader.getFragment(), resourceLoader, resourceLocation,
+                                                                                     maxPhaseNumber);
             }
             else
             {
@@ -117,7 +244,7 @@ public class RamlBuilder
             {
                 ((RamlDocumentNode) result).setVersion(ramlHeader.getVersion());
             }
-            return result;
+            return new SourceRetentionPhase(sourceRetention).apply(result);
         }
         catch (IOException ioe)
         {
@@ -139,10 +266,32 @@ public class RamlBuilder
         {
             return ErrorNodeFactory.createInvalidHeader(e.getMessage());
         }
-        finally
+    }
+
+    /**
+     * Runs the validations skipped while building the document because of the {@link ValidationLevel}
+     * @param ramlNode The document built by this builder
+     * @param resourceLoader The resource loader used to build it
+     * @return The document, with error nodes if it is not valid
+     */
+    public Node validateSkippedPhases(RamlDocumentNode ramlNode, ResourceLoader resourceLoader)
+    {
+        if (ramlNode.getVersion() == RAML_10)
         {
-            IOUtils.closeQuietly(content);
+            final BuildInstrumentation previous = InstrumentationContext.set(instrumentation != null ? instrumentation : InstrumentationContext.get());
+            try
+            {
+                final Node validated = new Raml10Builder(validationLevel).setPatternStepBudget(patternStepBudget).setExampleValidationExecutor(exampleValidationExecutor)
+                                                                         .validateSkippedPhases(ramlNode, resourceLoader);
+                return new SourceRetentionPhase(sourceRetention).apply(validated);
+            }
+            finally
+            {
+                InstrumentationContext.restore(previous);
+            }
         }
+        // 0.8 has no optional validation phases
+        return ramlNode;
     }
 
     public ResourceLoader getResourceLoader()
@@ -21,17 +21,22 @@ import java.io.IOException;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
+import org.raml.v2.api.loader.ZipResourceLoader;
 import org.raml.v2.internal.impl.emitter.tck.TckEmitter;
 import org.raml.v2.internal.framework.nodes.ErrorNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.Position;
+import org.raml.v2.internal.utils.StreamUtils;
 
 public class RamlValidator
 {
 
-    public static final String USAGE = "Arguments: [-dump] file|url|dir";
+    public static final String USAGE = "Arguments: [-dump] [-watch] [-cache dir] file|url|dir|zip";
 
     private boolean dump;
+    private boolean watch;
+    private File cacheDirectory;
+    private ValidationCache cache;
     private String ramlLocation;
     private int ramlCount;
     private int validRamlCount;
@@ -41,9 +46,25 @@ public class RamlValidator
         parseArguments(args);
     }
 
-    private void validate()
+    private void validate() throws IOException
     {
-        validate(new File(ramlLocation));
+        if (cacheDirectory != null)
+        {
+            cache = new ValidationCache(cacheDirectory);
+        }
+        final File location = new File(ramlLocation);
+        if (isArchive(location))
+        {
+            validateArchive(location);
+        }
+        else
+        {
+            validate(location);
+        }
+        if (cache != null)
+        {
+            cache.evict();
+        }
         if (ramlCount > 1)
         {
             System.out.println(StringUtils.repeat("=", 50));
@@ -52,7 +73,7 @@ public class RamlValidator
         }
     }
 
-    private void validate(File location)
+    private void validate(File location) throws IOException
     {
         if (isRamlFile(location))
         {
@@ -77,34 +98,104 @@ public class RamlValidator
         }
     }
 
-    private void validateRaml(File ramlFile)
+    private void watch() throws IOException, InterruptedException
+    {
+        try (RamlWatcher watcher = new RamlWatcher(new RamlWatcher.Listener()
+        {
+            @Override
+            public void validated(File raml, Node result)
+            {
+                report(raml.getPath(), result);
+            }
+        }))
+        {
+            watcher.watch(new File(ramlLocation));
+            System.out.println("Watching for changes...");
+            watcher.run();
+        }
+    }
+
+    /**
+     * Validates every raml file of a zip or jar bundle, resolving their references inside the archive
+     */
+    private void validateArchive(File archive) throws IOException
+    {
+        final ZipResourceLoader resourceLoader = new ZipResourceLoader(archive);
+        for (String resourceName : resourceLoader.getResourceNames())
+        {
+            if (resourceName.endsWith(".raml"))
+            {
+                final String content = StreamUtils.toString(resourceLoader.fetchResource(resourceName));
+                final Node raml = new RamlBuilder().build(content, resourceLoader, resourceName);
+                report(archive.getPath() + "!/" + resourceName, raml);
+            }
+        }
+    }
+
+    private void validateRaml(File ramlFile) throws IOException
+    {
+        final String variant = dump ? "dump" : "";
+        ValidationCache.Entry entry = cache != null ? cache.get(ramlFile, variant) : null;
+        if (entry != null)
+        {
+            report(ramlFile.getPath(), entry.isValid(), entry.getOutput());
+            return;
+        }
+        final DependencyRecordingResourceLoader resourceLoader = new DependencyRecordingResourceLoader(ramlFile.getAbsoluteFile().getParentFile());
+        final Node raml = new RamlBuilder().build(ramlFile, resourceLoader);
+        final boolean valid = raml.findDescendantsWith(ErrorNode.class).isEmpty();
+        final String output = describe(raml);
+        if (cache != null)
+        {
+            cache.put(ramlFile, variant, resourceLoader.getDependencies(), valid, output);
+        }
+        report(ramlFile.getPath(), valid, output);
+    }
+
+    private void report(String ramlLocation, Node raml)
+    {
+        report(ramlLocation, raml.findDescendantsWith(ErrorNode.class).isEmpty(), describe(raml));
+    }
+
+    private void report(String ramlLocation, boolean valid, String output)
     {
         System.out.println(StringUtils.repeat("=", 120));
-        System.out.println(ramlFile);
+        System.out.println(ramlLocation);
         System.out.println(StringUtils.repeat("=", 120));
 
         ramlCount++;
-        final Node raml = new RamlBuilder().build(ramlFile);
+        if (valid)
+        {
+            validRamlCount++;
+        }
+        System.out.print(output);
+    }
+
+    private String describe(Node raml)
+    {
+        final StringBuilder output = new StringBuilder();
         List<ErrorNode> errors = raml.findDescendantsWith(ErrorNode.class);
         if (!errors.isEmpty())
         {
-            logErrors(errors);
-            return;
+            logErrors(errors, output);
         }
-
-        validRamlCount++;
-        if (dump)
+        else if (dump)
         {
             String json = new TckEmitter().dump(raml);
-            System.out.println(StringUtils.repeat("=", 120));
-            System.out.println(json);
-            System.out.println(StringUtils.repeat("=", 120));
+            output.append(StringUtils.repeat("=", 120)).append('\n');
+            output.append(json).append('\n');
+            output.append(StringUtils.repeat("=", 120)).append('\n');
         }
         else
         {
-            System.out.println("No errors found.");
+            output.append("No errors found.\n");
         }
+        return output.toString();
+    }
 
+    private boolean isArchive(File pathname)
+    {
+        return pathname.isFile() && (pathname.getName().endsWith(".zip") || pathname.getName().endsWith(".jar"));
     }
 
     private boolean isRamlFile(File pathname)
@@ -112,15 +203,23 @@ public class RamlValidator
         return pathname.isFile() && pathname.getName().endsWith(".raml");
     }
 
-    public static void main(String[] args) throws IOException
+    public static void main(String[] args) throws IOException, InterruptedException
     {
-        new RamlValidator(args).validate();
+        final RamlValidator validator = new RamlValidator(args);
+        if (validator.watch)
+        {
+            validator.watch();
+        }
+        else
+        {
+            validator.validate();
+        }
     }
 
-    private void logErrors(List<ErrorNode> errors)
+    private void logErrors(List<ErrorNode> errors, StringBuilder output)
     {
         String label = errors.size() > 1 ? "errors" : "error";
-        System.out.format("%d %s found:\n\n", errors.size(), label);
+        output.append(String.format("%d %s found:\n\n", errors.size(), label));
         for (ErrorNode error : errors)
         {
             String message = error.getErrorMessage();
@@ -130,29 +229,36 @@ public class RamlValidator
                 message = message.substring(0, idx);
             }
             Position position = error.getSource() != null ? error.getSource().getStartPosition() : error.getStartPosition();
-            System.out.format("\t- %s %s\n\n", message, position);
+            output.append(String.format("\t- %s %s\n\n", message, position));
         }
     }
 
     private void parseArguments(String[] args)
     {
-        if (args.length < 1 || args.length > 2)
+        if (args.length < 1)
         {
             throw new IllegalArgumentException(USAGE);
         }
-        if (args.length == 2)
+        for (int i = 0; i < args.length - 1; i++)
         {
-            if (!"-dump".equals(args[0]))
+            if ("-dump".equals(args[i]) && !dump)
+            {
+                this.dump = true;
+            }
+            else if ("-watch".equals(args[i]) && !watch)
+            {
+                this.watch = true;
+            }
+            else if ("-cache".equals(args[i]) && cacheDirectory == null && i + 2 < args.length)
+            {
+                this.cacheDirectory = new File(args[++i]);
+            }
+            else
             {
                 throw new IllegalArgumentException(USAGE);
             }
-            this.dump = true;
-            this.ramlLocation = args[1];
-        }
-        else
-        {
-            this.ramlLocation = args[0];
         }
+        this.ramlLocation = args[args.length - 1];
     }
 
 }
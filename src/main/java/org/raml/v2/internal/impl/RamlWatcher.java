@@ -0,0 +1,379 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.snakeyaml.ParsedResourceCache;
+import org.raml.v2.internal.impl.v10.BaseDocumentCache;
+
+/**
+ * Keeps a set of raml files validated while they are being edited.
+ * <p>
+ * Every file a raml fetches through the resource loader (includes, libraries, the base of an extension or overlay and the
+ * documents imported by its xml schemas) is recorded as one of its dependencies, and the directories holding them are
+ * registered in a {@link WatchService}. When files change only the raml files depending on them are validated again.
+ * The content of the unchanged files is kept in memory and so are their parsed trees, a raml validated again only parses
+ * the files that changed while the validation phases still run over the whole document. The base documents of extensions
+ * and overlays are reused while they do not change and compiled schemas are reused by content.
+ * <p>
+ * Instances are not thread safe, events are meant to be processed by a single thread through {@link #run()} or
+ * {@link #processEvents(long, TimeUnit)}.
+ */
+public class RamlWatcher implements Closeable
+{
+
+    private static final long SETTLE_MILLIS = 50;
+
+    public interface Listener
+    {
+
+        /**
+         * Called every time a raml file is validated
+         * @param raml The root raml file
+         * @param result The built raml, with {@link org.raml.v2.internal.framework.nodes.ErrorNode}s if it is not valid
+         */
+        void validated(File raml, Node result);
+    }
+
+    private final Listener listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, File> directories = new HashMap<>();
+    private final Set<File> registeredDirectories = new HashSet<>();
+    private final Set<File> watchedTrees = new HashSet<>();
+    private final Map<File, Root> roots = new LinkedHashMap<>();
+    private final Map<File, Content> contents = new HashMap<>();
+
+    public RamlWatcher(@Nonnull Listener listener) throws IOException
+    {
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Validates the specified raml file, or all the raml files under the specified directory, and starts watching them.
+     * Raml files created later under a watched directory are validated and watched as well.
+     */
+    public void watch(@Nonnull File location) throws IOException
+    {
+        final File file = normalize(location);
+        final List<Root> added = new ArrayList<>();
+        if (file.isDirectory())
+        {
+            watchTree(file, added);
+        }
+        else
+        {
+            added.add(addRoot(file));
+        }
+        for (Root root : added)
+        {
+            validate(root);
+        }
+    }
+
+    /**
+     * Returns the files the specified raml depended on the last time it was validated
+     */
+    @Nonnull
+    public Set<File> getDependencies(@Nonnull File raml)
+    {
+        final Root root = roots.get(normalize(raml));
+        return root != null ? Collections.unmodifiableSet(root.dependencies) : Collections.<File> emptySet();
+    }
+
+    /**
+     * Returns the number of files parsed to validate the specified raml since it is watched
+     */
+    long getParseCount(@Nonnull File raml)
+    {
+        final Root root = roots.get(normalize(raml));
+        return root != null ? root.parsedResources.getParseCount() : 0;
+    }
+
+    /**
+     * Processes file system events until this watcher is closed
+     */
+    public void run() throws IOException, InterruptedException
+    {
+        try
+        {
+            while (true)
+            {
+                processEvents(1, TimeUnit.DAYS);
+            }
+        }
+        catch (ClosedWatchServiceException e)
+        {
+            // closed
+        }
+    }
+
+    /**
+     * Waits for file system events and validates again the raml files affected by them.
+     * Events arriving shortly after the first one are handled together, as editors usually write files in several steps.
+     * @return The raml files that were validated, empty if no event arrived before the timeout
+     */
+    @Nonnull
+    public Set<File> processEvents(long timeout, TimeUnit unit) throws IOException, InterruptedException
+    {
+        WatchKey key = watchService.poll(timeout, unit);
+        final Set<File> changed = new LinkedHashSet<>();
+        while (key != null)
+        {
+            final File directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                if (event.kind() == OVERFLOW)
+                {
+                    // events were lost, anything may have changed
+                    contents.clear();
+                    changed.addAll(roots.keySet());
+                }
+                else if (directory != null)
+                {
+                    changed.add(new File(directory, ((Path) event.context()).toString()));
+                }
+            }
+            if (!key.reset())
+            {
+                directories.remove(key);
+                registeredDirectories.remove(directory);
+            }
+            key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return changed.isEmpty() ? Collections.<File> emptySet() : revalidate(changed);
+    }
+
+    /**
+     * Validates again the raml files that are affected by changes in the specified files
+     * @return The raml files that were validated
+     */
+    @Nonnull
+    public Set<File> revalidate(@Nonnull Collection<File> changedFiles) throws IOException
+    {
+        final Set<Root> affected = new LinkedHashSet<>();
+        for (File changedFile : changedFiles)
+        {
+            final File file = normalize(changedFile);
+            contents.remove(file);
+            if (roots.containsKey(file))
+            {
+                if (file.isFile())
+                {
+                    affected.add(roots.get(file));
+                }
+                else
+                {
+                    roots.remove(file);
+                }
+            }
+            else if (isInWatchedTree(file))
+            {
+                final List<Root> added = new ArrayList<>();
+                if (file.isDirectory())
+                {
+                    watchTree(file, added);
+                }
+                else if (isRamlFile(file))
+                {
+                    added.add(addRoot(file));
+                }
+                affected.addAll(added);
+            }
+            for (Root root : roots.values())
+            {
+                if (root.dependencies.contains(file))
+                {
+                    affected.add(root);
+                }
+            }
+        }
+        final Set<File> validated = new LinkedHashSet<>();
+        for (Root root : affected)
+        {
+            if (roots.containsKey(root.file))
+            {
+                validate(root);
+                validated.add(root.file);
+            }
+        }
+        return validated;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        watchService.close();
+    }
+
+    private void validate(Root root) throws IOException
+    {
+        final DependencyRecordingResourceLoader resourceLoader = new DependencyRecordingResourceLoader(root.file.getParentFile())
+        {
+            @Override
+            protected byte[] read(@Nonnull File file)
+            {
+                return RamlWatcher.this.read(file);
+            }
+        };
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setBaseDocumentCache(root.baseDocuments);
+        builder.setParsedResourceCache(root.parsedResources);
+        final Node result = builder.build(root.file, resourceLoader);
+        root.dependencies = resourceLoader.getDependencies();
+        register(root.file.getParentFile());
+        for (File dependency : root.dependencies)
+        {
+            register(dependency.getParentFile());
+        }
+        listener.validated(root.file, result);
+    }
+
+    private Root addRoot(File file)
+    {
+        Root root = roots.get(file);
+        if (root == null)
+        {
+            root = new Root(file);
+            roots.put(file, root);
+        }
+        return root;
+    }
+
+    private void watchTree(File directory, List<Root> added) throws IOException
+    {
+        watchedTrees.add(directory);
+        register(directory);
+        final File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+        for (File file : files)
+        {
+            if (file.isDirectory())
+            {
+                watchTree(file, added);
+            }
+            else if (isRamlFile(file))
+            {
+                added.add(addRoot(file));
+            }
+        }
+    }
+
+    private boolean isInWatchedTree(File file)
+    {
+        return watchedTrees.contains(file.getParentFile());
+    }
+
+    private void register(File directory) throws IOException
+    {
+        if (directory == null || !directory.isDirectory() || !registeredDirectories.add(directory))
+        {
+            return;
+        }
+        final WatchKey key = directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        directories.put(key, directory);
+    }
+
+    private byte[] read(File file)
+    {
+        final Content content = contents.get(file);
+        if (content != null && content.lastModified == file.lastModified() && content.bytes.length == file.length())
+        {
+            return content.bytes;
+        }
+        try
+        {
+            final byte[] bytes = Files.readAllBytes(file.toPath());
+            contents.put(file, new Content(file.lastModified(), bytes));
+            return bytes;
+        }
+        catch (IOException e)
+        {
+            contents.remove(file);
+            return null;
+        }
+    }
+
+    private static boolean isRamlFile(File file)
+    {
+        return file.isFile() && file.getName().endsWith(".raml");
+    }
+
+    private static File normalize(File file)
+    {
+        return DependencyRecordingResourceLoader.normalize(file);
+    }
+
+    private static class Root
+    {
+
+        private final File file;
+        private final BaseDocumentCache baseDocuments = new BaseDocumentCache();
+        // per root, as the parsed trees keep the loader resolving the resources relative to it
+        private final ParsedResourceCache parsedResources = new ParsedResourceCache();
+        private Set<File> dependencies = Collections.emptySet();
+
+        private Root(File file)
+        {
+            this.file = file;
+        }
+    }
+
+    private static class Content
+    {
+
+        private final long lastModified;
+        private final byte[] bytes;
+
+        private Content(long lastModified, byte[] bytes)
+        {
+            this.lastModified = lastModified;
+            this.bytes = bytes;
+        }
+    }
+}
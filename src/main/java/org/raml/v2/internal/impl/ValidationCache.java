@@ -0,0 +1,295 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Validation outcomes of raml files persisted in a directory, so that unchanged files are not validated again.
+ * <p>
+ * There is an entry per root raml with the digests of every file it depended on when it was validated (itself, includes,
+ * libraries, base documents and schemas). An entry is only used if none of those files changed and it was written by the
+ * same parser version. Resources fetched from urls or the classpath are not tracked.
+ * <p>
+ * Entries not used for {@link #MAX_AGE_DAYS} days are evicted, as well as the least recently used ones when the
+ * cache grows over {@link #MAX_SIZE} bytes.
+ */
+public class ValidationCache
+{
+
+    public static final String MAX_SIZE = "raml.validator.cache.maxSize";
+    public static final String MAX_AGE_DAYS = "raml.validator.cache.maxAgeDays";
+
+    private static final long DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_MAX_AGE_DAYS = 30;
+    private static final int FORMAT = 1;
+    private static final String EXTENSION = ".entry";
+    private static final String MISSING = "-";
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationCache.class);
+
+    private final File directory;
+    private final String parserVersion;
+
+    public ValidationCache(@Nonnull File directory) throws IOException
+    {
+        this(directory, getParserVersion());
+    }
+
+    ValidationCache(@Nonnull File directory, @Nonnull String parserVersion) throws IOException
+    {
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Can not create cache directory " + directory);
+        }
+        this.directory = directory;
+        this.parserVersion = parserVersion;
+    }
+
+    /**
+     * Returns the outcome recorded for the specified raml, or null if there is none or any of its dependencies changed
+     * @param raml The root raml file
+     * @param variant Distinguishes outcomes of the same raml produced with different options
+     */
+    @Nullable
+    public Entry get(@Nonnull File raml, @Nonnull String variant)
+    {
+        final File file = getEntryFile(raml, variant);
+        if (!file.isFile())
+        {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            if (input.readInt() != FORMAT || !parserVersion.equals(input.readUTF()))
+            {
+                return null;
+            }
+            final int dependencies = input.readInt();
+            for (int i = 0; i < dependencies; i++)
+            {
+                final File dependency = new File(input.readUTF());
+                if (!input.readUTF().equals(digest(dependency)))
+                {
+                    return null;
+                }
+            }
+            final boolean valid = input.readBoolean();
+            final byte[] output = new byte[input.readInt()];
+            input.readFully(output);
+            if (!file.setLastModified(System.currentTimeMillis()))
+            {
+                logger.debug("Could not touch cache entry {}", file);
+            }
+            return new Entry(valid, new String(output, Charsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            logger.debug("Discarding unreadable cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records the outcome of the validation of the specified raml
+     * @param raml The root raml file
+     * @param variant Distinguishes outcomes of the same raml produced with different options
+     * @param dependencies The files fetched while building the raml
+     * @param valid Whether the raml has errors
+     * @param output The report of the validation
+     */
+    public void put(@Nonnull File raml, @Nonnull String variant, @Nonnull Collection<File> dependencies, boolean valid, @Nonnull String output) throws IOException
+    {
+        final List<File> files = new ArrayList<>();
+        files.add(DependencyRecordingResourceLoader.normalize(raml));
+        files.addAll(dependencies);
+        final File file = getEntryFile(raml, variant);
+        final File temporary = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary))))
+        {
+            out.writeInt(FORMAT);
+            out.writeUTF(parserVersion);
+            out.writeInt(files.size());
+            for (File dependency : files)
+            {
+                out.writeUTF(dependency.getPath());
+                out.writeUTF(digest(dependency));
+            }
+            out.writeBoolean(valid);
+            final byte[] bytes = output.getBytes(Charsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        if (file.exists() && !file.delete() || !temporary.renameTo(file))
+        {
+            throw new IOException("Can not write cache entry " + file);
+        }
+    }
+
+    /**
+     * Deletes the entries not used in the maximum age, and then the least recently used ones until the cache fits in its
+     * maximum size
+     */
+    public void evict()
+    {
+        final File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+        final List<File> entries = new ArrayList<>();
+        for (File file : files)
+        {
+            if (file.isFile() && file.getName().endsWith(EXTENSION))
+            {
+                entries.add(file);
+            }
+        }
+        Collections.sort(entries, new Comparator<File>()
+        {
+            @Override
+            public int compare(File first, File second)
+            {
+                return Long.compare(second.lastModified(), first.lastModified());
+            }
+        });
+        final long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(Integer.getInteger(MAX_AGE_DAYS, DEFAULT_MAX_AGE_DAYS));
+        final long maxSize = Long.getLong(MAX_SIZE, DEFAULT_MAX_SIZE);
+        long size = 0;
+        for (File entry : entries)
+        {
+            size += entry.length();
+            if ((size > maxSize || entry.lastModified() < oldest) && !entry.delete())
+            {
+                logger.debug("Could not evict cache entry {}", entry);
+            }
+        }
+    }
+
+    File getEntryFile(File raml, String variant)
+    {
+        final String key = DependencyRecordingResourceLoader.normalize(raml).getPath() + "\u0000" + variant;
+        return new File(directory, Hashing.sha1().hashString(key, Charsets.UTF_8).toString() + EXTENSION);
+    }
+
+    private static String digest(File file)
+    {
+        if (!file.isFile())
+        {
+            return MISSING;
+        }
+        try
+        {
+            return Files.hash(file, Hashing.sha1()).toString();
+        }
+        catch (IOException e)
+        {
+            return MISSING;
+        }
+    }
+
+    /**
+     * The version of this parser. Snapshots also include the size and the timestamp of the jar they are loaded from,
+     * as their code changes without a version change.
+     */
+    static String getParserVersion()
+    {
+        String version = "unknown";
+        try (InputStream input = ValidationCache.class.getResourceAsStream("parser.properties"))
+        {
+            if (input != null)
+            {
+                final Properties properties = new Properties();
+                properties.load(input);
+                version = properties.getProperty("version", version);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.debug("Could not read the parser version", e);
+        }
+        if (version.endsWith("-SNAPSHOT") || version.equals("unknown"))
+        {
+            final CodeSource codeSource = ValidationCache.class.getProtectionDomain().getCodeSource();
+            final URL location = codeSource != null ? codeSource.getLocation() : null;
+            if (location != null && "file".equals(location.getProtocol()))
+            {
+                try
+                {
+                    final File file = new File(location.toURI());
+                    version += "/" + file.length() + "/" + file.lastModified();
+                }
+                catch (URISyntaxException | IllegalArgumentException e)
+                {
+                    logger.debug("Could not locate the parser code", e);
+                }
+            }
+        }
+        return version;
+    }
+
+    public static class Entry
+    {
+
+        private final boolean valid;
+        private final String output;
+
+        private Entry(boolean valid, String output)
+        {
+            this.valid = valid;
+            this.output = output;
+        }
+
+        public boolean isValid()
+        {
+            return valid;
+        }
+
+        @Nonnull
+        public String getOutput()
+        {
+            return output;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.raml.v2.internal.impl.commons.nodes;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.raml.v2.internal.impl.commons.RamlVersion;
 import org.raml.v2.api.loader.ResourceLoader;
@@ -23,12 +24,15 @@ import org.raml.v2.internal.framework.nodes.AbstractRamlNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.ObjectNode;
+import org.raml.v2.internal.impl.v10.RamlFragment;
 
 public class RamlDocumentNode extends AbstractRamlNode implements ObjectNode, ContextProviderNode
 {
 
     private RamlVersion version;
 
+    private RamlFragment fragment;
+
     public RamlDocumentNode()
     {
     }
@@ -36,6 +40,7 @@ public class RamlDocumentNode extends AbstractRamlNode implements ObjectNode, Co
     public RamlDocumentNode(RamlDocumentNode node)
     {
         super(node);
+        this.fragment = node.fragment;
     }
 
     @Nonnull
@@ -62,6 +67,20 @@ public class RamlDocumentNode extends AbstractRamlNode implements ObjectNode, Co
         this.version = version;
     }
 
+    /**
+     * Returns the fragment whose phases built this document, null for RAML 0.8 documents
+     */
+    @Nullable
+    public RamlFragment getFragment()
+    {
+        return fragment;
+    }
+
+    public void setFragment(RamlFragment fragment)
+    {
+        this.fragment = fragment;
+    }
+
     @Nonnull
     @Override
     public Node getContextNode()
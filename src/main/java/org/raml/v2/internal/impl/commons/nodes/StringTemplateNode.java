@@ -25,6 +25,7 @@ import org.raml.v2.internal.framework.nodes.ExecutionContext;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.StringNode;
 import org.raml.v2.internal.framework.nodes.StringNodeImpl;
+import org.raml.v2.internal.utils.StringPool;
 
 public class StringTemplateNode extends StringNodeImpl implements ExecutableNode
 {
@@ -72,7 +73,7 @@ public class StringTemplateNode extends StringNodeImpl implements ExecutableNode
                 content.append(((StringNode) child).getValue());
             }
         }
-        return new StringNodeImpl(content.toString());
+        return new StringNodeImpl(StringPool.intern(content.toString()));
     }
 
     @Nonnull
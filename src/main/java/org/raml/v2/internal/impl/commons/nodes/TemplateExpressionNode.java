@@ -20,15 +20,20 @@ import org.raml.v2.internal.framework.nodes.ExecutableNode;
 import org.raml.v2.internal.framework.nodes.ExecutionContext;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.StringNodeImpl;
-import org.raml.v2.internal.utils.Inflector;
+import org.raml.v2.internal.utils.InflectorFunction;
+import org.raml.v2.internal.utils.StringPool;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 public class TemplateExpressionNode extends StringNodeImpl implements ExecutableNode
 {
+    // Compiled lazily and shared between copies, as the expression value never changes
+    private CompiledExpression compiledExpression;
+
     public TemplateExpressionNode(@Nonnull String value)
     {
         super(value);
@@ -37,22 +42,22 @@ public class TemplateExpressionNode extends StringNodeImpl implements Executable
     public TemplateExpressionNode(TemplateExpressionNode node)
     {
         super(node);
+        this.compiledExpression = node.compiledExpression;
     }
 
     @Nullable
     public String getVariableName()
     {
-        final StringTokenizer expressionTokens = getExpressionTokens();
-        return expressionTokens.hasMoreTokens() ? expressionTokens.nextToken() : null;
+        return getCompiledExpression().variableName;
     }
 
     public Node execute(ExecutionContext context)
     {
-        final StringTokenizer expressionTokens = getExpressionTokens();
+        final CompiledExpression expression = getCompiledExpression();
         String result = null;
-        if (expressionTokens.hasMoreTokens())
+        if (expression.variableName != null)
         {
-            final String token = expressionTokens.nextToken().trim();
+            final String token = expression.variableName.trim();
             if (context.containsVariable(token))
             {
                 result = context.getVariable(token);
@@ -62,35 +67,33 @@ public class TemplateExpressionNode extends StringNodeImpl implements Executable
                 return ErrorNodeFactory.createInvalidTemplateParameterExpression(this, token);
             }
         }
-        while (expressionTokens.hasMoreTokens())
+        for (InflectorFunction function : expression.functions)
         {
-            final String token = expressionTokens.nextToken().trim();
-            if (token.startsWith("!"))
+            try
             {
-                try
-                {
-                    Method method = Inflector.class.getMethod(token.substring(1), String.class);
-                    result = String.valueOf(method.invoke(null, result));
-                }
-                catch (Exception e)
-                {
-                    return ErrorNodeFactory.createInvalidTemplateFunctionExpression(this, token);
-                }
+                result = function.apply(result);
             }
-            else
+            catch (RuntimeException e)
             {
-                return ErrorNodeFactory.createInvalidTemplateFunctionExpression(this, token);
+                return ErrorNodeFactory.createInvalidTemplateFunctionExpression(this, "!" + function.getFunctionName());
             }
         }
+        if (expression.invalidFunction != null)
+        {
+            return ErrorNodeFactory.createInvalidTemplateFunctionExpression(this, expression.invalidFunction);
+        }
 
-        return new StringNodeImpl(result);
+        return new StringNodeImpl(StringPool.intern(result));
 
     }
 
-    private StringTokenizer getExpressionTokens()
+    private CompiledExpression getCompiledExpression()
     {
-        final String value = getValue();
-        return new StringTokenizer(value, "|");
+        if (compiledExpression == null)
+        {
+            compiledExpression = CompiledExpression.compile(getValue());
+        }
+        return compiledExpression;
     }
 
     @Nonnull
@@ -99,4 +102,44 @@ public class TemplateExpressionNode extends StringNodeImpl implements Executable
     {
         return new TemplateExpressionNode(this);
     }
+
+    /**
+     * The parsed form of a template expression: the variable to read followed by the functions to apply in order.
+     * Parsing stops at the first token that is not a known function, which is kept to report the error once the
+     * preceding functions were applied.
+     */
+    private static class CompiledExpression
+    {
+
+        private final String variableName;
+        private final List<InflectorFunction> functions;
+        private final String invalidFunction;
+
+        private CompiledExpression(String variableName, List<InflectorFunction> functions, String invalidFunction)
+        {
+            this.variableName = variableName;
+            this.functions = functions;
+            this.invalidFunction = invalidFunction;
+        }
+
+        static CompiledExpression compile(String value)
+        {
+            final StringTokenizer expressionTokens = new StringTokenizer(value, "|");
+            final String variableName = expressionTokens.hasMoreTokens() ? expressionTokens.nextToken() : null;
+            final List<InflectorFunction> functions = new ArrayList<>();
+            String invalidFunction = null;
+            while (expressionTokens.hasMoreTokens())
+            {
+                final String token = expressionTokens.nextToken().trim();
+                final InflectorFunction function = token.startsWith("!") ? InflectorFunction.forName(token.substring(1)) : null;
+                if (function == null)
+                {
+                    invalidFunction = token;
+                    break;
+                }
+                functions.add(function);
+            }
+            return new CompiledExpression(variableName, functions, invalidFunction);
+        }
+    }
 }
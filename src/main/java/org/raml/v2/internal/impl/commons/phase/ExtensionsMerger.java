@@ -18,6 +18,10 @@
  */
 package org.raml.v2.internal.impl.commons.phase;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
 import org.raml.v2.internal.framework.nodes.ArrayNode;
 import org.raml.v2.internal.framework.nodes.KeyValueNode;
@@ -30,7 +34,6 @@ import org.raml.v2.internal.impl.commons.nodes.ExampleDeclarationNode;
 import org.raml.v2.internal.impl.commons.nodes.ExtendsNode;
 import org.raml.v2.internal.impl.commons.nodes.OverlayableNode;
 import org.raml.v2.internal.impl.commons.nodes.RamlDocumentNode;
-import org.raml.v2.internal.utils.NodeSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +76,7 @@ public class ExtensionsMerger
 
     private void merge(ObjectNode baseNode, ObjectNode copyNode)
     {
+        final Map<String, Node> baseValues = indexValues(baseNode);
         for (Node child : copyNode.getChildren())
         {
             if (!(child instanceof KeyValueNode))
@@ -90,12 +94,13 @@ public class ExtensionsMerger
             }
 
             Node valueNode = ((KeyValueNode) child).getValue();
-            Node node = NodeSelector.selectFrom(NodeSelector.encodePath(key), baseNode);
+            Node node = baseValues.get(key);
             if (node == null)
             {
                 overlayCheck(valueNode, valueNode);
                 logger.debug("Adding key '{}'", key);
                 baseNode.addChild(child);
+                baseValues.put(key, ((KeyValueNode) child).getValue());
             }
             else if (child instanceof AnnotationNode)
             {
@@ -131,6 +136,31 @@ public class ExtensionsMerger
         }
     }
 
+    /**
+     * Values of the object by key, the first one wins if a key is repeated
+     */
+    private Map<String, Node> indexValues(ObjectNode objectNode)
+    {
+        final List<Node> children = objectNode.getChildren();
+        final Map<String, Node> values = new HashMap<>(children.size() * 2);
+        for (Node child : children)
+        {
+            if (child instanceof KeyValueNode)
+            {
+                final Node key = ((KeyValueNode) child).getKey();
+                if (key instanceof SimpleTypeNode)
+                {
+                    final String name = String.valueOf(((SimpleTypeNode) key).getValue());
+                    if (!values.containsKey(name))
+                    {
+                        values.put(name, ((KeyValueNode) child).getValue());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
     private boolean isDefaultNode(Node node)
     {
         return node.getStartPosition().getLine() == Position.UNKNOWN
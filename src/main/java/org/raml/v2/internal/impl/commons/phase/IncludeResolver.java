@@ -17,30 +17,62 @@ package org.raml.v2.internal.impl.commons.phase;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
 
 import org.raml.v2.internal.framework.nodes.ObjectNode;
 import org.raml.v2.internal.impl.commons.RamlHeader;
 import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
 import org.raml.v2.internal.framework.nodes.IncludeErrorNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.StringNodeImpl;
+import org.raml.v2.internal.framework.nodes.snakeyaml.ParsedResourceCache;
 import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
 import org.raml.v2.internal.framework.nodes.snakeyaml.SYIncludeNode;
 import org.raml.v2.internal.framework.phase.Transformer;
 import org.raml.v2.internal.impl.commons.nodes.RamlTypedFragmentNode;
 import org.raml.v2.internal.impl.v10.RamlFragment;
+import org.raml.v2.internal.utils.NodeUtils;
+import org.raml.v2.internal.utils.PrefetchingResourceLoader;
 import org.raml.v2.internal.utils.ResourcePathUtils;
 import org.raml.v2.internal.utils.StreamUtils;
 
 
+/**
+ * Replaces the includes with the content of the included resources. Each resource is fetched and parsed once per build.
+ * The includes are counted before they are resolved, so only the resources included more than once keep an untouched
+ * tree to give a copy of to their following includes, as every include is then transformed on its own.
+ */
 public class IncludeResolver implements Transformer
 {
 
     private final ResourceLoader resourceLoader;
+    @Nullable
+    private final ParsedResourceCache parsedResources;
+    // includes not resolved yet of each resource, counted in the document and in the included trees
+    private final Map<String, Integer> pendingIncludes = new HashMap<>();
+    // untouched trees of the resources still to be included again
+    private final Map<String, Node> pristineTrees = new HashMap<>();
+    // content of the fetched resources, null for the missing ones
+    private final Map<String, String> contents = new HashMap<>();
+    private boolean scanned;
 
     public IncludeResolver(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, null);
+    }
+
+    /**
+     * @param resourceLoader The loader of the included resources
+     * @param parsedResources The trees parsed by previous builds to reuse for the unchanged resources or null to parse them every time
+     */
+    public IncludeResolver(ResourceLoader resourceLoader, @Nullable ParsedResourceCache parsedResources)
     {
         this.resourceLoader = resourceLoader;
+        this.parsedResources = parsedResources;
     }
 
     @Override
@@ -52,54 +84,143 @@ public class IncludeResolver implements Transformer
     @Override
     public Node transform(Node node)
     {
-        final SYIncludeNode includeNode = (SYIncludeNode) node;
-        String resourcePath = ResourcePathUtils.toAbsoluteLocation(node.getStartPosition().getPath(), includeNode.getIncludePath());
-        try (InputStream inputStream = resourceLoader.fetchResource(resourcePath))
+        if (!scanned)
+        {
+            scanned = true;
+            countIncludes(node.getRootNode(), 1);
+        }
+        final String resourcePath = getResourcePath((SYIncludeNode) node);
+        final int uses = takeInclude(resourcePath);
+        final Node pristineTree = pristineTrees.get(resourcePath);
+        if (pristineTree != null)
         {
-            if (inputStream == null)
+            if (uses > 1)
             {
-                return new IncludeErrorNode("Include cannot be resolved: " + resourcePath);
+                return NodeUtils.detachedCopy(pristineTree);
             }
-            Node result;
-            String includeContent = StreamUtils.toString(inputStream);
-            if (resourcePath.endsWith(".raml") || resourcePath.endsWith(".yaml") || resourcePath.endsWith(".yml"))
+            // last include of the resource
+            pristineTrees.remove(resourcePath);
+            return pristineTree;
+        }
+        final boolean firstUse = !contents.containsKey(resourcePath);
+        if (firstUse)
+        {
+            try
             {
-                try
-                {
-                    RamlHeader ramlHeader = RamlHeader.parse(includeContent);
-                    final RamlFragment fragment = ramlHeader.getFragment();
-                    result = RamlNodeParser.parse(resourceLoader, resourcePath, includeContent);
-                    if (result != null && isTypedFragment(result, fragment))
-                    {
-                        final RamlTypedFragmentNode newNode = new RamlTypedFragmentNode(fragment);
-                        result.replaceWith(newNode);
-                        result = newNode;
-                    }
-                }
-                catch (RamlHeader.InvalidHeaderException e)
-                {
-                    // no valid header defined => !supportUses
-                    result = RamlNodeParser.parse(resourceLoader, resourcePath, includeContent);
-                }
-
+                contents.put(resourcePath, fetch(resourcePath));
             }
-            else
-            // scalar value
+            catch (IOException e)
             {
-                result = new StringNodeImpl(includeContent);
+                return new IncludeErrorNode(String.format("Include cannot be resolved: %s. (%s)", resourcePath, e.getMessage()));
             }
+        }
+        final String includeContent = contents.get(resourcePath);
+        if (includeContent == null)
+        {
+            return new IncludeErrorNode("Include cannot be resolved: " + resourcePath);
+        }
+        final Node result = parse(resourcePath, includeContent);
+        if (result == null)
+        {
+            return new IncludeErrorNode("Include file is empty: " + resourcePath);
+        }
+        // the nested includes are repeated in the copies given to the following includes
+        countIncludes(result, uses);
+        if (uses > 1 && !(result instanceof ErrorNode))
+        {
+            pristineTrees.put(resourcePath, NodeUtils.detachedCopy(result));
+        }
+        if (firstUse)
+        {
+            // nested includes are resolved later on by this same phase
+            PrefetchingResourceLoader.prefetchReferences(resourceLoader, result);
+        }
+        return result;
+    }
 
-            if (result == null)
+    private void countIncludes(Node tree, int times)
+    {
+        if (tree instanceof SYIncludeNode)
+        {
+            addIncludes(getResourcePath((SYIncludeNode) tree), times);
+        }
+        for (SYIncludeNode includeNode : tree.findDescendantsWith(SYIncludeNode.class))
+        {
+            addIncludes(getResourcePath(includeNode), times);
+        }
+    }
+
+    private void addIncludes(String resourcePath, int times)
+    {
+        final Integer pending = pendingIncludes.get(resourcePath);
+        pendingIncludes.put(resourcePath, pending == null ? times : pending + times);
+    }
+
+    /**
+     * Returns the number of includes of the resource still to be resolved, counting the one being resolved
+     */
+    private int takeInclude(String resourcePath)
+    {
+        final Integer pending = pendingIncludes.remove(resourcePath);
+        if (pending == null)
+        {
+            // not counted
+            return 1;
+        }
+        if (pending > 1)
+        {
+            pendingIncludes.put(resourcePath, pending - 1);
+        }
+        return pending;
+    }
+
+    private static String getResourcePath(SYIncludeNode includeNode)
+    {
+        return ResourcePathUtils.toAbsoluteLocation(includeNode.getStartPosition().getPath(), includeNode.getIncludePath());
+    }
+
+    private String fetch(String resourcePath) throws IOException
+    {
+        try (InputStream inputStream = resourceLoader.fetchResource(resourcePath))
+        {
+            return inputStream == null ? null : StreamUtils.toString(inputStream);
+        }
+    }
+
+    private Node parse(String resourcePath, String includeContent)
+    {
+        if (resourcePath.endsWith(".raml") || resourcePath.endsWith(".yaml") || resourcePath.endsWith(".yml"))
+        {
+            try
             {
-                result = new IncludeErrorNode("Include file is empty: " + resourcePath);
+                RamlHeader ramlHeader = RamlHeader.parse(includeContent);
+                final RamlFragment fragment = ramlHeader.getFragment();
+                Node result = parseYaml(resourcePath, includeContent);
+                if (result != null && isTypedFragment(result, fragment))
+                {
+                    final RamlTypedFragmentNode newNode = new RamlTypedFragmentNode(fragment);
+                    result.replaceWith(newNode);
+                    result = newNode;
+                }
+                return result;
+            }
+            catch (RamlHeader.InvalidHeaderException e)
+            {
+                // no valid header defined => !supportUses
+                return parseYaml(resourcePath, includeContent);
             }
-
-            return result;
         }
-        catch (IOException e)
+        // scalar value
+        return new StringNodeImpl(includeContent);
+    }
+
+    private Node parseYaml(String resourcePath, String includeContent)
+    {
+        if (parsedResources != null)
         {
-            return new IncludeErrorNode(String.format("Include cannot be resolved: %s. (%s)", resourcePath, e.getMessage()));
+            return parsedResources.parse(resourceLoader, resourcePath, includeContent);
         }
+        return RamlNodeParser.parse(resourceLoader, resourcePath, includeContent);
     }
 
     private boolean isTypedFragment(Node result, RamlFragment fragment)
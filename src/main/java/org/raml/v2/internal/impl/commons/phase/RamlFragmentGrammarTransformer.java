@@ -21,6 +21,7 @@ import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.phase.TransformationPhase;
 import org.raml.v2.internal.framework.phase.Transformer;
 import org.raml.v2.internal.impl.commons.nodes.RamlTypedFragmentNode;
+import org.raml.v2.internal.impl.v10.Raml10Builder;
 import org.raml.v2.internal.impl.v10.grammar.Raml10Grammar;
 import org.raml.v2.internal.impl.v10.phase.LibraryLinkingTransformation;
 
@@ -30,10 +31,20 @@ public class RamlFragmentGrammarTransformer implements Transformer
 {
 
     private ResourceLoader resourceLoader;
+    private Raml10Builder libraryBuilder;
 
     public RamlFragmentGrammarTransformer(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, new Raml10Builder());
+    }
+
+    /**
+     * @param libraryBuilder The builder of the libraries used by the fragments
+     */
+    public RamlFragmentGrammarTransformer(ResourceLoader resourceLoader, Raml10Builder libraryBuilder)
     {
         this.resourceLoader = resourceLoader;
+        this.libraryBuilder = libraryBuilder;
     }
 
     @Override
@@ -48,7 +59,7 @@ public class RamlFragmentGrammarTransformer implements Transformer
         final RamlTypedFragmentNode ramlTypedFragmentNode = (RamlTypedFragmentNode) node;
         final Rule rule = ramlTypedFragmentNode.getFragment().getRule(new Raml10Grammar());
         node = rule.apply(node);
-        final Node apply = applyPhases(node, new TransformationPhase(new LibraryLinkingTransformation(resourceLoader)));
+        final Node apply = applyPhases(node, new TransformationPhase(new LibraryLinkingTransformation(resourceLoader, libraryBuilder)));
         if (apply instanceof RamlTypedFragmentNode)
         {
             // Hack!!!!
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.commons.phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.raml.v2.api.SourceRetention;
+import org.raml.v2.internal.framework.nodes.AbstractRamlNode;
+import org.raml.v2.internal.framework.nodes.DefaultPosition;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.Position;
+import org.raml.v2.internal.framework.phase.Phase;
+import org.raml.v2.internal.impl.commons.nodes.AnnotationReferenceNode;
+import org.raml.v2.internal.impl.commons.nodes.ExternalSchemaTypeExpressionNode;
+import org.raml.v2.internal.impl.v10.nodes.LibraryLinkNode;
+
+/**
+ * Drops the sources of the nodes of a built tree, and of the libraries it links, according to a {@link SourceRetention} policy.
+ * The positions that are kept are copied out of the replaced nodes first, as they usually come from them.
+ */
+public class SourceRetentionPhase implements Phase
+{
+
+    private final SourceRetention retention;
+
+    public SourceRetentionPhase(SourceRetention retention)
+    {
+        this.retention = retention;
+    }
+
+    @Override
+    public Node apply(Node tree)
+    {
+        if (retention == SourceRetention.FULL)
+        {
+            return tree;
+        }
+        final List<Node> nodes = new ArrayList<>();
+        collect(tree, nodes, Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>()));
+        // Positions are captured before dropping any source as a source may still be part of the tree
+        for (Node node : nodes)
+        {
+            if (node instanceof AbstractRamlNode && node.getSource() != null && (retention == SourceRetention.POSITIONS_ONLY || node instanceof ErrorNode))
+            {
+                final AbstractRamlNode ramlNode = (AbstractRamlNode) node;
+                ramlNode.setStartPosition(compact(ramlNode.getStartPosition()));
+                ramlNode.setEndPosition(compact(ramlNode.getEndPosition()));
+            }
+        }
+        for (Node node : nodes)
+        {
+            if (!needsSource(node))
+            {
+                node.setSource(null);
+            }
+        }
+        return tree;
+    }
+
+    private static boolean needsSource(Node node)
+    {
+        // The value of an annotation reference and the fragment and location of an external schema are read from their sources
+        return node instanceof AnnotationReferenceNode || node instanceof ExternalSchemaTypeExpressionNode;
+    }
+
+    private static Position compact(Position position)
+    {
+        if (position instanceof DefaultPosition)
+        {
+            return position;
+        }
+        return new DefaultPosition(position.getIndex(), position.getLine(), position.getColumn(), position.getPath(), position.getResourceLoader());
+    }
+
+    /**
+     * Collects the nodes of the tree and of the libraries it links, visiting a library used in many places once
+     */
+    private static void collect(Node node, List<Node> nodes, Set<Node> libraries)
+    {
+        nodes.add(node);
+        if (node instanceof LibraryLinkNode)
+        {
+            final Node library = ((LibraryLinkNode) node).getRefNode();
+            if (library != null && libraries.add(library))
+            {
+                collect(library, nodes, libraries);
+            }
+        }
+        for (Node child : node.getChildren())
+        {
+            collect(child, nodes, libraries);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.raml.v2.internal.framework.nodes.ObjectNode;
 import org.raml.v2.internal.framework.nodes.ReferenceNode;
 import org.raml.v2.internal.framework.nodes.SimpleTypeNode;
 import org.raml.v2.internal.framework.nodes.StringNodeImpl;
+import org.raml.v2.internal.framework.nodes.snakeyaml.SYLineTable;
 import org.raml.v2.internal.framework.nodes.snakeyaml.SYObjectNode;
 import org.raml.v2.internal.impl.commons.nodes.AnnotationNode;
 import org.raml.v2.internal.impl.commons.nodes.MethodNode;
@@ -212,8 +213,7 @@ public class TckEmitter
         if (node instanceof NullNode)
         {
             node = new SYObjectNode(new MappingNode(Tag.MAP, new ArrayList<NodeTuple>(), null),
-                    node.getStartPosition().getResourceLoader(),
-                    node.getStartPosition().getPath());
+                    new SYLineTable(node.getStartPosition().getPath(), node.getStartPosition().getResourceLoader()));
         }
         else
         {
@@ -21,14 +21,16 @@ import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
 import org.raml.v2.internal.framework.phase.GrammarPhase;
 import org.raml.v2.internal.framework.phase.Phase;
+import org.raml.v2.internal.framework.phase.PhaseGraph;
 import org.raml.v2.internal.framework.phase.TransformationPhase;
 import org.raml.v2.internal.impl.commons.phase.IncludeResolver;
 import org.raml.v2.internal.impl.commons.phase.ResourceTypesTraitsTransformer;
 import org.raml.v2.internal.impl.commons.phase.StringTemplateExpressionTransformer;
 import org.raml.v2.internal.impl.v08.grammar.Raml08Grammar;
+import org.raml.v2.internal.utils.InstrumentationContext;
+import org.raml.v2.internal.utils.PrefetchingResourceLoader;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 
 public class Raml08Builder
@@ -37,25 +39,32 @@ public class Raml08Builder
     public Node build(String stringContent, ResourceLoader resourceLoader, String resourceLocation, int maxPhaseNumber) throws IOException
     {
         Node rootNode = RamlNodeParser.parse(resourceLoader, resourceLocation, stringContent);
-        final List<Phase> phases = createPhases(resourceLoader);
-        for (int i = 0; i < phases.size(); i++)
+        final ResourceLoader phasesLoader = PrefetchingResourceLoader.wrap(resourceLoader);
+        try
         {
-            if (i < maxPhaseNumber)
+            PrefetchingResourceLoader.prefetchReferences(phasesLoader, rootNode);
+            final PhaseGraph phaseGraph = createPhases(phasesLoader);
+            final List<Phase> phases = phaseGraph.getPhases(maxPhaseNumber);
+            final List<String> phaseNames = phaseGraph.getPhaseNames(maxPhaseNumber);
+            for (int i = 0; i < phases.size(); i++)
             {
-                Phase phase = phases.get(i);
-                rootNode = phase.apply(rootNode);
+                rootNode = InstrumentationContext.applyPhase(phaseNames.get(i), phases.get(i), rootNode);
                 List<ErrorNode> errorNodes = rootNode.findDescendantsWith(ErrorNode.class);
                 if (!errorNodes.isEmpty())
                 {
                     return rootNode;
                 }
             }
+            return rootNode;
+        }
+        finally
+        {
+            PrefetchingResourceLoader.clear(phasesLoader);
         }
-        return rootNode;
     }
 
 
-    private List<Phase> createPhases(ResourceLoader resourceLoader)
+    private PhaseGraph createPhases(ResourceLoader resourceLoader)
     {
         // The first phase expands the includes.
         final TransformationPhase first = new TransformationPhase(new IncludeResolver(resourceLoader), new StringTemplateExpressionTransformer());
@@ -72,7 +81,10 @@ public class Raml08Builder
         final TransformationPhase third = new TransformationPhase(new ResourceTypesTraitsTransformer(raml08Grammar));
 
         // Schema Types example validation
-        return Arrays.asList(first, second, third);
+        return new PhaseGraph()
+                               .phase("include", first)
+                               .phase("grammar", second, "include")
+                               .phase("resources", third, "grammar");
 
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.api.loader.VersionedResourceLoader;
+import org.raml.v2.internal.framework.nodes.Node;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Built base documents of extensions and overlays, so that many of them extending the same document parse it once.
+ * <p>
+ * A base is identified by the <code>extends</code> reference and the directory of the extension it is resolved from.
+ * It is reused only while neither its content nor any resource fetched to build it (includes, libraries, its own bases)
+ * change. The resources are checked with the version reported by the loader when it is a {@link VersionedResourceLoader},
+ * so they are not fetched again, and otherwise fetched and compared with a hash of the content they had.
+ * The cached trees are never handed out, every extension is merged into a copy of its base.
+ */
+public class BaseDocumentCache
+{
+
+    private static final HashFunction hashFunction = Hashing.murmur3_128();
+    // stands for the resources that were not found
+    private static final HashCode MISSING = HashCode.fromInt(0);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a copy of the base document built from the specified content, or null if it is not cached
+     * or any of the resources it was built from changed
+     * @param resourceLoader The loader used to check the resources the base was built from
+     */
+    @Nullable
+    public Node get(@Nonnull String resourceLocation, @Nonnull String baseReference, @Nonnull String content, @Nonnull ResourceLoader resourceLoader)
+    {
+        final Entry entry = entries.get(getKey(resourceLocation, baseReference));
+        if (entry == null || !entry.content.equals(content))
+        {
+            return null;
+        }
+        for (Map.Entry<String, Dependency> dependency : entry.dependencies.entrySet())
+        {
+            if (!dependency.getValue().isCurrent(dependency.getKey(), resourceLoader))
+            {
+                return null;
+            }
+        }
+        return entry.document.copy();
+    }
+
+    /**
+     * Keeps a copy of the specified base document, that must be free of errors
+     * @param recorder The loader the base document was built with
+     */
+    public void put(@Nonnull String resourceLocation, @Nonnull String baseReference, @Nonnull String content, @Nonnull Node document, @Nonnull Recorder recorder)
+    {
+        entries.put(getKey(resourceLocation, baseReference), new Entry(content, document.copy(), recorder.getDependencies()));
+    }
+
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    private static String getKey(String resourceLocation, String baseReference)
+    {
+        final int index = Math.max(resourceLocation.lastIndexOf('/'), resourceLocation.lastIndexOf('\\'));
+        return (index < 0 ? "" : resourceLocation.substring(0, index + 1)) + baseReference;
+    }
+
+    @Nullable
+    private static String getVersion(ResourceLoader resourceLoader, String resourceName)
+    {
+        return resourceLoader instanceof VersionedResourceLoader ? ((VersionedResourceLoader) resourceLoader).getVersion(resourceName) : null;
+    }
+
+    private static HashCode hash(@Nullable InputStream inputStream)
+    {
+        if (inputStream == null)
+        {
+            return MISSING;
+        }
+        try
+        {
+            return hashFunction.hashBytes(IOUtils.toByteArray(inputStream));
+        }
+        catch (IOException e)
+        {
+            return MISSING;
+        }
+        finally
+        {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    /**
+     * Records the resources fetched while building a base document, with a hash of their content and their version
+     */
+    public static class Recorder implements VersionedResourceLoader
+    {
+
+        private final ResourceLoader delegate;
+        private final Map<String, Dependency> dependencies = new HashMap<>();
+
+        public Recorder(ResourceLoader delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            // taken before fetching, so a change in between is noticed on the next revalidation
+            final String version = BaseDocumentCache.getVersion(delegate, resourceName);
+            final InputStream inputStream = delegate.fetchResource(resourceName);
+            if (inputStream == null)
+            {
+                record(resourceName, new Dependency(MISSING, version));
+                return null;
+            }
+            try
+            {
+                final byte[] content = IOUtils.toByteArray(inputStream);
+                record(resourceName, new Dependency(hashFunction.hashBytes(content), version));
+                return new ByteArrayInputStream(content);
+            }
+            catch (IOException e)
+            {
+                record(resourceName, new Dependency(MISSING, null));
+                return null;
+            }
+            finally
+            {
+                IOUtils.closeQuietly(inputStream);
+            }
+        }
+
+        @Override
+        public String getVersion(String resourceName)
+        {
+            return BaseDocumentCache.getVersion(delegate, resourceName);
+        }
+
+        private synchronized void record(String resourceName, Dependency dependency)
+        {
+            dependencies.put(resourceName, dependency);
+        }
+
+        private synchronized Map<String, Dependency> getDependencies()
+        {
+            return new HashMap<>(dependencies);
+        }
+    }
+
+    private static class Dependency
+    {
+
+        private final HashCode hash;
+        @Nullable
+        private final String version;
+
+        private Dependency(HashCode hash, @Nullable String version)
+        {
+            this.hash = hash;
+            this.version = version;
+        }
+
+        /**
+         * Returns true if the resource did not change, comparing its versions if the loader can tell them
+         */
+        private boolean isCurrent(String resourceName, ResourceLoader resourceLoader)
+        {
+            if (version != null)
+            {
+                final String currentVersion = BaseDocumentCache.getVersion(resourceLoader, resourceName);
+                if (currentVersion != null)
+                {
+                    return version.equals(currentVersion);
+                }
+            }
+            return hash.equals(hash(resourceLoader.fetchResource(resourceName)));
+        }
+    }
+
+    private static class Entry
+    {
+
+        private final String content;
+        private final Node document;
+        private final Map<String, Dependency> dependencies;
+
+        private Entry(String content, Node document, Map<String, Dependency> dependencies)
+        {
+            this.content = content;
+            this.document = document;
+            this.dependencies = dependencies;
+        }
+    }
+}
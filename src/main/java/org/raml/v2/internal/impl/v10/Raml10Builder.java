@@ -22,20 +22,32 @@ import static org.raml.v2.internal.impl.v10.RamlFragment.Overlay;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.ValidationLevel;
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
 import org.raml.v2.internal.framework.nodes.ErrorNode;
 import org.raml.v2.internal.framework.nodes.Node;
 import org.raml.v2.internal.framework.nodes.StringNode;
+import org.raml.v2.internal.framework.nodes.snakeyaml.ParsedResourceCache;
 import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
 import org.raml.v2.internal.framework.phase.GrammarPhase;
 import org.raml.v2.internal.framework.phase.Phase;
+import org.raml.v2.internal.framework.phase.PhaseGraph;
 import org.raml.v2.internal.framework.phase.TransformationPhase;
 import org.raml.v2.internal.impl.RamlBuilder;
 import org.raml.v2.internal.impl.commons.RamlHeader;
+import org.raml.v2.internal.impl.commons.RamlVersion;
+import org.raml.v2.internal.impl.commons.nodes.RamlDocumentNode;
 import org.raml.v2.internal.impl.commons.phase.ExtensionsMerger;
 import org.raml.v2.internal.impl.commons.phase.IncludeResolver;
 import org.raml.v2.internal.impl.commons.phase.RamlFragmentGrammarTransformer;
@@ -44,19 +56,95 @@ import org.raml.v2.internal.impl.commons.phase.ResourceTypesTraitsTransformer;
 import org.raml.v2.internal.impl.commons.phase.SchemaValidationTransformer;
 import org.raml.v2.internal.impl.commons.phase.StringTemplateExpressionTransformer;
 import org.raml.v2.internal.impl.v10.grammar.Raml10Grammar;
-import org.raml.v2.internal.impl.v10.phase.AnnotationValidationPhase;
+import org.raml.v2.internal.impl.v10.phase.AnnotationValidationTransformer;
 import org.raml.v2.internal.impl.v10.phase.ExampleValidationPhase;
 import org.raml.v2.internal.impl.v10.phase.LibraryLinkingTransformation;
-import org.raml.v2.internal.impl.v10.phase.MediaTypeInjectionPhase;
+import org.raml.v2.internal.impl.v10.phase.MediaTypeInjectionTransformer;
+import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
+import org.raml.v2.internal.utils.InstrumentationContext;
+import org.raml.v2.internal.utils.PrefetchingResourceLoader;
 import org.raml.v2.internal.utils.StreamUtils;
 import org.raml.v2.internal.utils.TreeDumper;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
 public class Raml10Builder
 {
 
+    private static final Set<String> REFERENCE_VALIDATION_PHASES = Collections.singleton("referenceCheck");
+    private static final Set<String> CONTENT_VALIDATION_PHASES = new HashSet<>(Arrays.asList("annotationValidation", "schemaValidation", "exampleValidation"));
+
+    private final ValidationLevel validationLevel;
+
+    @Nullable
+    private final BaseDocumentCache baseDocumentCache;
+
+    private int patternStepBudget = TypeToRuleVisitor.DEFAULT_PATTERN_STEP_BUDGET;
+
+    @Nullable
+    private ExecutorService exampleValidationExecutor;
+
+    @Nullable
+    private ParsedResourceCache parsedResources;
+
+    public Raml10Builder()
+    {
+        this(ValidationLevel.FULL);
+    }
+
+    public Raml10Builder(ValidationLevel validationLevel)
+    {
+        this(validationLevel, null);
+    }
+
+    /**
+     * @param validationLevel The validations to perform
+     * @param baseDocumentCache The cache of the base documents of extensions and overlays or null to build them every time
+     */
+    public Raml10Builder(ValidationLevel validationLevel, @Nullable BaseDocumentCache baseDocumentCache)
+    {
+        this.validationLevel = validationLevel;
+        this.baseDocumentCache = baseDocumentCache;
+    }
+
+    /**
+     * Sets the maximum number of steps per match of the <code>pattern</code> facets, used by the libraries and base documents too
+     * @param patternStepBudget The limit or zero for no limit, {@link TypeToRuleVisitor#PATTERN_STEP_BUDGET} by default
+     * @return this builder
+     */
+    public Raml10Builder setPatternStepBudget(int patternStepBudget)
+    {
+        this.patternStepBudget = patternStepBudget;
+        return this;
+    }
+
+    /**
+     * Sets the executor the examples are validated on concurrently, used by the libraries and base documents too
+     * @param exampleValidationExecutor The executor or null to use the {@link ExampleValidationPhase#PARALLELISM} setting
+     * @return this builder
+     */
+    public Raml10Builder setExampleValidationExecutor(@Nullable ExecutorService exampleValidationExecutor)
+    {
+        this.exampleValidationExecutor = exampleValidationExecutor;
+        return this;
+    }
+
+    /**
+     * Sets the trees parsed by previous builds to reuse for the documents, includes and libraries that did not change,
+     * used by the libraries and base documents too
+     * @param parsedResources The cache or null to parse every resource
+     * @return this builder
+     */
+    public Raml10Builder setParsedResourceCache(@Nullable ParsedResourceCache parsedResources)
+    {
+        this.parsedResources = parsedResources;
+        return this;
+    }
+
     public Node build(String stringContent, RamlFragment fragment, ResourceLoader resourceLoader, String resourceLocation, int maxPhaseNumber) throws IOException
     {
-        Node rootNode = RamlNodeParser.parse(resourceLoader, resourceLocation, stringContent);
+        Node rootNode = parse(resourceLoader, resourceLocation, stringContent);
         if (rootNode == null)
         {
             return ErrorNodeFactory.createEmptyDocument();
@@ -67,61 +155,233 @@ public class Raml10Builder
             applyExtension = true;
             maxPhaseNumber = GRAMMAR_PHASE;
         }
-        final List<Phase> phases = createPhases(resourceLoader, fragment);
-        rootNode = runPhases(rootNode, phases, maxPhaseNumber);
-        if (applyExtension && rootNode.findDescendantsWith(ErrorNode.class).isEmpty())
+        // libraries are built with the loader of the document using them, so only the outermost build prefetches
+        final ResourceLoader phasesLoader = PrefetchingResourceLoader.wrap(resourceLoader);
+        try
         {
-            rootNode = applyExtension(rootNode, resourceLoader, resourceLocation, fragment);
+            PrefetchingResourceLoader.prefetchReferences(phasesLoader, rootNode);
+            final PhaseGraph phaseGraph = createPhases(phasesLoader, fragment);
+            rootNode = runPhases(rootNode, phaseGraph, maxPhaseNumber);
+            if (applyExtension && rootNode.findDescendantsWith(ErrorNode.class).isEmpty())
+            {
+                return applyExtension(rootNode, phasesLoader, resourceLocation, fragment);
+            }
+            setFragment(rootNode, fragment);
+            return rootNode;
+        }
+        finally
+        {
+            PrefetchingResourceLoader.clear(phasesLoader);
         }
-        return rootNode;
     }
 
-    private Node runPhases(Node rootNode, List<Phase> phases, int maxPhaseNumber)
+    /**
+     * Runs on an already built document the validation phases that were skipped because of the validation level,
+     * as declared for the fragment the document was built as. Extensions and overlays are built as the root document they extend.
+     * @param rootNode The document built by this builder
+     * @param resourceLoader The resource loader used to build it
+     * @return The root node, with error nodes if the validation failed
+     */
+    public Node validateSkippedPhases(Node rootNode, ResourceLoader resourceLoader)
     {
-        for (int i = 0; i < phases.size(); i++)
+        final RamlFragment fragment = rootNode instanceof RamlDocumentNode ? ((RamlDocumentNode) rootNode).getFragment() : null;
+        final PhaseGraph phaseGraph = createPhases(resourceLoader, fragment != null ? fragment : RamlFragment.Default);
+        return runPhases(rootNode, phaseGraph, Integer.MAX_VALUE, Predicates.not(isSelectedPhase()));
+    }
+
+    private Predicate<String> isSelectedPhase()
+    {
+        return new Predicate<String>()
         {
-            if (i < maxPhaseNumber)
+            @Override
+            public boolean apply(String phaseName)
             {
-                Phase phase = phases.get(i);
-                rootNode = phase.apply(rootNode);
-                String dump = new TreeDumper().dump(rootNode);
-                checkDumpPhases(i, phase, dump);
-                List<ErrorNode> errorNodes = rootNode.findDescendantsWith(ErrorNode.class);
-                if (!errorNodes.isEmpty())
+                switch (validationLevel)
                 {
-                    break;
+                case STRUCTURE_ONLY:
+                    return !REFERENCE_VALIDATION_PHASES.contains(phaseName) && !CONTENT_VALIDATION_PHASES.contains(phaseName);
+                case REFERENCES:
+                    return !CONTENT_VALIDATION_PHASES.contains(phaseName);
+                default:
+                    return true;
                 }
             }
+        };
+    }
+
+    private Node runPhases(Node rootNode, PhaseGraph phaseGraph, int maxPhaseNumber)
+    {
+        return runPhases(rootNode, phaseGraph, maxPhaseNumber, isSelectedPhase());
+    }
+
+    private Node runPhases(Node rootNode, PhaseGraph phaseGraph, int maxPhaseNumber, Predicate<String> selected)
+    {
+        final List<Phase> phases = phaseGraph.getPhases(maxPhaseNumber, selected);
+        final List<String> phaseNames = phaseGraph.getPhaseNames(maxPhaseNumber, selected);
+        for (int i = 0; i < phases.size(); i++)
+        {
+            Phase phase = phases.get(i);
+            rootNode = InstrumentationContext.applyPhase(phaseNames.get(i), phase, rootNode);
+            checkDumpPhases(i, phase, rootNode);
+            List<ErrorNode> errorNodes = rootNode.findDescendantsWith(ErrorNode.class);
+            if (!errorNodes.isEmpty())
+            {
+                break;
+            }
         }
         return rootNode;
     }
 
-    private void checkDumpPhases(int i, Phase phase, String dump)
+    private void checkDumpPhases(int i, Phase phase, Node rootNode)
     {
         if (Boolean.getBoolean("dump.phases"))
         {
             System.out.println("===============================================================");
             System.out.println("After phase = " + i + " --- " + phase.getClass());
             System.out.println("---------------------------------------------------------------");
-            System.out.println(dump);
+            System.out.println(new TreeDumper().dump(rootNode));
             System.out.println("---------------------------------------------------------------");
         }
     }
 
+    /**
+     * Merges an extension or overlay into its base document. When the base is itself an extension or overlay,
+     * the whole chain is merged layer by layer into the root document and the phases run once on the result.
+     */
     private Node applyExtension(Node extensionNode, ResourceLoader resourceLoader, String resourceLocation, RamlFragment fragment) throws IOException
     {
-        StringNode baseRef = (StringNode) extensionNode.get("extends");
-        InputStream baseStream = resourceLoader.fetchResource(baseRef.getValue());
-        String baseContent = StreamUtils.toString(baseStream);
-        Node baseNode = new RamlBuilder().build(baseContent, resourceLoader, resourceLocation);
+        // Extensions and overlays down to the root document, the one nearest to the root last
+        final List<Node> layers = new ArrayList<>();
+        final List<RamlFragment> layerFragments = new ArrayList<>();
+        final Set<String> baseReferences = new HashSet<>();
+        Node layer = extensionNode;
+        RamlFragment layerFragment = fragment;
+        while (true)
+        {
+            layers.add(layer);
+            layerFragments.add(layerFragment);
+            final String baseReference = ((StringNode) layer.get("extends")).getValue();
+            if (!baseReferences.add(baseReference))
+            {
+                return ErrorNodeFactory.createCyclicExtension(baseReference);
+            }
+            final String baseContent;
+            try (InputStream baseStream = resourceLoader.fetchResource(baseReference))
+            {
+                if (baseStream == null)
+                {
+                    return ErrorNodeFactory.createBaseDocumentNotFound(baseReference);
+                }
+                baseContent = StreamUtils.toString(baseStream);
+            }
+            final RamlFragment baseFragment = getExtensionFragment(baseContent);
+            if (baseFragment == null)
+            {
+                Node baseNode = buildBase(baseReference, baseContent, resourceLoader, resourceLocation);
+                if (baseNode.findDescendantsWith(ErrorNode.class).isEmpty())
+                {
+                    for (int i = layers.size() - 1; i >= 0; i--)
+                    {
+                        new ExtensionsMerger(layerFragments.get(i) == Overlay).merge(baseNode, layers.get(i));
+                    }
+                    final RamlFragment rootFragment = getFragment(baseContent);
+                    baseNode = runPhases(baseNode, createPhases(resourceLoader, rootFragment), Integer.MAX_VALUE);
+                    // the merged document is built as the root document it extends
+                    setFragment(baseNode, rootFragment);
+                }
+                return baseNode;
+            }
+            layer = parse(resourceLoader, resourceLocation, baseContent);
+            if (layer == null)
+            {
+                return ErrorNodeFactory.createEmptyDocument();
+            }
+            layer = runPhases(layer, createPhases(resourceLoader, baseFragment), GRAMMAR_PHASE);
+            if (!layer.findDescendantsWith(ErrorNode.class).isEmpty())
+            {
+                return layer;
+            }
+            layerFragment = baseFragment;
+        }
+    }
+
+    private Node buildBase(String baseReference, String baseContent, ResourceLoader resourceLoader, String resourceLocation)
+    {
+        if (baseDocumentCache != null)
+        {
+            final Node cached = baseDocumentCache.get(resourceLocation, baseReference, baseContent, resourceLoader);
+            if (cached != null)
+            {
+                return cached;
+            }
+            final BaseDocumentCache.Recorder recorder = new BaseDocumentCache.Recorder(resourceLoader);
+            final Node baseNode = createBaseBuilder().build(baseContent, recorder, resourceLocation);
+            if (baseNode.findDescendantsWith(ErrorNode.class).isEmpty())
+            {
+                baseDocumentCache.put(resourceLocation, baseReference, baseContent, baseNode, recorder);
+            }
+            return baseNode;
+        }
+        return createBaseBuilder().build(baseContent, resourceLoader, resourceLocation);
+    }
+
+    private RamlBuilder createBaseBuilder()
+    {
+        final RamlBuilder builder = new RamlBuilder(RamlBuilder.ALL_PHASES, validationLevel);
+        builder.setPatternStepBudget(patternStepBudget);
+        builder.setExampleValidationExecutor(exampleValidationExecutor);
+        builder.setParsedResourceCache(parsedResources);
+        return builder;
+    }
+
+    /**
+     * Returns a builder for the libraries used by the documents of this builder, libraries are always fully validated
+     */
+    private Raml10Builder createLibraryBuilder()
+    {
+        return new Raml10Builder().setPatternStepBudget(patternStepBudget)
+                                  .setExampleValidationExecutor(exampleValidationExecutor)
+                                  .setParsedResourceCache(parsedResources);
+    }
+
+    @Nullable
+    private Node parse(ResourceLoader resourceLoader, String resourceLocation, String content)
+    {
+        if (parsedResources != null)
+        {
+            return parsedResources.parse(resourceLoader, resourceLocation, content);
+        }
+        return RamlNodeParser.parse(resourceLoader, resourceLocation, content);
+    }
+
+    private static void setFragment(Node rootNode, RamlFragment fragment)
+    {
+        if (rootNode instanceof RamlDocumentNode)
+        {
+            ((RamlDocumentNode) rootNode).setFragment(fragment);
+        }
+    }
 
-        if (baseNode.findDescendantsWith(ErrorNode.class).isEmpty())
+    /**
+     * Returns the fragment of the specified content if it is a RAML 1.0 extension or overlay, null otherwise
+     */
+    @Nullable
+    private RamlFragment getExtensionFragment(String content)
+    {
+        try
         {
-            new ExtensionsMerger(fragment == Overlay).merge(baseNode, extensionNode);
-            List<Phase> phases = createPhases(resourceLoader, getFragment(baseContent));
-            baseNode = runPhases(baseNode, phases, Integer.MAX_VALUE);
+            final RamlHeader header = RamlHeader.parse(content);
+            if (header.getVersion() == RamlVersion.RAML_10 && (header.getFragment() == Extension || header.getFragment() == Overlay))
+            {
+                return header.getFragment();
+            }
+            return null;
+        }
+        catch (RamlHeader.InvalidHeaderException e)
+        {
+            // reported when building it as a base document
+            return null;
         }
-        return baseNode;
     }
 
     private RamlFragment getFragment(String content)
@@ -137,12 +397,12 @@ public class Raml10Builder
         }
     }
 
-    private List<Phase> createPhases(ResourceLoader resourceLoader, RamlFragment fragment)
+    PhaseGraph createPhases(ResourceLoader resourceLoader, RamlFragment fragment)
     {
         // The first phase expands the includes.
-        final TransformationPhase includePhase = new TransformationPhase(new IncludeResolver(resourceLoader), new StringTemplateExpressionTransformer());
+        final TransformationPhase includePhase = new TransformationPhase(new IncludeResolver(resourceLoader, parsedResources), new StringTemplateExpressionTransformer());
 
-        final TransformationPhase ramlFragmentsValidator = new TransformationPhase(new RamlFragmentGrammarTransformer(resourceLoader));
+        final TransformationPhase ramlFragmentsValidator = new TransformationPhase(new RamlFragmentGrammarTransformer(resourceLoader, createLibraryBuilder()));
 
         // Runs Schema. Applies the Raml rules and changes each node for a more specific. Annotations Library TypeSystem
         final Raml10Grammar raml10Grammar = new Raml10Grammar();
@@ -152,7 +412,7 @@ public class Raml10Builder
 
         // sugar
         // Normalize resources and detects duplicated ones and more than one use of url parameters. ???
-        final TransformationPhase libraryLink = new TransformationPhase(new LibraryLinkingTransformation(resourceLoader));
+        final TransformationPhase libraryLink = new TransformationPhase(new LibraryLinkingTransformation(resourceLoader, createLibraryBuilder()));
 
         final TransformationPhase referenceCheck = new TransformationPhase(new ReferenceResolverTransformer());
 
@@ -161,27 +421,34 @@ public class Raml10Builder
 
         // Run grammar again to re-validate tree
 
-        final AnnotationValidationPhase annotationValidationPhase = new AnnotationValidationPhase(resourceLoader);
+        // independent of each other, so they share a single traversal
+        final TransformationPhase annotationValidationPhase = new TransformationPhase(new AnnotationValidationTransformer(resourceLoader, patternStepBudget));
 
-        final MediaTypeInjectionPhase mediaTypeInjection = new MediaTypeInjectionPhase();
+        final TransformationPhase mediaTypeInjection = new TransformationPhase(new MediaTypeInjectionTransformer());
 
         // Schema Types example validation
 
         final TransformationPhase schemaValidationPhase = new TransformationPhase(new SchemaValidationTransformer(resourceLoader));
 
-        final ExampleValidationPhase exampleValidationPhase = new ExampleValidationPhase(resourceLoader);
-
-        return Arrays.asList(includePhase,
-                ramlFragmentsValidator,
-                grammarPhase,
-                libraryLink,
-                referenceCheck,
-                resourcePhase,
-                annotationValidationPhase,
-                mediaTypeInjection,
-                grammarPhase,
-                schemaValidationPhase,
-                exampleValidationPhase);
+        final ExampleValidationPhase exampleValidationPhase = new ExampleValidationPhase(resourceLoader, exampleValidationExecutor, patternStepBudget);
+
+        // Each phase needs the whole tree to be processed by the phases it depends on,
+        // so the ones in between are fused only if they are declared independent.
+        return new PhaseGraph()
+                               .phase("include", includePhase)
+                               // fragment grammars are applied to the whole included subtree
+                               .phase("fragments", ramlFragmentsValidator, "include")
+                               .phase("grammar", grammarPhase, "fragments")
+                               .phase("libraryLink", libraryLink, "grammar")
+                               // references may point to any library used in the document
+                               .phase("referenceCheck", referenceCheck, "libraryLink")
+                               // resource types and traits are only applied once every reference is valid
+                               .phase("resources", resourcePhase, "referenceCheck")
+                               .phase("annotationValidation", annotationValidationPhase, "resources")
+                               .phase("mediaTypeInjection", mediaTypeInjection, "resources")
+                               .phase("revalidation", grammarPhase, "annotationValidation", "mediaTypeInjection")
+                               .phase("schemaValidation", schemaValidationPhase, "revalidation")
+                               .phase("exampleValidation", exampleValidationPhase, "schemaValidation");
 
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10.phase;
+
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
+import org.raml.v2.internal.framework.grammar.rule.Rule;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.phase.Transformer;
+import org.raml.v2.internal.impl.commons.nodes.AnnotationNode;
+import org.raml.v2.internal.impl.commons.nodes.AnnotationTypeNode;
+import org.raml.v2.internal.impl.v10.rules.DiscriminatorTypeIndex;
+import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
+import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationNode;
+
+/**
+ * Validates the annotation values against their annotation types
+ */
+public class AnnotationValidationTransformer implements Transformer
+{
+
+    private final ResourceLoader resourceLoader;
+    private final int patternStepBudget;
+    private final DiscriminatorTypeIndex discriminatorTypes = new DiscriminatorTypeIndex();
+
+    public AnnotationValidationTransformer(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, TypeToRuleVisitor.DEFAULT_PATTERN_STEP_BUDGET);
+    }
+
+    public AnnotationValidationTransformer(ResourceLoader resourceLoader, int patternStepBudget)
+    {
+        this.resourceLoader = resourceLoader;
+        this.patternStepBudget = patternStepBudget;
+    }
+
+    @Override
+    public boolean matches(Node node)
+    {
+        return node instanceof AnnotationNode;
+    }
+
+    @Override
+    public Node transform(Node node)
+    {
+        final AnnotationNode annotation = (AnnotationNode) node;
+        final AnnotationTypeNode annotationTypeNode = annotation.getAnnotationTypeNode();
+        if (annotationTypeNode == null)
+        {
+            return ErrorNodeFactory.createMissingAnnotationType(annotation.getName());
+        }
+        final TypeDeclarationNode typeNode = annotationTypeNode.getDeclaredType();
+        final Rule annotationRule = typeNode.getResolvedType().visit(new TypeToRuleVisitor(resourceLoader, discriminatorTypes, patternStepBudget));
+        final Node annotationValue = annotation.getValue();
+        annotationValue.replaceWith(annotationRule.apply(annotationValue));
+        return annotation;
+    }
+}
@@ -16,6 +16,7 @@
 package org.raml.v2.internal.impl.v10.phase;
 
 import org.apache.ws.commons.schema.XmlSchema;
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
 import org.raml.v2.internal.framework.grammar.rule.Rule;
@@ -28,13 +29,17 @@ import org.raml.v2.internal.impl.commons.nodes.ExampleDeclarationNode;
 import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationNode;
 import org.raml.v2.internal.impl.commons.type.JsonSchemaExternalType;
 import org.raml.v2.internal.impl.commons.type.ResolvedType;
+import org.raml.v2.internal.impl.v10.rules.DiscriminatorTypeIndex;
 import org.raml.v2.internal.impl.v10.type.AnyResolvedType;
 import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
 import org.raml.v2.internal.impl.commons.type.XmlSchemaExternalType;
 import org.raml.v2.internal.impl.v10.type.TypeToSchemaVisitor;
+import org.raml.v2.internal.utils.InstrumentationContext;
 import org.raml.v2.internal.utils.NodeUtils;
 import org.xml.sax.SAXException;
 
+import com.google.common.base.Throwables;
+
 import javax.annotation.Nullable;
 import javax.xml.XMLConstants;
 import javax.xml.transform.stream.StreamSource;
@@ -43,40 +48,184 @@ import javax.xml.validation.Validator;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.raml.v2.internal.utils.ValueUtils.defaultTo;
 
 public class ExampleValidationPhase implements Phase
 {
+    /**
+     * System property with the number of threads of the pool shared by the builders that are not given an executor,
+     * by default their examples are validated sequentially
+     */
+    public static final String PARALLELISM = "raml.parser.examples.parallelism";
+
+    private static final int DEFAULT_PARALLELISM = Integer.getInteger(PARALLELISM, 0);
+
+    private static ExecutorService defaultExecutor;
+
     private ResourceLoader resourceLoader;
 
+    @Nullable
+    private ExecutorService executor;
+
+    private int patternStepBudget;
+
+    private DiscriminatorTypeIndex discriminatorTypes = new DiscriminatorTypeIndex();
+
     public ExampleValidationPhase(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, null);
+    }
+
+    /**
+     * @param resourceLoader The resource loader
+     * @param executor The executor used to validate the examples concurrently or null to use the {@link #PARALLELISM} setting
+     */
+    public ExampleValidationPhase(ResourceLoader resourceLoader, @Nullable ExecutorService executor)
+    {
+        this(resourceLoader, executor, TypeToRuleVisitor.DEFAULT_PATTERN_STEP_BUDGET);
+    }
+
+    /**
+     * @param resourceLoader The resource loader
+     * @param executor The executor used to validate the examples concurrently or null to use the {@link #PARALLELISM} setting
+     * @param patternStepBudget The maximum number of steps per match of the <code>pattern</code> facets or zero for no limit
+     */
+    public ExampleValidationPhase(ResourceLoader resourceLoader, @Nullable ExecutorService executor, int patternStepBudget)
     {
         this.resourceLoader = resourceLoader;
+        this.executor = executor;
+        this.patternStepBudget = patternStepBudget;
     }
 
     @Override
     public Node apply(Node tree)
     {
+        discriminatorTypes = new DiscriminatorTypeIndex();
         final List<ExampleDeclarationNode> descendantsWith = tree.findDescendantsWith(ExampleDeclarationNode.class);
+        final ExecutorService executor = this.executor != null ? this.executor : getDefaultExecutor();
+        if (executor != null && descendantsWith.size() > 1)
+        {
+            validateConcurrently(tree, descendantsWith, executor);
+            return tree;
+        }
         for (ExampleDeclarationNode exampleTypeNode : descendantsWith)
         {
-            if (!exampleTypeNode.isStrict())
+            validateExample(exampleTypeNode);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the pool shared by the phases without an executor of their own, or null if the {@link #PARALLELISM} setting is not set
+     */
+    @Nullable
+    private static synchronized ExecutorService getDefaultExecutor()
+    {
+        if (defaultExecutor == null && DEFAULT_PARALLELISM > 1)
+        {
+            // its threads are daemons and stop when idle
+            defaultExecutor = new ForkJoinPool(DEFAULT_PARALLELISM);
+        }
+        return defaultExecutor;
+    }
+
+    private void validateExample(ExampleDeclarationNode exampleTypeNode)
+    {
+        if (!exampleTypeNode.isStrict())
+        {
+            final TypeDeclarationNode type = NodeUtils.getAncestor(exampleTypeNode, TypeDeclarationNode.class);
+            final Node exampleValue = exampleTypeNode.getExampleValue();
+            if (type != null)
+            {
+                final Node validate = validate(type, exampleValue);
+                if (validate != null)
+                {
+                    exampleValue.replaceWith(validate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates copies of the examples concurrently, so the tree is only read while they run.
+     * Then the examples whose validation changes the tree are validated again, in document order,
+     * on the actual nodes. The result is the same as validating them sequentially.
+     */
+    private void validateConcurrently(Node tree, List<ExampleDeclarationNode> examples, ExecutorService executor)
+    {
+        // Types are resolved lazily, resolve them up front so no tree state is initialized concurrently
+        for (TypeDeclarationNode typeDeclarationNode : tree.findDescendantsWith(TypeDeclarationNode.class))
+        {
+            typeDeclarationNode.getResolvedType();
+        }
+
+        final BuildInstrumentation instrumentation = InstrumentationContext.get();
+        final List<Future<Boolean>> outcomes = new ArrayList<>(examples.size());
+        for (ExampleDeclarationNode exampleTypeNode : examples)
+        {
+            final TypeDeclarationNode type = NodeUtils.getAncestor(exampleTypeNode, TypeDeclarationNode.class);
+            final Node exampleValue = exampleTypeNode.getExampleValue();
+            if (exampleTypeNode.isStrict() || type == null || exampleValue == null)
             {
-                final TypeDeclarationNode type = NodeUtils.getAncestor(exampleTypeNode, TypeDeclarationNode.class);
-                final Node exampleValue = exampleTypeNode.getExampleValue();
-                if (type != null)
+                outcomes.add(null);
+            }
+            else
+            {
+                outcomes.add(executor.submit(new Callable<Boolean>()
                 {
-                    final Node validate = validate(type, exampleValue);
-                    if (validate != null)
+                    @Override
+                    public Boolean call() throws Exception
                     {
-                        exampleValue.replaceWith(validate);
+                        final BuildInstrumentation previous = InstrumentationContext.set(instrumentation);
+                        try
+                        {
+                            final Node value = exampleValue.copy();
+                            final Node validate = validate(type, value);
+                            return validate != null && (validate != value || !validate.findDescendantsWith(ErrorNode.class).isEmpty());
+                        }
+                        finally
+                        {
+                            InstrumentationContext.restore(previous);
+                        }
                     }
-                }
+                }));
             }
         }
-        return tree;
+
+        for (int i = 0; i < examples.size(); i++)
+        {
+            final Future<Boolean> outcome = outcomes.get(i);
+            if (outcome != null && getOutcome(outcome))
+            {
+                validateExample(examples.get(i));
+            }
+        }
+    }
+
+    private boolean getOutcome(Future<Boolean> outcome)
+    {
+        try
+        {
+            return outcome.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     @Nullable
@@ -100,13 +249,13 @@ public class ExampleValidationPhase implements Phase
             }
             else
             {
-                final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader));
+                final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader, discriminatorTypes, patternStepBudget));
                 return rule.apply(exampleValue);
             }
         }
         else if (exampleValue != null)
         {
-            final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader));
+            final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader, discriminatorTypes, patternStepBudget));
             return rule.apply(exampleValue);
         }
         else
@@ -118,7 +267,7 @@ public class ExampleValidationPhase implements Phase
 
     protected Node validateJson(Node exampleValue, ResolvedType resolvedType, String value)
     {
-        final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader));
+        final Rule rule = resolvedType.visit(new TypeToRuleVisitor(resourceLoader, discriminatorTypes, patternStepBudget));
         final Node parse = RamlNodeParser.parse(resourceLoader, "", value);
         final Node apply = rule.apply(parse);
         final List<ErrorNode> errorNodeList = apply.findDescendantsWith(ErrorNode.class);
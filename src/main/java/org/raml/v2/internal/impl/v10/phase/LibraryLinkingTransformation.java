@@ -33,10 +33,20 @@ public class LibraryLinkingTransformation implements Transformer
 {
 
     private ResourceLoader resourceLoader;
+    private Raml10Builder libraryBuilder;
 
     public LibraryLinkingTransformation(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, new Raml10Builder());
+    }
+
+    /**
+     * @param libraryBuilder The builder of the linked libraries
+     */
+    public LibraryLinkingTransformation(ResourceLoader resourceLoader, Raml10Builder libraryBuilder)
     {
         this.resourceLoader = resourceLoader;
+        this.libraryBuilder = libraryBuilder;
     }
 
     @Override
@@ -61,7 +71,7 @@ public class LibraryLinkingTransformation implements Transformer
                     return new IncludeErrorNode("Library cannot be resolved: " + absoluteLocation);
                 }
                 final String content = StreamUtils.toString(inputStream);
-                final Node libraryReference = new Raml10Builder().build(content, RamlFragment.Library, resourceLoader, absoluteLocation, RamlBuilder.ALL_PHASES);
+                final Node libraryReference = libraryBuilder.build(content, RamlFragment.Library, resourceLoader, absoluteLocation, RamlBuilder.ALL_PHASES);
                 linkNode.setLibraryReference(libraryReference);
             }
         }
@@ -32,28 +32,37 @@ import org.raml.v2.internal.framework.nodes.NodeType;
 import org.raml.v2.internal.framework.nodes.ObjectNode;
 import org.raml.v2.internal.framework.nodes.Position;
 import org.raml.v2.internal.framework.nodes.StringNode;
-import org.raml.v2.internal.framework.phase.Phase;
+import org.raml.v2.internal.framework.phase.Transformer;
 import org.raml.v2.internal.utils.NodeSelector;
 
-public class MediaTypeInjectionPhase implements Phase
+/**
+ * Injects the default media types of the api in the bodies that do not declare any
+ */
+public class MediaTypeInjectionTransformer implements Transformer
 {
 
+    private List<StringNode> defaultMediaTypes;
+
     @Override
-    public Node apply(Node tree)
+    public boolean matches(Node node)
     {
-        List<StringNode> defaultMediaTypes = getDefaultMediaTypes(tree);
-        if (!defaultMediaTypes.isEmpty())
+        return node instanceof BodyNode;
+    }
+
+    @Override
+    public Node transform(Node node)
+    {
+        if (defaultMediaTypes == null)
         {
-            List<BodyNode> bodyNodes = tree.findDescendantsWith(BodyNode.class);
-            for (BodyNode bodyNode : bodyNodes)
-            {
-                if (!hasExplicitMimeTypes(bodyNode))
-                {
-                    injectMediaTypes(bodyNode, defaultMediaTypes);
-                }
-            }
+            // the transformer is used for a single tree
+            defaultMediaTypes = getDefaultMediaTypes(node.getRootNode());
         }
-        return tree;
+        final BodyNode bodyNode = (BodyNode) node;
+        if (!defaultMediaTypes.isEmpty() && !hasExplicitMimeTypes(bodyNode))
+        {
+            injectMediaTypes(bodyNode, defaultMediaTypes);
+        }
+        return bodyNode;
     }
 
     private List<StringNode> getDefaultMediaTypes(Node tree)
@@ -79,14 +88,16 @@ public class MediaTypeInjectionPhase implements Phase
 
     private void injectMediaTypes(BodyNode bodyNode, List<StringNode> defaultMediaTypes)
     {
+        final Node body = bodyNode.getValue();
         Node injected = new MediaTypeInjectedNode();
-        for (StringNode defaultMediaType : defaultMediaTypes)
+        bodyNode.setValue(injected);
+        for (int i = 0; i < defaultMediaTypes.size(); i++)
         {
-            Node copy = bodyNode.getValue().copy();
-            KeyValueNode keyValue = new KeyValueNodeImpl(defaultMediaType.copy(), copy);
+            // the last media type takes the original body, only the others need a copy of it
+            Node value = i == defaultMediaTypes.size() - 1 ? body : body.copy();
+            KeyValueNode keyValue = new KeyValueNodeImpl(defaultMediaTypes.get(i).copy(), value);
             injected.addChild(keyValue);
         }
-        bodyNode.setValue(injected);
     }
 
     private boolean hasExplicitMimeTypes(BodyNode bodyNode)
@@ -23,12 +23,10 @@ import org.raml.v2.internal.framework.suggester.RamlParsingContext;
 import org.raml.v2.internal.framework.suggester.Suggestion;
 import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationField;
 import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationNode;
-import org.raml.v2.internal.impl.v10.nodes.LibraryLinkNode;
 import org.raml.v2.internal.impl.v10.type.TypeToRuleVisitor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -40,11 +38,18 @@ public class DiscriminatorBasedRule extends Rule
     private Node rootElement;
     private String discriminatorProperty;
     private Map<String, Rule> typeRulesCache;
+    private DiscriminatorTypeIndex discriminatorTypes;
 
 
     public DiscriminatorBasedRule(TypeToRuleVisitor typeToRuleVisitor, Node rootElement, String discriminatorProperty)
+    {
+        this(typeToRuleVisitor, rootElement, discriminatorProperty, new DiscriminatorTypeIndex());
+    }
+
+    public DiscriminatorBasedRule(TypeToRuleVisitor typeToRuleVisitor, Node rootElement, String discriminatorProperty, DiscriminatorTypeIndex discriminatorTypes)
     {
         this.typeToRuleVisitor = typeToRuleVisitor;
+        this.discriminatorTypes = discriminatorTypes;
         this.rootElement = rootElement;
         this.discriminatorProperty = discriminatorProperty;
         this.typeRulesCache = new HashMap<>();
@@ -103,48 +108,13 @@ public class DiscriminatorBasedRule extends Rule
     @Nullable
     protected TypeDeclarationNode findTypeDeclaration(String literalValue)
     {
-        final List<TypeDeclarationField> descendantsWith = findTypeDeclarationField(rootElement);
-        for (TypeDeclarationField typeDeclarationField : descendantsWith)
-        {
-            final Node typeDeclaration = typeDeclarationField.getValue();
-            final Node discriminatorValue = typeDeclaration.get("discriminatorValue");
-            String typeIdentifier;
-            if (discriminatorValue instanceof SimpleTypeNode)
-            {
-                typeIdentifier = ((SimpleTypeNode) discriminatorValue).getLiteralValue();
-            }
-            else
-            {
-                typeIdentifier = ((SimpleTypeNode) typeDeclarationField.getKey()).getLiteralValue();
-            }
-
-            if (literalValue.equals(typeIdentifier))
-            {
-                return (TypeDeclarationNode) typeDeclaration;
-            }
-        }
-        return null;
+        return discriminatorTypes.find(rootElement, literalValue);
     }
 
     @Nonnull
     public List<TypeDeclarationField> findTypeDeclarationField(Node node)
     {
-        final List<TypeDeclarationField> result = new ArrayList<>();
-        final List<Node> children = node.getChildren();
-        for (Node child : children)
-        {
-            if (child instanceof TypeDeclarationField)
-            {
-                result.add((TypeDeclarationField) child);
-            }
-            else if (child instanceof LibraryLinkNode)
-            {
-                // Should search across libraries
-                result.addAll(findTypeDeclarationField(((LibraryLinkNode) child).getRefNode()));
-            }
-            result.addAll(findTypeDeclarationField(child));
-        }
-        return result;
+        return DiscriminatorTypeIndex.collectFields(node);
     }
 
     @Override
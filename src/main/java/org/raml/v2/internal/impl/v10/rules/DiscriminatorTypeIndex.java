@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.SimpleTypeNode;
+import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationField;
+import org.raml.v2.internal.impl.commons.nodes.TypeDeclarationNode;
+import org.raml.v2.internal.impl.v10.nodes.LibraryLinkNode;
+
+/**
+ * Type declarations of a tree by the value that selects them in a discriminator, that is their <code>discriminatorValue</code>
+ * or else their name. The declarations of a root node are collected the first time it is looked up, so resolving the
+ * discriminator of many values does not walk the whole tree for each one of them.
+ * The index does not follow later changes of the tree, it should not be shared across phases.
+ */
+public class DiscriminatorTypeIndex
+{
+
+    private final Map<Node, Map<String, TypeDeclarationNode>> declarationsByRoot = Collections.synchronizedMap(new IdentityHashMap<Node, Map<String, TypeDeclarationNode>>());
+
+    /**
+     * Returns the first declaration, in document order, selected by the specified discriminator value
+     */
+    @Nullable
+    public TypeDeclarationNode find(@Nonnull Node rootElement, @Nonnull String discriminatorValue)
+    {
+        Map<String, TypeDeclarationNode> declarations = declarationsByRoot.get(rootElement);
+        if (declarations == null)
+        {
+            declarations = collect(rootElement);
+            declarationsByRoot.put(rootElement, declarations);
+        }
+        return declarations.get(discriminatorValue);
+    }
+
+    private static Map<String, TypeDeclarationNode> collect(Node rootElement)
+    {
+        final Map<String, TypeDeclarationNode> declarations = new HashMap<>();
+        for (TypeDeclarationField typeDeclarationField : collectFields(rootElement))
+        {
+            final Node typeDeclaration = typeDeclarationField.getValue();
+            final Node discriminatorValue = typeDeclaration.get("discriminatorValue");
+            final Node typeIdentifier = discriminatorValue instanceof SimpleTypeNode ? discriminatorValue : typeDeclarationField.getKey();
+            if (typeDeclaration instanceof TypeDeclarationNode && typeIdentifier instanceof SimpleTypeNode)
+            {
+                final String literalValue = ((SimpleTypeNode) typeIdentifier).getLiteralValue();
+                if (!declarations.containsKey(literalValue))
+                {
+                    declarations.put(literalValue, (TypeDeclarationNode) typeDeclaration);
+                }
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Returns the type declaration fields of the specified tree and of the libraries it links to, in document order
+     */
+    @Nonnull
+    static List<TypeDeclarationField> collectFields(Node node)
+    {
+        final List<TypeDeclarationField> result = new ArrayList<>();
+        for (Node child : node.getChildren())
+        {
+            if (child instanceof TypeDeclarationField)
+            {
+                result.add((TypeDeclarationField) child);
+            }
+            else if (child instanceof LibraryLinkNode)
+            {
+                // Should search across libraries
+                result.addAll(collectFields(((LibraryLinkNode) child).getRefNode()));
+            }
+            result.addAll(collectFields(child));
+        }
+        return result;
+    }
+}
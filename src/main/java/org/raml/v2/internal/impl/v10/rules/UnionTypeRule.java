@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10.rules;
+
+import org.raml.v2.internal.framework.grammar.rule.AnyOfRule;
+import org.raml.v2.internal.framework.grammar.rule.ErrorNodeFactory;
+import org.raml.v2.internal.framework.grammar.rule.Rule;
+import org.raml.v2.internal.framework.nodes.ArrayNode;
+import org.raml.v2.internal.framework.nodes.KeyValueNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.ObjectNode;
+import org.raml.v2.internal.framework.nodes.StringNode;
+import org.raml.v2.internal.impl.commons.type.ResolvedType;
+import org.raml.v2.internal.impl.v10.type.ArrayResolvedType;
+import org.raml.v2.internal.impl.v10.type.BooleanResolvedType;
+import org.raml.v2.internal.impl.v10.type.DateOnlyResolvedType;
+import org.raml.v2.internal.impl.v10.type.DateTimeOnlyResolvedType;
+import org.raml.v2.internal.impl.v10.type.DateTimeResolvedType;
+import org.raml.v2.internal.impl.v10.type.NullResolvedType;
+import org.raml.v2.internal.impl.v10.type.NumberResolvedType;
+import org.raml.v2.internal.impl.v10.type.ObjectResolvedType;
+import org.raml.v2.internal.impl.v10.type.PropertyFacets;
+import org.raml.v2.internal.impl.v10.type.StringResolvedType;
+import org.raml.v2.internal.impl.v10.type.TimeOnlyResolvedType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang.StringUtils.isNotEmpty;
+
+/**
+ * Validates a value against the members of a union type.
+ * Each member is tried in declaration order, but members that can not possibly match the node (wrong node kind or
+ * missing required keys) are discarded before running their rules, and the member that matches is applied without
+ * being evaluated a second time.
+ */
+public class UnionTypeRule extends AnyOfRule
+{
+    private final List<Member> members;
+
+    public UnionTypeRule(@Nonnull List<ResolvedType> types, @Nonnull List<Rule> rules)
+    {
+        super(rules);
+        if (types.size() != rules.size())
+        {
+            throw new IllegalArgumentException("Expected one rule per union member");
+        }
+        this.members = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++)
+        {
+            members.add(new Member(types.get(i), rules.get(i)));
+        }
+    }
+
+    @Override
+    public boolean matches(@Nonnull Node node)
+    {
+        return getMatchingRule(node) != null;
+    }
+
+    @Nullable
+    @Override
+    public Rule getMatchingRule(Node node)
+    {
+        final Set<String> keys = getStringKeys(node);
+        for (Member member : members)
+        {
+            if (member.accepts(node, keys) && member.rule.matches(node))
+            {
+                return member.rule;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Node apply(@Nonnull Node node)
+    {
+        final Node appliedNode = applyIfMatches(node);
+        if (appliedNode != null)
+        {
+            return appliedNode;
+        }
+        return ErrorNodeFactory.createInvalidNode(node);
+    }
+
+    @Nullable
+    @Override
+    public Node applyIfMatches(@Nonnull Node node)
+    {
+        final Set<String> keys = getStringKeys(node);
+        for (Member member : members)
+        {
+            if (member.accepts(node, keys))
+            {
+                final Node appliedNode = member.rule.applyIfMatches(node);
+                if (appliedNode != null)
+                {
+                    return createNodeUsingFactory(appliedNode);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> getStringKeys(Node node)
+    {
+        if (!(node instanceof ObjectNode))
+        {
+            return Collections.emptySet();
+        }
+        final Set<String> keys = new HashSet<>();
+        for (Node child : node.getChildren())
+        {
+            if (child instanceof KeyValueNode && ((KeyValueNode) child).getKey() instanceof StringNode)
+            {
+                keys.add(((StringNode) ((KeyValueNode) child).getKey()).getValue());
+            }
+        }
+        return keys;
+    }
+
+    private enum NodeKind
+    {
+        OBJECT, ARRAY, SCALAR, ANY
+    }
+
+    private static class Member
+    {
+        private final Rule rule;
+        private final NodeKind kind;
+        private final List<String> requiredKeys;
+
+        Member(ResolvedType type, Rule rule)
+        {
+            this.rule = rule;
+            this.kind = kindOf(type);
+            this.requiredKeys = kind == NodeKind.OBJECT ? requiredKeysOf((ObjectResolvedType) type, rule) : Collections.<String> emptyList();
+        }
+
+        boolean accepts(Node node, Set<String> keys)
+        {
+            switch (kind)
+            {
+            case OBJECT:
+                return node instanceof ObjectNode && keys.containsAll(requiredKeys);
+            case ARRAY:
+                return node instanceof ArrayNode;
+            case SCALAR:
+                return !(node instanceof ObjectNode) && !(node instanceof ArrayNode);
+            default:
+                return true;
+            }
+        }
+
+        private static NodeKind kindOf(ResolvedType type)
+        {
+            if (type instanceof ObjectResolvedType)
+            {
+                return NodeKind.OBJECT;
+            }
+            else if (type instanceof ArrayResolvedType)
+            {
+                return NodeKind.ARRAY;
+            }
+            else if (type instanceof StringResolvedType || type instanceof NumberResolvedType || type instanceof BooleanResolvedType || type instanceof NullResolvedType
+                     || type instanceof DateOnlyResolvedType || type instanceof DateTimeOnlyResolvedType || type instanceof DateTimeResolvedType || type instanceof TimeOnlyResolvedType)
+            {
+                return NodeKind.SCALAR;
+            }
+            return NodeKind.ANY;
+        }
+
+        private static List<String> requiredKeysOf(ObjectResolvedType type, Rule rule)
+        {
+            final List<String> result = new ArrayList<>();
+            if (rule instanceof DiscriminatorBasedRule)
+            {
+                // Only the discriminator is checked before dispatching to the concrete type
+                if (isNotEmpty(type.getDiscriminator()))
+                {
+                    result.add(type.getDiscriminator());
+                }
+                return result;
+            }
+            final boolean additionalProperties = type.getAdditionalProperties() == null || type.getAdditionalProperties();
+            for (Map.Entry<String, PropertyFacets> property : type.getProperties().entrySet())
+            {
+                final PropertyFacets facets = property.getValue();
+                if (!(facets.isPatternProperty() && additionalProperties) && facets.isRequired())
+                {
+                    result.add(property.getKey());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -17,12 +17,12 @@ package org.raml.v2.internal.impl.v10.type;
 
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.framework.grammar.rule.AllOfRule;
-import org.raml.v2.internal.framework.grammar.rule.AnyOfRule;
 import org.raml.v2.internal.framework.grammar.rule.AnyValueRule;
 import org.raml.v2.internal.framework.grammar.rule.ArrayRule;
 import org.raml.v2.internal.framework.grammar.rule.BooleanTypeRule;
 import org.raml.v2.internal.framework.grammar.rule.DateValueRule;
 import org.raml.v2.internal.framework.grammar.rule.DivisorValueRule;
+import org.raml.v2.internal.framework.grammar.rule.EnumRule;
 import org.raml.v2.internal.framework.grammar.rule.IntegerTypeRule;
 import org.raml.v2.internal.framework.grammar.rule.KeyValueRule;
 import org.raml.v2.internal.framework.grammar.rule.MaxItemsRule;
@@ -34,7 +34,6 @@ import org.raml.v2.internal.framework.grammar.rule.MinLengthRule;
 import org.raml.v2.internal.framework.grammar.rule.MinimumValueRule;
 import org.raml.v2.internal.framework.grammar.rule.NullValueRule;
 import org.raml.v2.internal.framework.grammar.rule.NumberTypeRule;
-import org.raml.v2.internal.framework.grammar.rule.NumberValueRule;
 import org.raml.v2.internal.framework.grammar.rule.ObjectRule;
 import org.raml.v2.internal.framework.grammar.rule.RangeValueRule;
 import org.raml.v2.internal.framework.grammar.rule.RegexValueRule;
@@ -47,24 +46,35 @@ import org.raml.v2.internal.impl.commons.type.JsonSchemaExternalType;
 import org.raml.v2.internal.impl.commons.type.ResolvedType;
 import org.raml.v2.internal.impl.commons.type.XmlSchemaExternalType;
 import org.raml.v2.internal.impl.v10.rules.DiscriminatorBasedRule;
+import org.raml.v2.internal.impl.v10.rules.DiscriminatorTypeIndex;
+import org.raml.v2.internal.impl.v10.rules.UnionTypeRule;
 import org.raml.v2.internal.utils.DateType;
+import org.raml.v2.internal.utils.PatternCache;
 
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
 import static org.raml.v2.internal.utils.BasicRuleFactory.patternProperty;
 import static org.raml.v2.internal.utils.BasicRuleFactory.property;
-import static org.raml.v2.internal.utils.BasicRuleFactory.stringValue;
 import static org.raml.v2.internal.utils.ValueUtils.asBoolean;
 
 public class TypeToRuleVisitor implements TypeVisitor<Rule>
 {
 
+    /**
+     * System property with the default maximum number of steps allowed when matching a value against a <code>pattern</code> facet.
+     * Patterns are not bounded unless a positive value is set. Builders can set their own limit.
+     */
+    public static final String PATTERN_STEP_BUDGET = "raml.parser.pattern.stepBudget";
+
+    public static final int DEFAULT_PATTERN_STEP_BUDGET = Integer.getInteger(PATTERN_STEP_BUDGET, 0);
+
     private ResourceLoader resourceLoader;
+    private DiscriminatorTypeIndex discriminatorTypes;
+    private int patternStepBudget;
     private boolean strictMode = false;
     private Map<ResolvedType, Rule> definitionRuleMap = new IdentityHashMap<>();
 
@@ -72,8 +82,27 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
     private boolean resolvingDiscriminator = false;
 
     public TypeToRuleVisitor(ResourceLoader resourceLoader)
+    {
+        this(resourceLoader, new DiscriminatorTypeIndex());
+    }
+
+    /**
+     * @param discriminatorTypes The index the discriminator based rules look the types up in,
+     *                           shared by the visitors of a phase so the tree is indexed only once
+     */
+    public TypeToRuleVisitor(ResourceLoader resourceLoader, DiscriminatorTypeIndex discriminatorTypes)
+    {
+        this(resourceLoader, discriminatorTypes, DEFAULT_PATTERN_STEP_BUDGET);
+    }
+
+    /**
+     * @param patternStepBudget The maximum number of steps per match of the <code>pattern</code> facets or zero for no limit
+     */
+    public TypeToRuleVisitor(ResourceLoader resourceLoader, DiscriminatorTypeIndex discriminatorTypes, int patternStepBudget)
     {
         this.resourceLoader = resourceLoader;
+        this.discriminatorTypes = discriminatorTypes;
+        this.patternStepBudget = patternStepBudget;
     }
 
     public Rule generateRule(ResolvedType items, boolean strict)
@@ -101,12 +130,12 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
         registerRule(stringTypeNode, typeRule);
         if (isNotEmpty(stringTypeNode.getPattern()))
         {
-            typeRule.and(new RegexValueRule(Pattern.compile(stringTypeNode.getPattern())));
+            typeRule.and(new RegexValueRule(PatternCache.compile(stringTypeNode.getPattern())).stepBudget(patternStepBudget));
         }
 
         if (stringTypeNode.getEnums() != null && !stringTypeNode.getEnums().isEmpty())
         {
-            typeRule.and(new AnyOfRule(new ArrayList<>(getStringRules(stringTypeNode.getEnums()))));
+            typeRule.and(EnumRule.forStrings(stringTypeNode.getEnums()));
         }
 
         if (stringTypeNode.getMaxLength() != null)
@@ -123,16 +152,6 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
         return typeRule;
     }
 
-    private List<Rule> getStringRules(List<String> enumValues)
-    {
-        final List<Rule> rules = new ArrayList<>();
-        for (String value : enumValues)
-        {
-            rules.add(stringValue(value));
-        }
-        return rules;
-    }
-
     public void resolveDiscrimintor()
     {
         this.resolvingDiscriminator = true;
@@ -145,7 +164,7 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
         {
             resolvingDiscriminator = false;
             final TypeDeclarationNode typeDeclarationNode = objectTypeDefinition.getTypeDeclarationNode();
-            return new DiscriminatorBasedRule(this, typeDeclarationNode.getRootNode(), objectTypeDefinition.getDiscriminator());
+            return new DiscriminatorBasedRule(this, typeDeclarationNode.getRootNode(), objectTypeDefinition.getDiscriminator(), discriminatorTypes);
         }
         else
         {
@@ -242,12 +261,7 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
         final List<Number> enums = numericTypeNode.getEnums();
         if (enums != null && !enums.isEmpty())
         {
-            final List<Rule> options = new ArrayList<>();
-            for (Number anEnum : enums)
-            {
-                options.add(new NumberValueRule(anEnum));
-            }
-            typeRule.and(new AnyOfRule(options));
+            typeRule.and(EnumRule.forNumbers(enums));
         }
         return typeRule;
     }
@@ -338,7 +352,7 @@ public class TypeToRuleVisitor implements TypeVisitor<Rule>
         {
             rules.add(generateRule(resolvedType, true));
         }
-        return new AnyOfRule(rules);
+        return new UnionTypeRule(of, rules);
     }
 
 }
@@ -21,7 +21,6 @@ import org.raml.v2.internal.framework.grammar.rule.RegexValueRule;
 import org.raml.v2.internal.framework.grammar.rule.Rule;
 import org.raml.v2.internal.framework.grammar.rule.StringValueRule;
 
-import java.util.regex.Pattern;
 
 public class BasicRuleFactory
 {
@@ -33,7 +32,7 @@ public class BasicRuleFactory
 
     public static RegexValueRule regexValue(String value)
     {
-        return new RegexValueRule(Pattern.compile(value));
+        return new RegexValueRule(PatternCache.compile(value));
     }
 
     public static NullValueRule nullValue()
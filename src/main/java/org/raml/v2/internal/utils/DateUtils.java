@@ -15,51 +15,210 @@
  */
 package org.raml.v2.internal.utils;
 
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
-
+/**
+ * Validates date and time values without parsing them into date objects. Each format is checked by a single
+ * scan over the characters of the value, so invalid values are rejected without allocating or throwing.
+ */
 public class DateUtils
 {
-    private static DateTimeFormatter hourFormatter = DateTimeFormat.forPattern("HH:mm:ss");
-    private static DateTimeFormatter dateFormatter = DateTimeFormat.forPattern("YYYY-MM-DD");
-    private static DateTimeFormatter dateTimeFormatter = DateTimeFormat.forPattern("YYYY-MM-DD'T'HH:mm:ss");
-    private static DateTimeFormatter dateTimeSecondFormatter = DateTimeFormat.forPattern("YYYY-MM-DD'T'HH:mm:ss.SSS'Z'");
-    private static DateTimeFormatter rfc2616Formatter = DateTimeFormat.forPattern("EEE, dd MMM yyyy HH:mm:ss zzz");
+
+    private static final String RFC_2616 = "rfc2616";
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTH_NAMES = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final int DATE_LENGTH = "yyyy-mm-dd".length();
+    private static final int TIME_LENGTH = "hh:mm:ss".length();
+    private static final int RFC_2616_LENGTH = "Sun, 06 Nov 1994 08:49:37 GMT".length();
 
     public static boolean isValidDate(String date, DateType format, String rfc)
     {
-        try
+        if (date == null)
         {
-            switch (format)
+            return false;
+        }
+        switch (format)
+        {
+        case date_only:
+            return isDate(date, 0) && date.length() == DATE_LENGTH;
+        case time_only:
+            return scanTime(date, 0) == date.length();
+        case datetime_only:
+            return isDateTimePrefix(date) && scanTime(date, DATE_LENGTH + 1) == date.length();
+        case datetime:
+            if (RFC_2616.equals(rfc))
+            {
+                return isRfc2616Date(date);
+            }
+            else
             {
-            case date_only:
-                dateFormatter.parseLocalDate(date);
-                break;
-            case time_only:
-                hourFormatter.parseLocalTime(date);
-                break;
-            case datetime_only:
-                dateTimeFormatter.parseLocalDateTime(date);
-                break;
-            case datetime:
-                if (rfc != null && "rfc2616".equals(rfc))
-                {
-                    rfc2616Formatter.parseLocalDateTime(date);
-                    break;
-                }
-                else
-                {
-                    dateTimeSecondFormatter.parseLocalDateTime(date);
-                    break;
-                }
-            default:
-                return false;
+                return isDateTimePrefix(date) && scanOffset(date, scanTime(date, DATE_LENGTH + 1)) == date.length();
             }
-            return true;
+        default:
+            return false;
         }
-        catch (Exception e)
+    }
+
+    /**
+     * <code>full-date</code> as defined by RFC 3339: yyyy-mm-dd
+     */
+    private static boolean isDate(String value, int start)
+    {
+        if (value.length() < start + DATE_LENGTH || value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-')
+        {
+            return false;
+        }
+        final int year = digits(value, start, 4);
+        final int month = digits(value, start + 5, 2);
+        final int day = digits(value, start + 8, 2);
+        return year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static boolean isDateTimePrefix(String value)
+    {
+        if (value.length() <= DATE_LENGTH || !isDate(value, 0))
         {
             return false;
         }
+        final char separator = value.charAt(DATE_LENGTH);
+        return separator == 'T' || separator == 't';
+    }
+
+    /**
+     * <code>partial-time</code> as defined by RFC 3339: hh:mm:ss[.fraction]
+     * @return the index after the time or -1 if there is no valid time at the specified index
+     */
+    private static int scanTime(String value, int start)
+    {
+        if (start < 0 || value.length() < start + TIME_LENGTH || value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':')
+        {
+            return -1;
+        }
+        final int hour = digits(value, start, 2);
+        final int minute = digits(value, start + 3, 2);
+        final int second = digits(value, start + 6, 2);
+        // RFC 3339 allows leap seconds
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60)
+        {
+            return -1;
+        }
+        int index = start + TIME_LENGTH;
+        if (index < value.length() && value.charAt(index) == '.')
+        {
+            index++;
+            final int fractionStart = index;
+            while (index < value.length() && isDigit(value.charAt(index)))
+            {
+                index++;
+            }
+            if (index == fractionStart)
+            {
+                return -1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * <code>time-offset</code> as defined by RFC 3339: Z or +hh:mm or -hh:mm
+     * @return the index after the offset or -1 if there is no valid offset at the specified index
+     */
+    private static int scanOffset(String value, int start)
+    {
+        if (start < 0 || start >= value.length())
+        {
+            return -1;
+        }
+        final char sign = value.charAt(start);
+        if (sign == 'Z' || sign == 'z')
+        {
+            return start + 1;
+        }
+        if ((sign != '+' && sign != '-') || value.length() < start + 6 || value.charAt(start + 3) != ':')
+        {
+            return -1;
+        }
+        final int hour = digits(value, start + 1, 2);
+        final int minute = digits(value, start + 4, 2);
+        return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 ? start + 6 : -1;
+    }
+
+    /**
+     * <code>rfc1123-date</code> as preferred by RFC 2616: Sun, 06 Nov 1994 08:49:37 GMT
+     */
+    private static boolean isRfc2616Date(String value)
+    {
+        if (value.length() != RFC_2616_LENGTH || !isOneOf(value, 0, DAY_NAMES) || value.charAt(3) != ',' || value.charAt(4) != ' '
+            || value.charAt(7) != ' ' || !isOneOf(value, 8, MONTH_NAMES) || value.charAt(11) != ' ' || value.charAt(16) != ' '
+            || value.charAt(25) != ' ')
+        {
+            return false;
+        }
+        final int day = digits(value, 5, 2);
+        int month = 0;
+        while (!MONTH_NAMES[month].regionMatches(0, value, 8, 3))
+        {
+            month++;
+        }
+        final int year = digits(value, 12, 4);
+        // GMT is the only zone allowed by the RFC, UTC is accepted for compatibility with previous versions
+        final boolean validZone = value.startsWith("GMT", 26) || value.startsWith("UTC", 26);
+        return year >= 0 && day >= 1 && day <= daysInMonth(year, month + 1) && scanTime(value, 17) == 25 && validZone;
+    }
+
+    private static boolean isOneOf(String value, int start, String[] options)
+    {
+        for (String option : options)
+        {
+            if (option.regionMatches(0, value, start, option.length()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the decimal value of the specified number of digits or -1 if any of the characters is not a digit
+     */
+    private static int digits(String value, int start, int count)
+    {
+        int result = 0;
+        for (int i = start; i < start + count; i++)
+        {
+            final char c = value.charAt(i);
+            if (!isDigit(c))
+            {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month)
+    {
+        switch (month)
+        {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year)
+    {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
     }
-}
\ No newline at end of file
+}
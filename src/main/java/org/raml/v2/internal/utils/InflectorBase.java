@@ -25,7 +25,8 @@ import java.util.regex.Pattern;
 public class InflectorBase
 {
 
-    private static List<String[]> singulars, plurals, irregulars;
+    private static List<Replacement> singulars, plurals;
+    private static List<String[]> irregulars;
     private static List<String> uncountables;
 
     static
@@ -93,12 +94,12 @@ public class InflectorBase
 
     private static void addPlural(String rule, String replacement)
     {
-        plurals.add(0, new String[] {rule, replacement});
+        plurals.add(0, new Replacement(rule, replacement));
     }
 
     private static void addSingular(String rule, String replacement)
     {
-        singulars.add(0, new String[] {rule, replacement});
+        singulars.add(0, new Replacement(rule, replacement));
     }
 
     private static void addIrregular(String rule, String replacement)
@@ -112,11 +113,10 @@ public class InflectorBase
      *
      * @return Replaces a found pattern in a word and returns a transformed word. Null is pattern does not match.
      */
-    private static String gsub(String word, String rule, String replacement)
+    private static String gsub(String word, Replacement rule)
     {
-        Pattern pattern = Pattern.compile(rule, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(word);
-        return matcher.find() ? matcher.replaceFirst(replacement) : null;
+        Matcher matcher = rule.pattern.matcher(word);
+        return matcher.find() ? matcher.replaceFirst(rule.replacement) : null;
     }
 
     public static String pluralize(String word)
@@ -135,9 +135,9 @@ public class InflectorBase
             }
         }
 
-        for (String[] pair : plurals)
+        for (Replacement rule : plurals)
         {
-            String plural = gsub(word, pair[0], pair[1]);
+            String plural = gsub(word, rule);
             if (plural != null)
             {
                 return plural;
@@ -164,9 +164,9 @@ public class InflectorBase
             }
         }
 
-        for (String[] pair : singulars)
+        for (Replacement rule : singulars)
         {
-            String singular = gsub(word, pair[0], pair[1]);
+            String singular = gsub(word, rule);
             if (singular != null)
             {
                 return singular;
@@ -306,4 +306,20 @@ public class InflectorBase
         }
         return other.trim();
     }
+
+    /**
+     * A case insensitive rule compiled once when the rule is registered.
+     */
+    private static class Replacement
+    {
+
+        private final Pattern pattern;
+        private final String replacement;
+
+        private Replacement(String rule, String replacement)
+        {
+            this.pattern = Pattern.compile(rule, Pattern.CASE_INSENSITIVE);
+            this.replacement = replacement;
+        }
+    }
 }
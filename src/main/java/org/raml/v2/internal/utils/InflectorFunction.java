@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Static table of the template functions (<code>&lt;&lt;param | !function&gt;&gt;</code>) backed by {@link Inflector}.
+ * Results are memoized per function as the same parameter values are transformed over and over
+ * when resource types and traits are applied.
+ */
+public enum InflectorFunction
+{
+    SINGULARIZE("singularize")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.singularize(word);
+        }
+    },
+    PLURALIZE("pluralize")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.pluralize(word);
+        }
+    },
+    UPPERCASE("uppercase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.uppercase(word);
+        }
+    },
+    LOWERCASE("lowercase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.lowercase(word);
+        }
+    },
+    LOWER_CAMEL_CASE("lowercamelcase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.lowercamelcase(word);
+        }
+    },
+    UPPER_CAMEL_CASE("uppercamelcase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.uppercamelcase(word);
+        }
+    },
+    LOWER_UNDERSCORE_CASE("lowerunderscorecase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.lowerunderscorecase(word);
+        }
+    },
+    UPPER_UNDERSCORE_CASE("upperunderscorecase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.upperunderscorecase(word);
+        }
+    },
+    LOWER_HYPHEN_CASE("lowerhyphencase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.lowerhyphencase(word);
+        }
+    },
+    UPPER_HYPHEN_CASE("upperhyphencase")
+    {
+        @Override
+        protected String doApply(String word)
+        {
+            return Inflector.upperhyphencase(word);
+        }
+    };
+
+    private static final int MAX_CACHED_VALUES = 1024;
+    private static final Map<String, InflectorFunction> byName = new HashMap<>();
+
+    static
+    {
+        for (InflectorFunction function : values())
+        {
+            byName.put(function.functionName, function);
+        }
+    }
+
+    private final String functionName;
+    private final Cache<String, String> results = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VALUES).build();
+
+    InflectorFunction(String functionName)
+    {
+        this.functionName = functionName;
+    }
+
+    /**
+     * The name used to invoke this function in a template expression, without the leading <code>!</code>
+     */
+    @Nonnull
+    public String getFunctionName()
+    {
+        return functionName;
+    }
+
+    /**
+     * Applies this function to the specified word
+     * @param word The word to transform
+     * @return The transformed word
+     * @throws RuntimeException if the word can not be transformed by this function
+     */
+    @Nonnull
+    public String apply(@Nonnull String word)
+    {
+        String result = results.getIfPresent(word);
+        if (result == null)
+        {
+            result = doApply(word);
+            results.put(word, result);
+        }
+        return result;
+    }
+
+    protected abstract String doApply(String word);
+
+    /**
+     * Returns the function registered with the specified name or null if there is no such function
+     */
+    @Nullable
+    public static InflectorFunction forName(String functionName)
+    {
+        return byName.get(functionName);
+    }
+}
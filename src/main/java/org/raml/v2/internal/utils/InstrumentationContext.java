@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.phase.Phase;
+import org.raml.v2.internal.framework.phase.TransformationPhase;
+
+/**
+ * Holds the {@link BuildInstrumentation} of the build running in the current thread, so the code that is
+ * not handed the builder settings (schema compilation, nested builds of libraries) can report to it.
+ */
+public class InstrumentationContext
+{
+
+    private static final ThreadLocal<BuildInstrumentation> current = new ThreadLocal<>();
+
+    private InstrumentationContext()
+    {
+    }
+
+    @Nullable
+    public static BuildInstrumentation get()
+    {
+        return current.get();
+    }
+
+    /**
+     * Sets the instrumentation of the current thread
+     * @return The previous instrumentation, to be passed to {@link #restore(BuildInstrumentation)}
+     */
+    @Nullable
+    public static BuildInstrumentation set(@Nullable BuildInstrumentation instrumentation)
+    {
+        final BuildInstrumentation previous = current.get();
+        restore(instrumentation);
+        return previous;
+    }
+
+    public static void restore(@Nullable BuildInstrumentation previous)
+    {
+        if (previous == null)
+        {
+            current.remove();
+        }
+        else
+        {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * Applies a phase to the tree reporting its metrics to the instrumentation of the current thread, if any
+     * @param phaseName The name of the phase
+     * @param phase The phase
+     * @param tree The tree
+     * @return The result of the phase
+     */
+    public static Node applyPhase(String phaseName, Phase phase, Node tree)
+    {
+        final BuildInstrumentation instrumentation = current.get();
+        if (instrumentation == null)
+        {
+            return phase.apply(tree);
+        }
+        final long visited = phase instanceof TransformationPhase ? ((TransformationPhase) phase).getVisitedNodes() : 0;
+        final long replaced = phase instanceof TransformationPhase ? ((TransformationPhase) phase).getReplacedNodes() : 0;
+        final long start = System.nanoTime();
+        final Node result = phase.apply(tree);
+        final long nanos = System.nanoTime() - start;
+        if (phase instanceof TransformationPhase)
+        {
+            instrumentation.phaseCompleted(phaseName, nanos, ((TransformationPhase) phase).getVisitedNodes() - visited, ((TransformationPhase) phase).getReplacedNodes() - replaced);
+        }
+        else
+        {
+            instrumentation.phaseCompleted(phaseName, nanos, 0, 0);
+        }
+        return result;
+    }
+}
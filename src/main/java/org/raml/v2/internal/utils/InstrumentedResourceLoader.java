@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
+import org.raml.v2.api.loader.AsyncResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.api.loader.VersionedResourceLoader;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Reports to a {@link BuildInstrumentation} the size and latency of every fetched resource.
+ * It is transparent to the build: the versions of the resources are those of the instrumented loader,
+ * loaders created with {@link #wrap(ResourceLoader, BuildInstrumentation)} are asynchronous if the instrumented one is,
+ * and {@link StreamUtils} reads the fetched streams as it would read the instrumented ones.
+ */
+public class InstrumentedResourceLoader implements VersionedResourceLoader
+{
+
+    private final ResourceLoader delegate;
+    private final BuildInstrumentation instrumentation;
+
+    public InstrumentedResourceLoader(ResourceLoader delegate, BuildInstrumentation instrumentation)
+    {
+        this.delegate = delegate;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Instruments the specified loader, keeping it asynchronous if it is
+     */
+    public static InstrumentedResourceLoader wrap(ResourceLoader delegate, BuildInstrumentation instrumentation)
+    {
+        if (delegate instanceof AsyncResourceLoader)
+        {
+            return new AsyncInstrumentedResourceLoader((AsyncResourceLoader) delegate, instrumentation);
+        }
+        return new InstrumentedResourceLoader(delegate, instrumentation);
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        final long start = System.nanoTime();
+        return count(delegate.fetchResource(resourceName), resourceName, start);
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return delegate instanceof VersionedResourceLoader ? ((VersionedResourceLoader) delegate).getVersion(resourceName) : null;
+    }
+
+    @Nullable
+    InputStream count(@Nullable InputStream inputStream, String resourceName, long start)
+    {
+        if (inputStream == null)
+        {
+            instrumentation.resourceFetched(resourceName, -1, System.nanoTime() - start);
+            return null;
+        }
+        return new CountingInputStream(inputStream, resourceName, start);
+    }
+
+    private static class AsyncInstrumentedResourceLoader extends InstrumentedResourceLoader implements AsyncResourceLoader
+    {
+
+        private final AsyncResourceLoader delegate;
+
+        AsyncInstrumentedResourceLoader(AsyncResourceLoader delegate, BuildInstrumentation instrumentation)
+        {
+            super(delegate, instrumentation);
+            this.delegate = delegate;
+        }
+
+        @Nonnull
+        @Override
+        public ListenableFuture<InputStream> fetchResourceAsync(final String resourceName)
+        {
+            final long start = System.nanoTime();
+            return Futures.transform(delegate.fetchResourceAsync(resourceName), new Function<InputStream, InputStream>()
+            {
+                @Override
+                public InputStream apply(@Nullable InputStream inputStream)
+                {
+                    return count(inputStream, resourceName, start);
+                }
+            });
+        }
+    }
+
+    /**
+     * Counts the bytes read from a fetched resource. {@link StreamUtils} reads the wrapped stream directly,
+     * so its fast paths still apply, and then reports the number of bytes it read.
+     */
+    class CountingInputStream extends FilterInputStream
+    {
+        private final String resourceName;
+        private final long start;
+        private long bytes;
+        private boolean closed;
+
+        CountingInputStream(InputStream in, String resourceName, long start)
+        {
+            super(in);
+            this.resourceName = resourceName;
+            this.start = start;
+        }
+
+        InputStream getDelegate()
+        {
+            return in;
+        }
+
+        void countRead(long read)
+        {
+            bytes += read;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            final int read = super.read();
+            if (read >= 0)
+            {
+                bytes++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            final int read = super.read(b, off, len);
+            if (read > 0)
+            {
+                bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            final long skipped = super.skip(n);
+            bytes += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            super.close();
+            if (!closed)
+            {
+                closed = true;
+                instrumentation.resourceFetched(resourceName, bytes, System.nanoTime() - start);
+            }
+        }
+    }
+}
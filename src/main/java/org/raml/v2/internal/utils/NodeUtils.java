@@ -193,4 +193,24 @@ public class NodeUtils
         }
         return result;
     }
+
+    /**
+     * Copies a tree without linking the copies to their originals, so a copy of a parsed tree looks just parsed
+     */
+    @Nonnull
+    public static Node detachedCopy(Node node)
+    {
+        final Node copy = node.copy();
+        detach(copy);
+        return copy;
+    }
+
+    private static void detach(Node node)
+    {
+        node.setSource(null);
+        for (Node child : node.getChildren())
+        {
+            detach(child);
+        }
+    }
 }
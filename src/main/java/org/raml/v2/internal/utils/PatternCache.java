@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Shared cache of compiled regular expressions. Rules are generated from the same <code>pattern</code> facets
+ * every time a type is validated, so the patterns are compiled only once.
+ */
+public class PatternCache
+{
+
+    private static final int MAX_CACHED_PATTERNS = 2048;
+
+    private static final Cache<String, Pattern> patterns = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PATTERNS).build();
+
+    /**
+     * Returns the compiled pattern for the specified regular expression
+     * @param regex The regular expression
+     * @return The compiled pattern
+     * @throws java.util.regex.PatternSyntaxException If the expression's syntax is invalid
+     */
+    @Nonnull
+    public static Pattern compile(@Nonnull String regex)
+    {
+        Pattern pattern = patterns.getIfPresent(regex);
+        if (pattern == null)
+        {
+            pattern = Pattern.compile(regex);
+            patterns.put(regex, pattern);
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+import org.raml.v2.api.loader.AsyncResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.api.loader.VersionedResourceLoader;
+import org.raml.v2.internal.framework.nodes.KeyValueNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.ObjectNode;
+import org.raml.v2.internal.framework.nodes.StringNode;
+import org.raml.v2.internal.framework.nodes.snakeyaml.SYIncludeNode;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Starts fetching the remote includes and libraries of a document as soon as it is parsed, so they are downloaded
+ * at the same time instead of one after the other as the phases resolve them. A prefetched resource is handed
+ * over the first time it is fetched, any other fetch goes to the underlying loader. Local resources are not prefetched.
+ * Only loaders that are already asynchronous are prefetched from, see {@link #wrap(ResourceLoader)}.
+ */
+public class PrefetchingResourceLoader implements VersionedResourceLoader
+{
+
+    private static final String USES_KEY = "uses";
+
+    private final AsyncResourceLoader delegate;
+    private final Map<String, ListenableFuture<InputStream>> prefetched = new ConcurrentHashMap<>();
+
+    public PrefetchingResourceLoader(AsyncResourceLoader delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the loader of a build so its references are prefetched. Blocking loaders are returned as they are, as
+     * are loaders already prefetching for an outer build.
+     */
+    public static ResourceLoader wrap(ResourceLoader resourceLoader)
+    {
+        return resourceLoader instanceof AsyncResourceLoader ? new PrefetchingResourceLoader((AsyncResourceLoader) resourceLoader) : resourceLoader;
+    }
+
+    /**
+     * Discards the resources prefetched but never fetched, if the loader is a {@link PrefetchingResourceLoader}
+     */
+    public static void clear(ResourceLoader resourceLoader)
+    {
+        if (resourceLoader instanceof PrefetchingResourceLoader)
+        {
+            ((PrefetchingResourceLoader) resourceLoader).clear();
+        }
+    }
+
+    /**
+     * Prefetches the includes and used libraries of a document, if the loader is a {@link PrefetchingResourceLoader}
+     */
+    public static void prefetchReferences(ResourceLoader resourceLoader, @Nullable Node document)
+    {
+        if (resourceLoader instanceof PrefetchingResourceLoader && document != null)
+        {
+            ((PrefetchingResourceLoader) resourceLoader).prefetchReferences(document);
+        }
+    }
+
+    private void prefetchReferences(Node document)
+    {
+        for (SYIncludeNode includeNode : document.findDescendantsWith(SYIncludeNode.class))
+        {
+            prefetch(ResourcePathUtils.toAbsoluteLocation(includeNode.getStartPosition().getPath(), includeNode.getIncludePath()));
+        }
+        if (document instanceof ObjectNode)
+        {
+            final Node uses = NodeSelector.selectFrom(USES_KEY, document);
+            if (uses != null)
+            {
+                for (Node library : uses.getChildren())
+                {
+                    final Node location = library instanceof KeyValueNode ? ((KeyValueNode) library).getValue() : null;
+                    if (location instanceof StringNode)
+                    {
+                        prefetch(ResourcePathUtils.toAbsoluteLocation(location.getStartPosition().getPath(), ((StringNode) location).getValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    private void prefetch(String resourceName)
+    {
+        if (isRemote(resourceName) && !prefetched.containsKey(resourceName))
+        {
+            prefetched.put(resourceName, delegate.fetchResourceAsync(resourceName));
+        }
+    }
+
+    @Override
+    public InputStream fetchResource(String resourceName)
+    {
+        final ListenableFuture<InputStream> future = prefetched.remove(resourceName);
+        if (future != null)
+        {
+            try
+            {
+                return future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            catch (ExecutionException e)
+            {
+                // fetched again below
+            }
+        }
+        return delegate.fetchResource(resourceName);
+    }
+
+    @Override
+    public String getVersion(String resourceName)
+    {
+        return delegate instanceof VersionedResourceLoader ? ((VersionedResourceLoader) delegate).getVersion(resourceName) : null;
+    }
+
+    /**
+     * Discards the resources prefetched but never fetched
+     */
+    public void clear()
+    {
+        for (ListenableFuture<InputStream> future : prefetched.values())
+        {
+            if (!future.cancel(false))
+            {
+                try
+                {
+                    IOUtils.closeQuietly(future.get());
+                }
+                catch (InterruptedException | ExecutionException e)
+                {
+                    // nothing to release
+                }
+            }
+        }
+        prefetched.clear();
+    }
+
+    private static boolean isRemote(String resourceName)
+    {
+        return resourceName.contains("://") && !resourceName.startsWith("file:");
+    }
+}
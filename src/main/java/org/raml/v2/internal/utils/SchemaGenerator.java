@@ -30,32 +30,92 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 
 import org.raml.v2.internal.utils.xml.XsdResourceResolver;
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
 import org.raml.v2.api.loader.ResourceLoader;
 import org.raml.v2.internal.impl.commons.type.JsonSchemaExternalType;
 import org.raml.v2.internal.impl.commons.type.XmlSchemaExternalType;
 import org.xml.sax.SAXException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Compiles the external schemas referenced by the type declarations.
+ * Compiled schemas are thread safe and are memoized by their content, so the same schema used from several
+ * documents (or rebuilt over and over by a long running process) is only compiled once.
+ */
 public class SchemaGenerator
 {
 
+    private static final int MAX_CACHED_SCHEMAS = 256;
+
+    private static final Cache<String, Schema> xmlSchemas = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCHEMAS).build();
+    private static final Cache<String, JsonSchema> jsonSchemas = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCHEMAS).build();
+
     public static Schema generateXmlSchema(ResourceLoader resourceLoader, XmlSchemaExternalType schemaNode) throws SAXException
     {
-        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        factory.setResourceResolver(new XsdResourceResolver(resourceLoader, schemaNode.getSchemaPath()));
-        return factory.newSchema(new StreamSource(new StringReader(schemaNode.getSchemaValue())));
+        final String key = schemaNode.getSchemaPath() + "\u0000" + schemaNode.getSchemaValue();
+        final long start = System.nanoTime();
+        try
+        {
+            Schema schema = xmlSchemas.getIfPresent(key);
+            if (schema != null)
+            {
+                return schema;
+            }
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            final XsdResourceResolver resolver = new XsdResourceResolver(resourceLoader, schemaNode.getSchemaPath());
+            factory.setResourceResolver(resolver);
+            schema = factory.newSchema(new StreamSource(new StringReader(schemaNode.getSchemaValue())));
+            if (!resolver.hasResolvedResources())
+            {
+                // Schemas importing other documents are not cached as those may change independently
+                xmlSchemas.put(key, schema);
+            }
+            return schema;
+        }
+        finally
+        {
+            reportCompiled("xml", start);
+        }
     }
 
     public static JsonSchema generateJsonSchema(JsonSchemaExternalType jsonTypeDefinition) throws IOException, ProcessingException
     {
-        JsonNode jsonSchema = JsonLoader.fromString(jsonTypeDefinition.getSchemaValue());
-        JsonSchemaFactory factory = JsonSchemaFactory.newBuilder().freeze();
-        if (jsonTypeDefinition.getInternalFragment() != null)
+        final String key = jsonTypeDefinition.getInternalFragment() + "\u0000" + jsonTypeDefinition.getSchemaValue();
+        final long start = System.nanoTime();
+        try
+        {
+            JsonSchema schema = jsonSchemas.getIfPresent(key);
+            if (schema != null)
+            {
+                return schema;
+            }
+            JsonNode jsonSchema = JsonLoader.fromString(jsonTypeDefinition.getSchemaValue());
+            JsonSchemaFactory factory = JsonSchemaFactory.newBuilder().freeze();
+            if (jsonTypeDefinition.getInternalFragment() != null)
+            {
+                schema = factory.getJsonSchema(jsonSchema, "/definitions/" + jsonTypeDefinition.getInternalFragment());
+            }
+            else
+            {
+                schema = factory.getJsonSchema(jsonSchema);
+            }
+            jsonSchemas.put(key, schema);
+            return schema;
+        }
+        finally
         {
-            return factory.getJsonSchema(jsonSchema, "/definitions/" + jsonTypeDefinition.getInternalFragment());
+            reportCompiled("json", start);
         }
-        else
+    }
+
+    private static void reportCompiled(String schemaType, long start)
+    {
+        final BuildInstrumentation instrumentation = InstrumentationContext.get();
+        if (instrumentation != null)
         {
-            return factory.getJsonSchema(jsonSchema);
+            instrumentation.schemaCompiled(schemaType, System.nanoTime() - start);
         }
     }
 
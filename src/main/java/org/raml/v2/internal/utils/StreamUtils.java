@@ -15,17 +15,27 @@
  */
 package org.raml.v2.internal.utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 
 import org.apache.commons.io.IOUtils;
 import org.mozilla.universalchardet.UniversalDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Reads and decodes the documents. The bytes are read once (files through their channel, memory mapping the large ones)
+ * and the encoding is decided from the byte order mark, then from the UTF-8 validity of the content
+ * and only then by running the charset detector over the beginning of the content.
+ */
 public class StreamUtils
 {
 
@@ -33,17 +43,29 @@ public class StreamUtils
 
     private static final String RAML_PARSER_ENCODING = "raml.parser.encoding";
 
+    // Files this large are memory mapped instead of copied in the heap before decoding them
+    private static final long MAPPED_FILE_SIZE = 4 * 1024 * 1024;
+
+    // Bytes given to the charset detector when the content is not UTF-8
+    private static final int DETECTION_PREFIX_SIZE = 64 * 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private static String getDefaultEncoding()
     {
         return System.getProperty(RAML_PARSER_ENCODING, "UTF-8");
     }
 
     public static Reader reader(InputStream stream)
+    {
+        return new StringReader(toString(stream));
+    }
+
+    public static String toString(InputStream stream)
     {
         try
         {
-            byte[] content = IOUtils.toByteArray(stream);
-            return new InputStreamReader(new ByteArrayInputStream(content), detectEncoding(content));
+            return decode(readFully(stream));
         }
         catch (IOException e)
         {
@@ -55,68 +77,94 @@ public class StreamUtils
         }
     }
 
-    public static String toString(InputStream stream)
+    private static ByteBuffer readFully(InputStream stream) throws IOException
     {
-        try
+        if (stream instanceof InstrumentedResourceLoader.CountingInputStream)
         {
-            byte[] content = IOUtils.toByteArray(stream);
-            String encoding = detectEncoding(content);
-            return new String(trimBom(content), encoding);
+            // read what is being counted, then count it
+            final InstrumentedResourceLoader.CountingInputStream countingStream = (InstrumentedResourceLoader.CountingInputStream) stream;
+            final ByteBuffer content = readFully(countingStream.getDelegate());
+            countingStream.countRead(content.remaining());
+            return content;
         }
-        catch (IOException e)
+        if (stream instanceof FileInputStream)
         {
-            throw new RuntimeException(e);
+            return read(((FileInputStream) stream).getChannel());
         }
-        finally
+        if (stream instanceof ByteBufferInputStream)
         {
-            IOUtils.closeQuietly(stream);
+            return ((ByteBufferInputStream) stream).drain();
         }
+        return ByteBuffer.wrap(IOUtils.toByteArray(stream));
     }
 
-    private static byte[] trimBom(byte[] content)
+    private static ByteBuffer read(FileChannel channel) throws IOException
     {
-        int bomSize = 0;
-        if (content.length > 4)
-        {
-            // check for UTF_32BE and UTF_32LE BOMs
-            if (content[0] == 0x00 && content[1] == 0x00 && content[2] == (byte) 0xFE && content[3] == (byte) 0xFF ||
-                content[0] == (byte) 0xFF && content[1] == (byte) 0xFE && content[2] == 0x00 && content[3] == 0x00)
-            {
-                bomSize = 4;
-            }
-        }
-        if (content.length > 3 && bomSize == 0)
+        final long size = channel.size() - channel.position();
+        if (size >= MAPPED_FILE_SIZE)
         {
-            // check for UTF-8 BOM
-            if (content[0] == (byte) 0xEF && content[1] == (byte) 0xBB && content[2] == (byte) 0xBF)
-            {
-                bomSize = 3;
-            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, channel.position(), size);
         }
-        if (content.length > 2 && bomSize == 0)
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0)
         {
-            // check for UTF_16BE and UTF_16LE BOMs
-            if (content[0] == (byte) 0xFE && content[1] == (byte) 0xFF || content[0] == (byte) 0xFF && content[1] == (byte) 0xFE)
-            {
-                bomSize = 2;
-            }
+            // keep reading until the buffer is full or the file is over
         }
+        buffer.flip();
+        return buffer;
+    }
 
+    /**
+     * Decodes the specified content skipping its byte order mark
+     */
+    private static String decode(ByteBuffer content)
+    {
+        final Charset charset = detectCharset(content);
+        final int bomSize = bomSize(content);
         if (bomSize > 0)
         {
             LOGGER.debug("Trimming {}-byte BOM", bomSize);
-            int trimmedSize = content.length - bomSize;
-            byte[] trimmedArray = new byte[trimmedSize];
-            System.arraycopy(content, bomSize, trimmedArray, 0, trimmedSize);
-            return trimmedArray;
         }
-        return content;
+        if (content.hasArray())
+        {
+            return new String(content.array(), content.arrayOffset() + content.position() + bomSize, content.remaining() - bomSize, charset);
+        }
+        content.position(content.position() + bomSize);
+        return charset.decode(content).toString();
     }
 
     public static String detectEncoding(byte[] content)
     {
+        return detectCharset(ByteBuffer.wrap(content)).name();
+    }
+
+    private static Charset detectCharset(ByteBuffer content)
+    {
+        final String bomEncoding = bomEncoding(content);
+        if (bomEncoding != null)
+        {
+            LOGGER.debug("Detected encoding from BOM: {}", bomEncoding);
+            return Charset.forName(bomEncoding);
+        }
+        switch (scanUtf8(content))
+        {
+        case ASCII:
+            LOGGER.debug("ASCII content, using default encoding: {}", getDefaultEncoding());
+            return forName(getDefaultEncoding());
+        case UTF8:
+            LOGGER.debug("Detected encoding: UTF-8");
+            return UTF_8;
+        default:
+            return forName(detectEncoding(content));
+        }
+    }
+
+    private static String detectEncoding(ByteBuffer content)
+    {
+        final byte[] prefix = new byte[Math.min(content.remaining(), DETECTION_PREFIX_SIZE)];
+        content.duplicate().get(prefix);
         UniversalDetector detector = new UniversalDetector(null);
-        detector.handleData(content, 0, content.length);
+        detector.handleData(prefix, 0, prefix.length);
         detector.dataEnd();
         String encoding = detector.getDetectedCharset();
         if (encoding != null)
@@ -131,4 +179,127 @@ public class StreamUtils
         detector.reset();
         return encoding;
     }
+
+    private static Charset forName(String encoding)
+    {
+        try
+        {
+            return Charset.forName(encoding);
+        }
+        catch (IllegalCharsetNameException | UnsupportedCharsetException e)
+        {
+            LOGGER.debug("Unsupported encoding {}, using UTF-8", encoding);
+            return UTF_8;
+        }
+    }
+
+    private static String bomEncoding(ByteBuffer content)
+    {
+        if (startsWith(content, 0x00, 0x00, 0xFE, 0xFF))
+        {
+            return "UTF-32BE";
+        }
+        if (startsWith(content, 0xFF, 0xFE, 0x00, 0x00))
+        {
+            return "UTF-32LE";
+        }
+        if (startsWith(content, 0xEF, 0xBB, 0xBF))
+        {
+            return "UTF-8";
+        }
+        if (startsWith(content, 0xFE, 0xFF))
+        {
+            return "UTF-16BE";
+        }
+        if (startsWith(content, 0xFF, 0xFE))
+        {
+            return "UTF-16LE";
+        }
+        return null;
+    }
+
+    private static int bomSize(ByteBuffer content)
+    {
+        final String bomEncoding = bomEncoding(content);
+        if (bomEncoding == null)
+        {
+            return 0;
+        }
+        return bomEncoding.startsWith("UTF-32") ? 4 : bomEncoding.equals("UTF-8") ? 3 : 2;
+    }
+
+    private static boolean startsWith(ByteBuffer content, int... bytes)
+    {
+        if (content.remaining() < bytes.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++)
+        {
+            if ((content.get(content.position() + i) & 0xFF) != bytes[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private enum Utf8Scan
+    {
+        ASCII, UTF8, OTHER
+    }
+
+    /**
+     * Checks whether the content is ASCII or well formed UTF-8. NUL bytes are rejected as they are
+     * only expected in UTF-16 or UTF-32 content without byte order mark.
+     */
+    private static Utf8Scan scanUtf8(ByteBuffer content)
+    {
+        boolean ascii = true;
+        final int end = content.limit();
+        int i = content.position();
+        while (i < end)
+        {
+            final int b = content.get(i++);
+            if (b > 0)
+            {
+                continue;
+            }
+            if (b == 0)
+            {
+                return Utf8Scan.OTHER;
+            }
+            ascii = false;
+            final int lead = b & 0xFF;
+            final int continuations;
+            if (lead >= 0xC2 && lead <= 0xDF)
+            {
+                continuations = 1;
+            }
+            else if (lead >= 0xE0 && lead <= 0xEF)
+            {
+                continuations = 2;
+            }
+            else if (lead >= 0xF0 && lead <= 0xF4)
+            {
+                continuations = 3;
+            }
+            else
+            {
+                return Utf8Scan.OTHER;
+            }
+            if (i + continuations > end)
+            {
+                return Utf8Scan.OTHER;
+            }
+            for (int c = 0; c < continuations; c++)
+            {
+                if ((content.get(i++) & 0xC0) != 0x80)
+                {
+                    return Utf8Scan.OTHER;
+                }
+            }
+        }
+        return ascii ? Utf8Scan.ASCII : Utf8Scan.UTF8;
+    }
 }
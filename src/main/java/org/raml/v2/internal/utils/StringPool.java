@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Shared pool of the keys and short scalar values of the parsed documents. Every occurrence of
+ * <code>type</code>, <code>description</code>, a status code or a media type is otherwise a distinct string,
+ * and they add up to a large share of the retained trees. The pool holds its strings weakly, so it only
+ * deduplicates among the trees that are alive, including cached libraries and base documents.
+ * It can be disabled with the <code>raml.parser.stringPool</code> system property, read when this class is loaded.
+ */
+public class StringPool
+{
+
+    public static final String STRING_POOL = "raml.parser.stringPool";
+
+    private static final int MAX_POOLED_LENGTH = 64;
+
+    // read once, this is called for every key and scalar parsed
+    private static final boolean ENABLED = !"false".equals(System.getProperty(STRING_POOL));
+
+    private static final Interner<String> strings = Interners.newWeakInterner();
+
+    /**
+     * Returns the pooled instance equal to the specified value, or the value itself if it is not pooled
+     */
+    @Nullable
+    public static String intern(@Nullable String value)
+    {
+        return intern(value, ENABLED);
+    }
+
+    @Nullable
+    static String intern(@Nullable String value, boolean enabled)
+    {
+        if (value == null || value.length() > MAX_POOLED_LENGTH || !enabled)
+        {
+            return value;
+        }
+        return strings.intern(value);
+    }
+}
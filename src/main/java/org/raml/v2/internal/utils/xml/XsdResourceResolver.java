@@ -30,6 +30,7 @@ public class XsdResourceResolver implements LSResourceResolver
 
     private final String resourcePath;
     private final ResourceLoader resourceLoader;
+    private boolean resolvedResources;
 
     public XsdResourceResolver(ResourceLoader resourceLoader, String resourcePath)
     {
@@ -40,6 +41,7 @@ public class XsdResourceResolver implements LSResourceResolver
     @Override
     public LSInput resolveResource(String type, String namespaceURI, String publicId, String systemId, String baseURI)
     {
+        resolvedResources = true;
         String path = resolvePath(systemId);
         if (path == null || path.startsWith("http://") || path.startsWith("https://"))
         {
@@ -65,6 +67,14 @@ public class XsdResourceResolver implements LSResourceResolver
         return input;
     }
 
+    /**
+     * Whether the schema being compiled referenced any other resource (imports, includes or redefines)
+     */
+    public boolean hasResolvedResources()
+    {
+        return resolvedResources;
+    }
+
     private String resolvePath(String includePath)
     {
         // TODO works for relative only for now
@@ -59,8 +59,18 @@ public class ApiModelParserTestCase extends TestDataProvider
     @Test
     public void basicRaml() throws Exception
     {
+        assertModel(new RamlModelBuilder());
+    }
+
+    @Test
+    public void withoutSourceHistory() throws Exception
+    {
+        assertModel(new RamlModelBuilder().setSourceRetention(SourceRetention.NONE));
+    }
 
-        final RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(input);
+    private void assertModel(RamlModelBuilder builder) throws Exception
+    {
+        final RamlModelResult ramlModelResult = builder.buildApi(input);
         final List<ValidationResult> validationResults = ramlModelResult.getValidationResults();
         Assert.assertTrue("Raml has error " + validationResults.toString(), validationResults.isEmpty());
         final StringWriter out = new StringWriter();
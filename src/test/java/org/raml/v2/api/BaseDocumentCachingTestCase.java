@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.api.instrumentation.HistogramInstrumentation;
+import org.raml.v2.api.loader.FileResourceLoader;
+import org.raml.v2.api.loader.VersionedResourceLoader;
+import org.raml.v2.api.model.v10.api.Api;
+import org.raml.v2.api.model.v10.datamodel.NumberTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.StringTypeDeclaration;
+
+public class BaseDocumentCachingTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void copyChain() throws IOException
+    {
+        directory = folder.newFolder("chain");
+        FileUtils.copyDirectory(new File("src/test/resources/org/raml/v2/parser/overlays/chain"), directory);
+    }
+
+    @Test
+    public void baseIsBuiltOnce()
+    {
+        final HistogramInstrumentation instrumentation = new HistogramInstrumentation();
+        final RamlModelBuilder builder = new RamlModelBuilder(new FileResourceLoader(directory)).setBaseDocumentCaching(true).setInstrumentation(instrumentation);
+        for (int i = 0; i < 3; i++)
+        {
+            final RamlModelResult ramlModelResult = builder.buildApi(new File(directory, "input.raml"));
+            assertThat(ramlModelResult.hasErrors(), is(false));
+            assertOverlaid(ramlModelResult.getApiV10());
+        }
+        // three overlays and the master once
+        assertThat(instrumentation.getHistogram("build.time").getCount(), is(4L));
+    }
+
+    @Test
+    public void cachedBaseIsNotModified()
+    {
+        final RamlModelBuilder builder = new RamlModelBuilder(new FileResourceLoader(directory)).setBaseDocumentCaching(true);
+        assertOverlaid(builder.buildApi(new File(directory, "input.raml")).getApiV10());
+
+        final Api extension = builder.buildApi(new File(directory, "extension.raml")).getApiV10();
+        assertThat(extension.resources().get(0).description(), is((Object) null));
+        assertThat(extension.types().get(0).examples().get(0).value(), is("primo"));
+    }
+
+    @Test
+    public void changedBaseIsBuiltAgain() throws IOException
+    {
+        final RamlModelBuilder builder = new RamlModelBuilder(new FileResourceLoader(directory)).setBaseDocumentCaching(true);
+        assertThat(builder.buildApi(new File(directory, "input.raml")).getApiV10().title().value(), is("master"));
+
+        final File master = new File(directory, "master.raml");
+        FileUtils.writeStringToFile(master, FileUtils.readFileToString(master).replace("title: master", "title: changed"));
+        assertThat(builder.buildApi(new File(directory, "input.raml")).getApiV10().title().value(), is("changed"));
+    }
+
+    @Test
+    public void baseWithChangedIncludeIsBuiltAgain() throws IOException
+    {
+        final File base = folder.newFolder("included");
+        FileUtils.writeStringToFile(new File(base, "api.raml"), "#%RAML 1.0\ntitle: base\ntypes:\n  User: !include user.raml\n");
+        FileUtils.writeStringToFile(new File(base, "user.raml"), "#%RAML 1.0 DataType\ntype: string\n");
+        FileUtils.writeStringToFile(new File(base, "overlay.raml"), "#%RAML 1.0 Overlay\nextends: api.raml\ntitle: overlaid\n");
+        final RamlModelBuilder builder = new RamlModelBuilder(new FileResourceLoader(base)).setBaseDocumentCaching(true);
+        assertThat(builder.buildApi(new File(base, "overlay.raml")).getApiV10().types().get(0), instanceOf(StringTypeDeclaration.class));
+        assertThat(builder.buildApi(new File(base, "overlay.raml")).getApiV10().types().get(0), instanceOf(StringTypeDeclaration.class));
+
+        final File user = new File(base, "user.raml");
+        final long lastModified = user.lastModified();
+        FileUtils.writeStringToFile(user, "#%RAML 1.0 DataType\ntype: number\n");
+        // same size, make sure the version changes even on file systems with a coarse modification time
+        user.setLastModified(lastModified + 2000);
+        assertThat(builder.buildApi(new File(base, "overlay.raml")).getApiV10().types().get(0), instanceOf(NumberTypeDeclaration.class));
+    }
+
+    @Test
+    public void versionedDependenciesAreNotFetchedAgain() throws IOException
+    {
+        final File base = folder.newFolder("versioned");
+        FileUtils.writeStringToFile(new File(base, "api.raml"), "#%RAML 1.0\ntitle: base\ntypes:\n  User: !include user.raml\n");
+        FileUtils.writeStringToFile(new File(base, "user.raml"), "#%RAML 1.0 DataType\ntype: string\n");
+        FileUtils.writeStringToFile(new File(base, "overlay.raml"), "#%RAML 1.0 Overlay\nextends: api.raml\ntitle: overlaid\n");
+        final CountingResourceLoader loader = new CountingResourceLoader(new FileResourceLoader(base));
+        final RamlModelBuilder builder = new RamlModelBuilder(loader).setBaseDocumentCaching(true).setInstrumentation(new HistogramInstrumentation());
+        for (int i = 0; i < 3; i++)
+        {
+            assertThat(builder.buildApi(new File(base, "overlay.raml")).getApiV10().types().get(0), instanceOf(StringTypeDeclaration.class));
+        }
+        assertThat(loader.fetched.toString(), loader.fetched.get(new File(base, "user.raml").getPath()), is(1));
+    }
+
+    private void assertOverlaid(Api api)
+    {
+        assertThat(api.types().size(), is(3));
+        assertThat(api.types().get(0).examples().get(0).value(), is("overlaid"));
+        assertThat(api.resources().get(0).description().value(), is("overlaid points"));
+        assertThat(api.resources().get(0).methods().size(), is(2));
+    }
+
+    private static class CountingResourceLoader implements VersionedResourceLoader
+    {
+
+        private final FileResourceLoader delegate;
+        private final Map<String, Integer> fetched = new HashMap<>();
+
+        CountingResourceLoader(FileResourceLoader delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            final Integer count = fetched.get(resourceName);
+            fetched.put(resourceName, count == null ? 1 : count + 1);
+            return delegate.fetchResource(resourceName);
+        }
+
+        @Override
+        public String getVersion(String resourceName)
+        {
+            return delegate.getVersion(resourceName);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.dataprovider.SyntheticRamlGenerator;
+
+/**
+ * Builds synthetic projects of increasing size and checks that time and allocated bytes grow close to linearly,
+ * so a pass that becomes quadratic in the size of the API fails the build.
+ * Allocation is measured on the building thread and is always checked. Wall clock time is too noisy on shared machines,
+ * it is only checked when the <code>raml.tests.timing</code> system property is set.
+ */
+public class ScalingTestCase
+{
+
+    private static final int SCALE = 8;
+    private static final double MAX_ALLOCATION_GROWTH = SCALE * 1.5;
+    private static final double MAX_TIME_GROWTH = SCALE * 3;
+    private static final int RUNS = 3;
+    private static final String TIMING = "raml.tests.timing";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void raml10GrowsLinearly() throws IOException
+    {
+        assertLinearGrowth(SyntheticRamlGenerator.raml10(), SyntheticRamlGenerator.raml10().scale(SCALE));
+    }
+
+    @Test
+    public void raml08GrowsLinearly() throws IOException
+    {
+        assertLinearGrowth(SyntheticRamlGenerator.raml08(), SyntheticRamlGenerator.raml08().scale(SCALE));
+    }
+
+    @Test
+    public void generatorIsDeterministic()
+    {
+        assertThat(SyntheticRamlGenerator.raml10().scale(2).generate(), is(SyntheticRamlGenerator.raml10().scale(2).generate()));
+    }
+
+    private void assertLinearGrowth(SyntheticRamlGenerator small, SyntheticRamlGenerator large) throws IOException
+    {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+
+        final File smallApi = small.writeTo(folder.newFolder("small"));
+        final File largeApi = large.writeTo(folder.newFolder("large"));
+
+        // warm up
+        build(smallApi, allocationBean);
+        final Measure smallMeasure = build(smallApi, allocationBean);
+        final Measure largeMeasure = build(largeApi, allocationBean);
+
+        assertThat((double) largeMeasure.allocatedBytes / smallMeasure.allocatedBytes, lessThanOrEqualTo(MAX_ALLOCATION_GROWTH));
+        if (Boolean.getBoolean(TIMING))
+        {
+            assertThat((double) largeMeasure.nanos / smallMeasure.nanos, lessThanOrEqualTo(MAX_TIME_GROWTH));
+        }
+    }
+
+    private Measure build(File api, com.sun.management.ThreadMXBean allocationBean)
+    {
+        final long threadId = Thread.currentThread().getId();
+        final Measure measure = new Measure();
+        for (int i = 0; i < RUNS; i++)
+        {
+            final long allocatedBytes = allocationBean.getThreadAllocatedBytes(threadId);
+            final long start = System.nanoTime();
+            final RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(api);
+            measure.nanos = Math.min(measure.nanos, System.nanoTime() - start);
+            measure.allocatedBytes = Math.min(measure.allocatedBytes, allocationBean.getThreadAllocatedBytes(threadId) - allocatedBytes);
+            assertThat(ramlModelResult.getValidationResults().isEmpty(), is(true));
+        }
+        return measure;
+    }
+
+    private static class Measure
+    {
+        private long nanos = Long.MAX_VALUE;
+        private long allocatedBytes = Long.MAX_VALUE;
+    }
+}
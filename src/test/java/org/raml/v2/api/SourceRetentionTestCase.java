@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import org.raml.v2.api.model.common.ValidationResult;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.impl.RamlBuilder;
+import org.raml.v2.internal.impl.v10.nodes.LibraryLinkNode;
+
+public class SourceRetentionTestCase
+{
+
+    private final File input = new File("src/test/resources/org/raml/v2/api/v10/validation-level/input.raml");
+
+    @Test
+    public void errorPositionsAreKept()
+    {
+        final List<ValidationResult> expected = new RamlModelBuilder().buildApi(input).getValidationResults();
+        for (SourceRetention retention : SourceRetention.values())
+        {
+            final List<ValidationResult> results = new RamlModelBuilder().setSourceRetention(retention).buildApi(input).getValidationResults();
+            assertThat(results.toString(), is(expected.toString()));
+        }
+    }
+
+    @Test
+    public void positionsAreKept()
+    {
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setSourceRetention(SourceRetention.POSITIONS_ONLY);
+        final Node tree = builder.build(new File("src/test/resources/org/raml/v2/api/v10/leagues/input.raml"));
+        final Node expected = new RamlBuilder().build(new File("src/test/resources/org/raml/v2/api/v10/leagues/input.raml"));
+        assertSamePositions(tree, expected);
+    }
+
+    private void assertSamePositions(Node node, Node expected)
+    {
+        assertThat(node.getStartPosition().toString(), is(expected.getStartPosition().toString()));
+        assertThat(node.getEndPosition().toString(), is(expected.getEndPosition().toString()));
+        assertThat(node.getChildren().size(), is(expected.getChildren().size()));
+        for (int i = 0; i < node.getChildren().size(); i++)
+        {
+            assertSamePositions(node.getChildren().get(i), expected.getChildren().get(i));
+        }
+    }
+
+    @Test
+    public void historyIsDropped()
+    {
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setSourceRetention(SourceRetention.NONE);
+        final Node tree = builder.build(new File("src/test/resources/org/raml/v2/api/v10/object-type/input.raml"));
+        for (Node node : tree.findDescendantsWith(Node.class))
+        {
+            assertThat(node.getSource(), nullValue());
+        }
+    }
+
+    @Test
+    public void libraryHistoryIsDropped()
+    {
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setSourceRetention(SourceRetention.NONE);
+        final Node tree = builder.build(new File("src/test/resources/org/raml/v2/api/v10/library/input.raml"));
+        final List<LibraryLinkNode> links = tree.findDescendantsWith(LibraryLinkNode.class);
+        assertThat(links.isEmpty(), is(false));
+        for (LibraryLinkNode link : links)
+        {
+            assertThat(link.getRefNode().getSource(), nullValue());
+            for (Node node : link.getRefNode().findDescendantsWith(Node.class))
+            {
+                assertThat(node.getSource(), nullValue());
+            }
+        }
+    }
+}
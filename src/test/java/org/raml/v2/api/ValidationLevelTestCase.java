@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.api.loader.FileResourceLoader;
+
+public class ValidationLevelTestCase
+{
+
+    private final File input = new File("src/test/resources/org/raml/v2/api/v10/validation-level/input.raml");
+
+    @Test
+    public void fullValidationReportsInvalidExample()
+    {
+        final RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(input);
+        assertThat(ramlModelResult.hasErrors(), is(true));
+    }
+
+    @Test
+    public void structureOnlySkipsExampleValidation()
+    {
+        final RamlModelResult ramlModelResult = new RamlModelBuilder(new DefaultResourceLoader(), ValidationLevel.STRUCTURE_ONLY).buildApi(input);
+        assertThat(ramlModelResult.hasErrors(), is(false));
+        assertThat(ramlModelResult.getApiV10(), notNullValue());
+        assertThat(ramlModelResult.getApiV10().resources().get(0).methods().size(), is(1));
+
+        assertThat(ramlModelResult.validateFully().size(), is(1));
+        assertThat(ramlModelResult.hasErrors(), is(true));
+        assertThat(ramlModelResult.getApiV10(), nullValue());
+    }
+
+    @Test
+    public void validateFullyOnValidatedResult()
+    {
+        final File leagues = new File("src/test/resources/org/raml/v2/api/v10/leagues/input.raml");
+        final RamlModelResult ramlModelResult = new RamlModelBuilder(ValidationLevel.REFERENCES).buildApi(leagues);
+        assertThat(ramlModelResult.hasErrors(), is(false));
+        assertThat(ramlModelResult.validateFully().isEmpty(), is(true));
+        assertThat(ramlModelResult.getApiV10(), notNullValue());
+    }
+
+    @Test
+    public void validateFullyOnExtension()
+    {
+        final File extension = new File("src/test/resources/org/raml/v2/api/v10/validation-level/extension.raml");
+        final FileResourceLoader resourceLoader = new FileResourceLoader(extension.getParentFile());
+        final RamlModelResult ramlModelResult = new RamlModelBuilder(resourceLoader, ValidationLevel.STRUCTURE_ONLY).buildApi(extension);
+        assertThat(ramlModelResult.hasErrors(), is(false));
+        assertThat(ramlModelResult.getApiV10().resources().size(), is(1));
+
+        assertThat(ramlModelResult.validateFully().size(), is(1));
+        assertThat(ramlModelResult.getApiV10(), nullValue());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.instrumentation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+
+public class HistogramInstrumentationTestCase
+{
+
+    private final File input = new File("src/test/resources/org/raml/v2/api/v10/leagues/input.raml");
+
+    @Test
+    public void recordsBuildMetrics()
+    {
+        final HistogramInstrumentation instrumentation = new HistogramInstrumentation();
+        final RamlModelResult ramlModelResult = new RamlModelBuilder().setInstrumentation(instrumentation).buildApi(input);
+        assertThat(ramlModelResult.hasErrors(), is(false));
+
+        assertThat(instrumentation.getHistogram("build.time").getCount(), is(1L));
+        assertThat(instrumentation.getHistogram("build.errors").getMax(), is(0L));
+        assertThat(instrumentation.getHistogram("phase.grammar.time").getCount(), is(1L));
+        assertThat(instrumentation.getHistogram("phase.exampleValidation.time").getCount(), is(1L));
+        assertThat(instrumentation.getHistogram("resource.bytes").getCount() >= 2, is(true));
+        assertThat(instrumentation.getHistograms().get("schema.json.time"), notNullValue());
+    }
+
+    @Test
+    public void exposesHistogramsAsMBeans() throws Exception
+    {
+        final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        final HistogramInstrumentation instrumentation = new HistogramInstrumentation();
+        instrumentation.registerMBeans(mBeanServer, "test");
+        new RamlModelBuilder().setInstrumentation(instrumentation).buildApi(input);
+
+        final ObjectName name = new ObjectName("test:type=Histogram,name=" + ObjectName.quote("build.time"));
+        assertThat(mBeanServer.isRegistered(name), is(true));
+        assertThat((Long) mBeanServer.getAttribute(name, "Count"), is(1L));
+
+        instrumentation.unregisterMBeans();
+        assertThat(mBeanServer.isRegistered(name), is(false));
+    }
+
+    @Test
+    public void histogramPercentiles()
+    {
+        final Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMin(), is(1L));
+        assertThat(histogram.getMax(), is(100L));
+        assertThat(histogram.getMedian() >= 32 && histogram.getMedian() <= 64, is(true));
+        assertThat(histogram.get99thPercentile() <= 100, is(true));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingResourceLoaderTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CountingResourceLoader fileLoader;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        fileLoader = new CountingResourceLoader(new FileResourceLoader(folder.getRoot()));
+        FileUtils.writeStringToFile(folder.newFile("api.raml"), "#%RAML 1.0\ntitle: one\n");
+    }
+
+    @Test
+    public void servesFromMemory() throws IOException
+    {
+        final CachingResourceLoader loader = new CachingResourceLoader(fileLoader);
+        assertThat(read(loader, "api.raml"), is("#%RAML 1.0\ntitle: one\n"));
+        assertThat(read(loader, "api.raml"), is("#%RAML 1.0\ntitle: one\n"));
+        assertThat(fileLoader.fetched, is(1));
+    }
+
+    @Test
+    public void revalidatesWithVersion() throws IOException
+    {
+        final CachingResourceLoader loader = new CachingResourceLoader(fileLoader).setFreshness(0, TimeUnit.SECONDS);
+        read(loader, "api.raml");
+        read(loader, "api.raml");
+        assertThat(fileLoader.fetched, is(1));
+
+        FileUtils.writeStringToFile(new File(folder.getRoot(), "api.raml"), "#%RAML 1.0\ntitle: changed\n");
+        assertThat(read(loader, "api.raml"), is("#%RAML 1.0\ntitle: changed\n"));
+        assertThat(fileLoader.fetched, is(2));
+    }
+
+    @Test
+    public void remembersMissingResources() throws IOException
+    {
+        final CachingResourceLoader loader = new CachingResourceLoader(fileLoader);
+        assertThat(loader.fetchResource("missing.raml"), nullValue());
+        assertThat(loader.fetchResource("missing.raml"), nullValue());
+        assertThat(fileLoader.fetched, is(1));
+
+        loader.setMissFreshness(0, TimeUnit.SECONDS);
+        FileUtils.writeStringToFile(new File(folder.getRoot(), "missing.raml"), "found");
+        assertThat(read(loader, "missing.raml"), is("found"));
+        assertThat(fileLoader.fetched, is(2));
+    }
+
+    @Test
+    public void evictsBeyondMaxSize() throws IOException
+    {
+        FileUtils.writeStringToFile(folder.newFile("large.raml"), new String(new char[1000]).replace('\0', 'a'));
+        final CachingResourceLoader loader = new CachingResourceLoader(fileLoader, 500);
+        read(loader, "large.raml");
+        read(loader, "large.raml");
+        assertThat(fileLoader.fetched, is(2));
+    }
+
+    private static String read(ResourceLoader loader, String resourceName) throws IOException
+    {
+        try (InputStream inputStream = loader.fetchResource(resourceName))
+        {
+            return IOUtils.toString(inputStream, "UTF-8");
+        }
+    }
+
+    private static class CountingResourceLoader implements VersionedResourceLoader
+    {
+
+        private final VersionedResourceLoader delegate;
+        private int fetched;
+
+        CountingResourceLoader(VersionedResourceLoader delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            fetched++;
+            return delegate.fetchResource(resourceName);
+        }
+
+        @Override
+        public String getVersion(String resourceName)
+        {
+            return delegate.getVersion(resourceName);
+        }
+    }
+}
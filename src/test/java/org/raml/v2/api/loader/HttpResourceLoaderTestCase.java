@@ -0,0 +1,246 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.instrumentation.HistogramInstrumentation;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpResourceLoaderTestCase
+{
+
+    private final Map<String, String> resources = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long delay;
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                final int current = inFlight.incrementAndGet();
+                int max = maxInFlight.get();
+                while (current > max && !maxInFlight.compareAndSet(max, current))
+                {
+                    max = maxInFlight.get();
+                }
+                try
+                {
+                    Thread.sleep(delay);
+                    final String content = resources.get(exchange.getRequestURI().getPath());
+                    if (content == null)
+                    {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("ETag", "\"" + content.hashCode() + "\"");
+                    if ("HEAD".equals(exchange.getRequestMethod()))
+                    {
+                        exchange.sendResponseHeaders(200, -1);
+                        return;
+                    }
+                    exchange.sendResponseHeaders(200, bytes.length);
+                    try (OutputStream body = exchange.getResponseBody())
+                    {
+                        body.write(bytes);
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                finally
+                {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown()
+    {
+        server.stop(0);
+    }
+
+    @Test
+    public void fetchesResources() throws IOException
+    {
+        resources.put("/api.raml", "#%RAML 1.0\ntitle: remote\n");
+        try (HttpResourceLoader loader = new HttpResourceLoader())
+        {
+            assertThat(read(loader.fetchResource(baseUrl + "/api.raml")), is("#%RAML 1.0\ntitle: remote\n"));
+            assertThat(loader.fetchResource(baseUrl + "/missing.raml"), nullValue());
+            assertThat(loader.fetchResource("api.raml"), nullValue());
+            assertThat(loader.getVersion(baseUrl + "/api.raml"), is("\"" + resources.get("/api.raml").hashCode() + "\""));
+        }
+    }
+
+    @Test
+    public void boundsConcurrentFetches() throws Exception
+    {
+        delay = 100;
+        final List<ListenableFuture<InputStream>> futures = new ArrayList<>();
+        try (HttpResourceLoader loader = new HttpResourceLoader(2))
+        {
+            for (int i = 0; i < 6; i++)
+            {
+                resources.put("/type" + i + ".raml", "type: string");
+                futures.add(loader.fetchResourceAsync(baseUrl + "/type" + i + ".raml"));
+            }
+            for (InputStream inputStream : Futures.allAsList(futures).get())
+            {
+                assertThat(read(inputStream), is("type: string"));
+            }
+        }
+        assertThat(maxInFlight.get(), is(2));
+    }
+
+    @Test
+    public void timesOut() throws IOException
+    {
+        delay = 1000;
+        resources.put("/api.raml", "#%RAML 1.0\ntitle: remote\n");
+        try (HttpResourceLoader loader = new HttpResourceLoader().setReadTimeout(100))
+        {
+            assertThat(loader.fetchResource(baseUrl + "/api.raml"), nullValue());
+        }
+    }
+
+    @Test
+    public void prefetchesIncludes()
+    {
+        delay = 100;
+        resources.put("/api.raml", "#%RAML 1.0\ntitle: remote\ntypes:\n  A: !include a.raml\n  B: !include b.raml\n  C: !include c.raml\n");
+        resources.put("/a.raml", "type: string");
+        resources.put("/b.raml", "type: number");
+        resources.put("/c.raml", "type: boolean");
+        try (HttpResourceLoader loader = new HttpResourceLoader())
+        {
+            final RamlModelResult result = new RamlModelBuilder(loader).buildApi(baseUrl + "/api.raml");
+            assertThat(result.hasErrors(), is(false));
+            assertThat(result.getApiV10().types().size(), is(3));
+        }
+        assertThat(maxInFlight.get(), greaterThanOrEqualTo(2));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(HttpResourceLoader.DEFAULT_MAX_CONCURRENT_FETCHES));
+    }
+
+    @Test
+    public void prefetchesIncludesWhenInstrumented()
+    {
+        delay = 100;
+        putIncludingApi();
+        final HistogramInstrumentation instrumentation = new HistogramInstrumentation();
+        try (HttpResourceLoader loader = new HttpResourceLoader())
+        {
+            final RamlModelResult result = new RamlModelBuilder(loader).setInstrumentation(instrumentation).buildApi(baseUrl + "/api.raml");
+            assertThat(result.hasErrors(), is(false));
+        }
+        assertThat(maxInFlight.get(), greaterThanOrEqualTo(2));
+        assertThat(instrumentation.getHistogram("resource.bytes").getCount(), greaterThanOrEqualTo(2L));
+    }
+
+    @Test
+    public void defaultLoaderPrefetchesIncludes()
+    {
+        delay = 100;
+        putIncludingApi();
+        final DefaultResourceLoader loader = new DefaultResourceLoader();
+        final RamlModelResult result = new RamlModelBuilder().buildApi(baseUrl + "/api.raml");
+        assertThat(result.hasErrors(), is(false));
+        assertThat(maxInFlight.get(), greaterThanOrEqualTo(2));
+        assertThat(loader.getServedBy(baseUrl + "/a.raml"), is("http"));
+    }
+
+    @Test
+    public void blockingLoadersAreNotPrefetched()
+    {
+        delay = 50;
+        putIncludingApi();
+        final RamlModelResult result = new RamlModelBuilder(new UrlResourceLoader()).buildApi(baseUrl + "/api.raml");
+        assertThat(result.hasErrors(), is(false));
+        assertThat(maxInFlight.get(), is(1));
+    }
+
+    @Test
+    public void blockingLoadersCanOptInToPrefetching()
+    {
+        delay = 100;
+        putIncludingApi();
+        final RamlModelResult result = new RamlModelBuilder(ExecutorResourceLoader.asAsync(new UrlResourceLoader())).buildApi(baseUrl + "/api.raml");
+        assertThat(result.hasErrors(), is(false));
+        assertThat(maxInFlight.get(), greaterThanOrEqualTo(2));
+    }
+
+    private void putIncludingApi()
+    {
+        resources.put("/api.raml", "#%RAML 1.0\ntitle: remote\ntypes:\n  A: !include a.raml\n  B: !include b.raml\n");
+        resources.put("/a.raml", "type: string");
+        resources.put("/b.raml", "type: number");
+    }
+
+    private static String read(InputStream inputStream) throws IOException
+    {
+        try
+        {
+            return IOUtils.toString(inputStream, "UTF-8");
+        }
+        finally
+        {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+}
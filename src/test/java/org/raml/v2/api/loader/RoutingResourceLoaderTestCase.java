@@ -0,0 +1,190 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.net.URLStreamHandlerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RoutingResourceLoaderTestCase
+{
+
+    private static final Map<String, String> vfsResources = new ConcurrentHashMap<>();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void registerVfsScheme()
+    {
+        try
+        {
+            URL.setURLStreamHandlerFactory(new VfsHandlerFactory());
+        }
+        catch (Error e)
+        {
+            // already registered in this JVM
+        }
+    }
+
+    @Test
+    public void detectsSchemes()
+    {
+        assertThat(RoutingResourceLoader.getScheme("http://example.com/api.raml"), is("http"));
+        assertThat(RoutingResourceLoader.getScheme("svn+ssh://example.com/api.raml"), is("svn+ssh"));
+        assertThat(RoutingResourceLoader.getScheme("C:\\apis\\api.raml"), nullValue());
+        assertThat(RoutingResourceLoader.getScheme("types/user.raml"), nullValue());
+        assertThat(RoutingResourceLoader.getScheme("types/a:b.raml"), nullValue());
+        assertThat(RoutingResourceLoader.getScheme(""), nullValue());
+    }
+
+    @Test
+    public void routesBySchemeOnly()
+    {
+        final RecordingResourceLoader http = new RecordingResourceLoader();
+        final RecordingResourceLoader relative = new RecordingResourceLoader();
+        final RoutingResourceLoader loader = new RoutingResourceLoader().addScheme("http", http).addRelativeLoader("relative", relative);
+
+        assertThat(loader.fetchResource("HTTP://example.com/missing.raml"), nullValue());
+        assertThat(http.requested.size(), is(1));
+        assertThat(relative.requested.size(), is(0));
+
+        assertThat(loader.fetchResource("unknown:api.raml"), nullValue());
+        assertThat(relative.requested.size(), is(1));
+        assertThat(http.requested.size(), is(1));
+    }
+
+    @Test
+    public void looksUpSearchRootsInOrder() throws IOException
+    {
+        final File first = folder.newFolder("first");
+        final File second = folder.newFolder("second");
+        FileUtils.writeStringToFile(new File(second, "api.raml"), "second");
+        final RoutingResourceLoader loader = new RoutingResourceLoader().addSearchRoot(first).addSearchRoot(second);
+
+        assertThat(read(loader, "api.raml"), is("second"));
+        assertThat(loader.getServedBy("api.raml"), is(second.getPath()));
+        assertThat(loader.getVersion("api.raml"), notNullValue());
+
+        FileUtils.writeStringToFile(new File(first, "api.raml"), "first");
+        assertThat(read(loader, "api.raml"), is("first"));
+        assertThat(loader.getServedBy("api.raml"), is(first.getPath()));
+
+        final String absolutePath = new File(second, "api.raml").getAbsolutePath();
+        assertThat(read(loader, absolutePath), is("second"));
+        assertThat(loader.getServedBy(absolutePath), is("file system"));
+        assertThat(loader.getServedBy("missing.raml"), nullValue());
+    }
+
+    @Test
+    public void loadsUrlsOfUnroutedSchemesWithTheUrlLoader() throws IOException
+    {
+        vfsResources.put("/apis/api.raml", "#%RAML 1.0");
+        final RecordingResourceLoader relative = new RecordingResourceLoader();
+        final RoutingResourceLoader loader = new RoutingResourceLoader().setUrlLoader(new UrlResourceLoader()).addRelativeLoader("relative", relative);
+
+        assertThat(read(loader, "vfs:/apis/api.raml"), is("#%RAML 1.0"));
+        assertThat(loader.getServedBy("vfs:/apis/api.raml"), is("vfs"));
+        assertThat(relative.requested.size(), is(0));
+
+        assertThat(loader.fetchResource("unknown:api.raml"), nullValue());
+        assertThat(relative.requested.size(), is(1));
+
+        assertThat(read(new DefaultResourceLoader(), "vfs:/apis/api.raml"), is("#%RAML 1.0"));
+    }
+
+    private static String read(ResourceLoader loader, String resourceName) throws IOException
+    {
+        try (InputStream inputStream = loader.fetchResource(resourceName))
+        {
+            return IOUtils.toString(inputStream, "UTF-8");
+        }
+    }
+
+    private static class RecordingResourceLoader implements ResourceLoader
+    {
+
+        private final List<String> requested = new ArrayList<>();
+
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            requested.add(resourceName);
+            return null;
+        }
+    }
+
+    private static class VfsHandlerFactory implements URLStreamHandlerFactory
+    {
+
+        @Override
+        public URLStreamHandler createURLStreamHandler(String protocol)
+        {
+            if (!"vfs".equals(protocol))
+            {
+                return null;
+            }
+            return new URLStreamHandler()
+            {
+                @Override
+                protected URLConnection openConnection(URL url)
+                {
+                    return new URLConnection(url)
+                    {
+                        @Override
+                        public void connect()
+                        {
+                        }
+
+                        @Override
+                        public InputStream getInputStream() throws IOException
+                        {
+                            final String content = vfsResources.get(getURL().getPath());
+                            if (content == null)
+                            {
+                                throw new FileNotFoundException(getURL().toString());
+                            }
+                            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
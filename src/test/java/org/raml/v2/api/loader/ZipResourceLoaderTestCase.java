@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.api.loader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.internal.utils.StreamUtils;
+
+public class ZipResourceLoaderTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File archive;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        archive = folder.newFile("api.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive)))
+        {
+            store(zip, "api/api.raml", "#%RAML 1.0\ntitle: bundled\nuses:\n  lib: ../libraries/lib.raml\ntypes:\n  User: !include types/user.raml\n" +
+                                       "/users:\n  get:\n    responses:\n      200:\n        body:\n          application/xml:\n            schema: !include user.xsd\n");
+            zip.putNextEntry(new ZipEntry("api/types/"));
+            deflate(zip, "api/types/user.raml", "#%RAML 1.0 DataType\nproperties:\n  name: lib.Name\n");
+            deflate(zip, "libraries/lib.raml", "#%RAML 1.0 Library\ntypes:\n  Name: string\n");
+            deflate(zip, "api/user.xsd", "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">\n" +
+                                         "  <xs:include schemaLocation=\"common.xsd\"/>\n" +
+                                         "  <xs:element name=\"user\" type=\"name\"/>\n</xs:schema>\n");
+            store(zip, "api/common.xsd", "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">\n" +
+                                         "  <xs:simpleType name=\"name\"><xs:restriction base=\"xs:string\"/></xs:simpleType>\n</xs:schema>\n");
+        }
+    }
+
+    @Test
+    public void indexesFiles() throws IOException
+    {
+        final ZipResourceLoader loader = new ZipResourceLoader(archive);
+        assertThat(loader.getResourceNames(), is(Arrays.asList("api/api.raml", "api/common.xsd", "api/types/user.raml", "api/user.xsd", "libraries/lib.raml")));
+        assertThat(read(loader, "/api/./types/../api.raml").startsWith("#%RAML 1.0\ntitle: bundled"), is(true));
+        assertThat(read(loader, "api\\types\\user.raml").startsWith("#%RAML 1.0 DataType"), is(true));
+        assertThat(loader.fetchResource("api/types"), nullValue());
+        assertThat(loader.fetchResource("../api.zip"), nullValue());
+        assertThat(loader.getVersion("missing.raml"), nullValue());
+    }
+
+    @Test
+    public void buildsApiFromArchive() throws IOException
+    {
+        final RamlModelResult result = new RamlModelBuilder(new ZipResourceLoader(archive)).buildApi("api/api.raml");
+        assertThat(result.getValidationResults().toString(), result.hasErrors(), is(false));
+        assertThat(result.getApiV10().title().value(), is("bundled"));
+        assertThat(result.getApiV10().types().get(0).name(), is("User"));
+    }
+
+    @Test
+    public void normalizesNames()
+    {
+        assertThat(ZipResourceLoader.normalize("a/./b//c"), is("a/b/c"));
+        assertThat(ZipResourceLoader.normalize("a/b/../../c"), is("c"));
+        assertThat(ZipResourceLoader.normalize("a/../../c"), nullValue());
+        assertThat(ZipResourceLoader.normalize("/a/b/"), is("a/b/"));
+    }
+
+    private static void store(ZipOutputStream zip, String name, String content) throws IOException
+    {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCompressedSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private static void deflate(ZipOutputStream zip, String name, String content) throws IOException
+    {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String read(ResourceLoader loader, String resourceName)
+    {
+        final InputStream inputStream = loader.fetchResource(resourceName);
+        return StreamUtils.toString(inputStream);
+    }
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.dataprovider;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Generates synthetic RAML projects of a given size to exercise the parser at scale.
+ * The output is deterministic: the same parameters always produce the same files.
+ * <p>
+ * The generated RAML 1.0 project has a main descriptor that includes one data type fragment per type,
+ * uses the generated libraries and declares the traits, two resource types and the resources.
+ * Types are organized in inheritance chains of the configured depth whose roots declare a discriminator.
+ * The RAML 0.8 project has the same resources, traits and resource types, with the types flattened
+ * into JSON schemas and no libraries.
+ */
+public class SyntheticRamlGenerator
+{
+
+    public static final String MAIN_FILE_NAME = "api.raml";
+
+    private static final String[] METHODS = {"get", "post", "put", "patch", "delete", "head", "options"};
+
+    private final boolean raml10;
+    private int resources = 10;
+    private int methods = 2;
+    private int traits = 5;
+    private int types = 10;
+    private int inheritanceDepth = 3;
+    private int libraries = 2;
+    private boolean examples = true;
+
+    private SyntheticRamlGenerator(boolean raml10)
+    {
+        this.raml10 = raml10;
+    }
+
+    public static SyntheticRamlGenerator raml10()
+    {
+        return new SyntheticRamlGenerator(true);
+    }
+
+    public static SyntheticRamlGenerator raml08()
+    {
+        return new SyntheticRamlGenerator(false);
+    }
+
+    /**
+     * Top level resources, each one with a nested member resource
+     */
+    public SyntheticRamlGenerator resources(int resources)
+    {
+        this.resources = resources;
+        return this;
+    }
+
+    /**
+     * Methods of each top level resource, at most seven
+     */
+    public SyntheticRamlGenerator methods(int methods)
+    {
+        this.methods = Math.min(methods, METHODS.length);
+        return this;
+    }
+
+    public SyntheticRamlGenerator traits(int traits)
+    {
+        this.traits = traits;
+        return this;
+    }
+
+    public SyntheticRamlGenerator types(int types)
+    {
+        this.types = types;
+        return this;
+    }
+
+    /**
+     * Length of the inheritance chains the types are organized in
+     */
+    public SyntheticRamlGenerator inheritanceDepth(int inheritanceDepth)
+    {
+        this.inheritanceDepth = Math.max(1, inheritanceDepth);
+        return this;
+    }
+
+    /**
+     * Libraries used by the main descriptor, ignored for RAML 0.8
+     */
+    public SyntheticRamlGenerator libraries(int libraries)
+    {
+        this.libraries = libraries;
+        return this;
+    }
+
+    /**
+     * Whether every type and request body declares an example
+     */
+    public SyntheticRamlGenerator examples(boolean examples)
+    {
+        this.examples = examples;
+        return this;
+    }
+
+    /**
+     * Multiplies the number of resources, traits, types and libraries by the specified factor
+     */
+    public SyntheticRamlGenerator scale(int factor)
+    {
+        resources *= factor;
+        traits *= factor;
+        types *= factor;
+        libraries *= factor;
+        return this;
+    }
+
+    /**
+     * Returns the content of the generated files by their path relative to the project root,
+     * the first one being {@value #MAIN_FILE_NAME}
+     */
+    public Map<String, String> generate()
+    {
+        final Map<String, String> files = new LinkedHashMap<>();
+        files.put(MAIN_FILE_NAME, null);
+        if (raml10)
+        {
+            generateRaml10(files);
+        }
+        else
+        {
+            generateRaml08(files);
+        }
+        return files;
+    }
+
+    /**
+     * Writes the generated files into the specified directory
+     * @return The main descriptor
+     */
+    public File writeTo(File directory) throws IOException
+    {
+        for (Map.Entry<String, String> file : generate().entrySet())
+        {
+            FileUtils.writeStringToFile(new File(directory, file.getKey()), file.getValue(), "UTF-8");
+        }
+        return new File(directory, MAIN_FILE_NAME);
+    }
+
+    private void generateRaml10(Map<String, String> files)
+    {
+        final StringBuilder api = new StringBuilder();
+        api.append("#%RAML 1.0\n");
+        appendHeader(api);
+        if (libraries > 0)
+        {
+            api.append("uses:\n");
+            for (int i = 0; i < libraries; i++)
+            {
+                api.append("  lib").append(i).append(": libraries/lib").append(i).append(".raml\n");
+                files.put("libraries/lib" + i + ".raml", generateLibrary(i));
+            }
+        }
+        if (types > 0)
+        {
+            api.append("types:\n");
+            for (int i = 0; i < types; i++)
+            {
+                api.append("  ").append(typeName(i)).append(": !include types/").append(typeName(i)).append(".raml\n");
+                files.put("types/" + typeName(i) + ".raml", generateDataType(i));
+            }
+        }
+        appendTraits(api);
+        api.append("resourceTypes:\n");
+        api.append("  collection:\n");
+        api.append("    description: Collection of <<resourcePathName>>\n");
+        api.append("    get:\n");
+        api.append("      responses:\n");
+        api.append("        200:\n");
+        api.append("          body:\n");
+        api.append("            type: <<item>>[]\n");
+        api.append("  member:\n");
+        api.append("    description: A single <<resourcePathName | !singularize>>\n");
+        api.append("    get:\n");
+        api.append("      responses:\n");
+        api.append("        200:\n");
+        api.append("          body:\n");
+        api.append("            type: <<item>>\n");
+        api.append("        404:\n");
+        api.append("          description: <<resourcePathName | !singularize>> not found\n");
+
+        for (int i = 0; i < resources; i++)
+        {
+            final String item = itemType(i);
+            api.append("/resource").append(i).append(":\n");
+            api.append("  type: { collection: { item: ").append(item).append(" } }\n");
+            appendIs(api, "  ", i);
+            for (int j = 0; j < methods; j++)
+            {
+                final String method = METHODS[j];
+                api.append("  ").append(method).append(":\n");
+                api.append("    description: ").append(method).append(" resource ").append(i).append('\n');
+                if (hasBody(method) && types > 0)
+                {
+                    api.append("    body:\n");
+                    api.append("      type: ").append(item).append('\n');
+                    if (examples && item.startsWith("Type"))
+                    {
+                        api.append("      example:\n");
+                        appendExample(api, "        ", typeIndex(i));
+                    }
+                }
+                api.append("    responses:\n");
+                api.append("      200:\n");
+                api.append("        description: resource ").append(i).append(' ').append(method).append(" succeeded\n");
+            }
+            api.append("  /{id}:\n");
+            api.append("    type: { member: { item: ").append(item).append(" } }\n");
+            api.append("    uriParameters:\n");
+            api.append("      id:\n");
+            api.append("        type: integer\n");
+            api.append("        minimum: 0\n");
+            api.append("    delete:\n");
+            api.append("      responses:\n");
+            api.append("        204:\n");
+        }
+        files.put(MAIN_FILE_NAME, api.toString());
+    }
+
+    private String generateLibrary(int index)
+    {
+        final StringBuilder library = new StringBuilder();
+        library.append("#%RAML 1.0 Library\n");
+        library.append("types:\n");
+        library.append("  LibType:\n");
+        library.append("    properties:\n");
+        library.append("      name: string\n");
+        library.append("      size?:\n");
+        library.append("        type: integer\n");
+        library.append("        maximum: ").append(100 + index).append('\n');
+        if (examples)
+        {
+            library.append("    example:\n");
+            library.append("      name: library ").append(index).append('\n');
+            library.append("      size: ").append(index).append('\n');
+        }
+        library.append("traits:\n");
+        library.append("  paged:\n");
+        library.append("    queryParameters:\n");
+        library.append("      page:\n");
+        library.append("        type: integer\n");
+        library.append("        default: 0\n");
+        return library.toString();
+    }
+
+    private String generateDataType(int index)
+    {
+        final StringBuilder type = new StringBuilder();
+        type.append("#%RAML 1.0 DataType\n");
+        if (isChainRoot(index))
+        {
+            type.append("discriminator: kind\n");
+        }
+        else
+        {
+            type.append("type: ").append(typeName(index - 1)).append('\n');
+        }
+        type.append("description: Synthetic type ").append(index).append('\n');
+        type.append("properties:\n");
+        if (isChainRoot(index))
+        {
+            type.append("  kind: string\n");
+            type.append("  id:\n");
+            type.append("    type: integer\n");
+            type.append("    minimum: 0\n");
+        }
+        type.append("  ").append(fieldName(index)).append(":\n");
+        type.append("    type: ").append(index % 2 == 0 ? "string" : "number").append('\n');
+        type.append("    required: ").append(index % 3 != 0).append('\n');
+        if (examples)
+        {
+            type.append("example:\n");
+            appendExample(type, "  ", index);
+        }
+        return type.toString();
+    }
+
+    private void appendExample(StringBuilder builder, String indent, int index)
+    {
+        builder.append(indent).append("kind: ").append(typeName(index)).append('\n');
+        builder.append(indent).append("id: ").append(index).append('\n');
+        for (int i = chainRoot(index); i <= index; i++)
+        {
+            builder.append(indent).append(fieldName(i)).append(": ").append(i % 2 == 0 ? "value " + i : String.valueOf(i)).append('\n');
+        }
+    }
+
+    private void generateRaml08(Map<String, String> files)
+    {
+        final StringBuilder api = new StringBuilder();
+        api.append("#%RAML 0.8\n");
+        appendHeader(api);
+        if (types > 0)
+        {
+            api.append("schemas:\n");
+            for (int i = 0; i < types; i++)
+            {
+                api.append("  - ").append(typeName(i)).append(": !include schemas/").append(typeName(i)).append(".json\n");
+                files.put("schemas/" + typeName(i) + ".json", generateJsonSchema(i));
+                if (examples)
+                {
+                    files.put("examples/" + typeName(i) + ".json", generateJsonExample(i));
+                }
+            }
+        }
+        api.append("traits:\n");
+        for (int i = 0; i < traits; i++)
+        {
+            api.append("  - trait").append(i).append(":\n");
+            api.append("      description: Trait ").append(i).append('\n');
+            api.append("      queryParameters:\n");
+            api.append("        filter").append(i).append(":\n");
+            api.append("          type: string\n");
+            api.append("          required: false\n");
+        }
+        api.append("resourceTypes:\n");
+        api.append("  - collection:\n");
+        api.append("      description: Collection of <<resourcePathName>>\n");
+        api.append("      get:\n");
+        api.append("        responses:\n");
+        api.append("          200:\n");
+        api.append("            body:\n");
+        api.append("              application/json:\n");
+        api.append("                schema: <<item>>\n");
+
+        for (int i = 0; i < resources; i++)
+        {
+            api.append("/resource").append(i).append(":\n");
+            if (types > 0)
+            {
+                api.append("  type: { collection: { item: ").append(typeName(typeIndex(i))).append(" } }\n");
+            }
+            appendIs(api, "  ", i);
+            for (int j = 0; j < methods; j++)
+            {
+                final String method = METHODS[j];
+                api.append("  ").append(method).append(":\n");
+                api.append("    description: ").append(method).append(" resource ").append(i).append('\n');
+                if (hasBody(method) && types > 0)
+                {
+                    api.append("    body:\n");
+                    api.append("      application/json:\n");
+                    api.append("        schema: ").append(typeName(typeIndex(i))).append('\n');
+                    if (examples)
+                    {
+                        api.append("        example: !include examples/").append(typeName(typeIndex(i))).append(".json\n");
+                    }
+                }
+                api.append("    responses:\n");
+                api.append("      200:\n");
+                api.append("        description: resource ").append(i).append(' ').append(method).append(" succeeded\n");
+            }
+            api.append("  /{id}:\n");
+            api.append("    uriParameters:\n");
+            api.append("      id:\n");
+            api.append("        type: integer\n");
+            api.append("    delete:\n");
+            api.append("      responses:\n");
+            api.append("        204:\n");
+        }
+        files.put(MAIN_FILE_NAME, api.toString());
+    }
+
+    private String generateJsonSchema(int index)
+    {
+        final StringBuilder schema = new StringBuilder();
+        schema.append("{\n");
+        schema.append("  \"$schema\": \"http://json-schema.org/draft-04/schema#\",\n");
+        schema.append("  \"type\": \"object\",\n");
+        schema.append("  \"properties\": {\n");
+        schema.append("    \"kind\": { \"type\": \"string\" },\n");
+        schema.append("    \"id\": { \"type\": \"integer\", \"minimum\": 0 }");
+        for (int i = chainRoot(index); i <= index; i++)
+        {
+            schema.append(",\n    \"").append(fieldName(i)).append("\": { \"type\": \"").append(i % 2 == 0 ? "string" : "number").append("\" }");
+        }
+        schema.append("\n  },\n");
+        schema.append("  \"required\": [\"kind\", \"id\"]\n");
+        schema.append("}\n");
+        return schema.toString();
+    }
+
+    private String generateJsonExample(int index)
+    {
+        final StringBuilder example = new StringBuilder();
+        example.append("{\"kind\": \"").append(typeName(index)).append("\", \"id\": ").append(index);
+        for (int i = chainRoot(index); i <= index; i++)
+        {
+            example.append(", \"").append(fieldName(i)).append("\": ").append(i % 2 == 0 ? "\"value " + i + "\"" : String.valueOf(i));
+        }
+        example.append("}\n");
+        return example.toString();
+    }
+
+    private void appendHeader(StringBuilder api)
+    {
+        api.append("title: Synthetic API\n");
+        api.append("version: v1\n");
+        api.append("baseUri: http://localhost/{version}\n");
+        api.append("mediaType: application/json\n");
+    }
+
+    private void appendTraits(StringBuilder api)
+    {
+        if (traits > 0)
+        {
+            api.append("traits:\n");
+            for (int i = 0; i < traits; i++)
+            {
+                api.append("  trait").append(i).append(":\n");
+                api.append("    description: Trait ").append(i).append(" of <<methodName>>\n");
+                api.append("    queryParameters:\n");
+                api.append("      filter").append(i).append(":\n");
+                api.append("        type: string\n");
+                api.append("        required: false\n");
+                api.append("    headers:\n");
+                api.append("      X-Trait-").append(i).append(":\n");
+                api.append("        type: string\n");
+                api.append("        required: false\n");
+            }
+        }
+    }
+
+    private void appendIs(StringBuilder api, String indent, int resource)
+    {
+        final StringBuilder is = new StringBuilder();
+        if (traits > 0)
+        {
+            is.append("trait").append(resource % traits);
+            if (traits > 1)
+            {
+                is.append(", trait").append((resource + 1) % traits);
+            }
+        }
+        if (raml10 && libraries > 0 && resource % 2 == 1)
+        {
+            is.append(is.length() > 0 ? ", " : "").append("lib").append(resource % libraries).append(".paged");
+        }
+        if (is.length() > 0)
+        {
+            api.append(indent).append("is: [ ").append(is).append(" ]\n");
+        }
+    }
+
+    /**
+     * Every third resource uses a library type when there are libraries, the rest use the generated types
+     */
+    private String itemType(int resource)
+    {
+        if ((libraries > 0 && resource % 3 == 2) || types == 0)
+        {
+            return libraries > 0 ? "lib" + (resource % libraries) + ".LibType" : "string";
+        }
+        return typeName(typeIndex(resource));
+    }
+
+    private int typeIndex(int resource)
+    {
+        return resource % Math.max(1, types);
+    }
+
+    private boolean hasBody(String method)
+    {
+        return method.equals("post") || method.equals("put") || method.equals("patch");
+    }
+
+    private boolean isChainRoot(int index)
+    {
+        return index % inheritanceDepth == 0;
+    }
+
+    private int chainRoot(int index)
+    {
+        return index - index % inheritanceDepth;
+    }
+
+    private static String typeName(int index)
+    {
+        return "Type" + index;
+    }
+
+    private static String fieldName(int index)
+    {
+        return "field" + index;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.grammar.rule;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.raml.v2.internal.framework.nodes.StringNodeImpl;
+import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
+
+public class EnumRuleTestCase
+{
+
+    @Test
+    public void stringEnum()
+    {
+        final EnumRule rule = EnumRule.forStrings(asList("usa", "rus"));
+        assertTrue(rule.matches(new StringNodeImpl("usa")));
+        assertFalse(rule.matches(new StringNodeImpl("USA")));
+        assertFalse(rule.matches(RamlNodeParser.parse(null, "", "1")));
+    }
+
+    @Test
+    public void numberEnum()
+    {
+        final EnumRule rule = EnumRule.forNumbers(asList(1, 2.5, new BigDecimal("-0")));
+        assertTrue(rule.matches(RamlNodeParser.parse(null, "", "1")));
+        assertTrue(rule.matches(RamlNodeParser.parse(null, "", "1.0")));
+        assertTrue(rule.matches(RamlNodeParser.parse(null, "", "2.5")));
+        assertTrue(rule.matches(new StringNodeImpl("0")));
+        assertFalse(rule.matches(RamlNodeParser.parse(null, "", "2")));
+        assertFalse(rule.matches(new StringNodeImpl("one")));
+    }
+}
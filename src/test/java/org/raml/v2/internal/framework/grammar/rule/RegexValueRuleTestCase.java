@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.grammar.rule;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
+import org.raml.v2.internal.framework.nodes.StringNodeImpl;
+
+public class RegexValueRuleTestCase
+{
+
+    private static final Pattern CATASTROPHIC = Pattern.compile("(a+)+b");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void budgetedMatch()
+    {
+        final RegexValueRule rule = new RegexValueRule(CATASTROPHIC).stepBudget(10000);
+        Assert.assertTrue(rule.matches(new StringNodeImpl("aaab")));
+        assertThat(rule.apply(new StringNodeImpl("aaab")), not(instanceOf(ErrorNode.class)));
+    }
+
+    @Test(timeout = 5000)
+    public void budgetExceeded()
+    {
+        final RegexValueRule rule = new RegexValueRule(CATASTROPHIC).stepBudget(10000);
+        final StringNodeImpl value = new StringNodeImpl(StringUtils.repeat("a", 64) + "!");
+        Assert.assertFalse(rule.matches(value));
+        assertThat(rule.apply(value), instanceOf(ErrorNode.class));
+    }
+
+    @Test
+    public void budgetIsSetPerBuilder() throws IOException
+    {
+        FileUtils.writeStringToFile(new File(folder.getRoot(), "codes.raml"), "#%RAML 1.0 Library\ntypes:\n  Code:\n    pattern: ^[a-z]+$\n");
+        final String api = "#%RAML 1.0\ntitle: budget\nuses:\n  codes: codes.raml\ntypes:\n  Country:\n    type: codes.Code\n    example: " +
+                           StringUtils.repeat("a", 50) + "\n";
+        final String location = new File(folder.getRoot(), "api.raml").getPath();
+
+        final RamlModelResult bounded = new RamlModelBuilder().setPatternStepBudget(10).buildApi(api, location);
+        assertThat(bounded.hasErrors(), is(true));
+        assertThat(bounded.getValidationResults().get(0).getMessage(), containsString("exceeded the limit of 10 steps"));
+
+        final RamlModelResult unbounded = new RamlModelBuilder().buildApi(api, location);
+        assertThat(unbounded.getValidationResults().toString(), unbounded.hasErrors(), is(false));
+    }
+}
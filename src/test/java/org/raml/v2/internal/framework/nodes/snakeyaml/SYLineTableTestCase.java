@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.nodes.snakeyaml;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.Position;
+
+public class SYLineTableTestCase
+{
+
+    @Test
+    public void positionsAcrossBlankAndCommentLines()
+    {
+        final Node root = RamlNodeParser.parse(new DefaultResourceLoader(), "api.raml", "title: My API\r\n\r\n# comment\n\nbaseUri:   http://localhost\nitems:\n  - one\n  - two\n");
+        assertPosition(root.get("title").getStartPosition(), 0, 7);
+        assertPosition(root.get("baseUri").getStartPosition(), 4, 11);
+        assertPosition(root.get("items").getChildren().get(1).getStartPosition(), 7, 4);
+        assertPosition(root.get("items").getChildren().get(1).getEndPosition(), 7, 7);
+        assertThat(root.get("baseUri").getStartPosition().getPath(), is("api.raml"));
+    }
+
+    @Test
+    public void shiftedPositions()
+    {
+        final Node root = RamlNodeParser.parse(new DefaultResourceLoader(), "api.raml", "a: b\nkey: some value\n");
+        final Position start = root.get("key").getStartPosition();
+        assertPosition(start.rightShift(5), 1, 10);
+        assertPosition(start.rightShift(5).leftShift(2), 1, 8);
+    }
+
+    private void assertPosition(Position position, int line, int column)
+    {
+        assertThat(position.getLine(), is(line));
+        assertThat(position.getColumn(), is(column));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.framework.phase;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.raml.v2.internal.framework.grammar.rule.AnyValueRule;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
+
+public class PhaseGraphTestCase
+{
+
+    @Test
+    public void independentTransformationsShareTraversal()
+    {
+        final List<String> visits = new ArrayList<>();
+        final PhaseGraph graph = new PhaseGraph()
+                                                 .phase("first", new TransformationPhase(new Recorder("first", visits)))
+                                                 .phase("second", new TransformationPhase(new Recorder("second", visits)))
+                                                 .phase("grammar", new GrammarPhase(new AnyValueRule()), "first");
+
+        final List<Phase> phases = graph.getPhases(Integer.MAX_VALUE);
+        assertThat(phases.size(), is(2));
+        assertThat(phases.get(1), instanceOf(GrammarPhase.class));
+
+        phases.get(0).apply(RamlNodeParser.parse(null, "", "[a]"));
+        assertThat(visits.toString(), is("[first, second, first, second]"));
+    }
+
+    @Test
+    public void dependentTransformationsKeepSeparateTraversals()
+    {
+        final List<String> visits = new ArrayList<>();
+        final PhaseGraph graph = new PhaseGraph()
+                                                 .phase("first", new TransformationPhase(new Recorder("first", visits)))
+                                                 .phase("second", new TransformationPhase(new Recorder("second", visits)))
+                                                 .phase("third", new TransformationPhase(new Recorder("third", visits)), "first");
+
+        assertThat(graph.getPhases(Integer.MAX_VALUE).size(), is(2));
+        assertThat(graph.getPhases(1).size(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dependenciesMustBeDeclaredFirst()
+    {
+        new PhaseGraph().phase("first", new GrammarPhase(new AnyValueRule()), "second");
+    }
+
+    private static class Recorder implements Transformer
+    {
+        private final String name;
+        private final List<String> visits;
+
+        Recorder(String name, List<String> visits)
+        {
+            this.name = name;
+            this.visits = visits;
+        }
+
+        @Override
+        public boolean matches(Node node)
+        {
+            visits.add(name);
+            return false;
+        }
+
+        @Override
+        public Node transform(Node node)
+        {
+            return node;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
+import org.raml.v2.internal.framework.nodes.Node;
+
+public class RamlWatcherTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<File, Node> results = new LinkedHashMap<>();
+    private RamlWatcher watcher;
+    private File api;
+    private File other;
+
+    @Before
+    public void createFiles() throws IOException
+    {
+        api = write("api.raml", "#%RAML 1.0\n" +
+                                "title: api\n" +
+                                "uses:\n" +
+                                "  lib: lib.raml\n" +
+                                "/users:\n" +
+                                "  get:\n" +
+                                "    responses:\n" +
+                                "      200:\n" +
+                                "        body:\n" +
+                                "          application/json:\n" +
+                                "            type: lib.User\n" +
+                                "            example: !include examples/user.json\n");
+        write("lib.raml", "#%RAML 1.0 Library\n" +
+                          "types:\n" +
+                          "  User:\n" +
+                          "    properties:\n" +
+                          "      name: string\n");
+        write("examples/user.json", "{\"name\": \"john\"}");
+        other = write("other.raml", "#%RAML 1.0\ntitle: other\n");
+        watcher = new RamlWatcher(new RamlWatcher.Listener()
+        {
+            @Override
+            public void validated(File raml, Node result)
+            {
+                results.put(raml, result);
+            }
+        });
+    }
+
+    @After
+    public void close() throws IOException
+    {
+        watcher.close();
+    }
+
+    @Test
+    public void recordsDependencies() throws IOException
+    {
+        watcher.watch(api);
+        assertThat(results.keySet(), is(Collections.singleton(api)));
+        assertThat(errors(api), is(0));
+        assertThat(watcher.getDependencies(api), hasItems(file("lib.raml"), file("examples/user.json")));
+    }
+
+    @Test
+    public void revalidatesDependents() throws IOException
+    {
+        watcher.watch(folder.getRoot());
+        assertThat(results.keySet(), is(set(api, file("lib.raml"), other)));
+        results.clear();
+
+        write("examples/user.json", "{\"name\": 1}");
+        assertThat(watcher.revalidate(Collections.singleton(file("examples/user.json"))), is(Collections.singleton(api)));
+        assertThat(results.keySet(), is(Collections.singleton(api)));
+        assertThat(errors(api), is(1));
+    }
+
+    @Test
+    public void parsesOnlyChangedFilesAgain() throws IOException
+    {
+        watcher.watch(api);
+        final long parsed = watcher.getParseCount(api);
+        assertThat(parsed, is(2L));
+
+        write("examples/user.json", "{\"name\": 1}");
+        watcher.revalidate(Collections.singleton(file("examples/user.json")));
+        assertThat(errors(api), is(1));
+        assertThat(watcher.getParseCount(api), is(parsed));
+
+        write("lib.raml", "#%RAML 1.0 Library\n" +
+                          "types:\n" +
+                          "  User:\n" +
+                          "    properties:\n" +
+                          "      name: integer\n");
+        watcher.revalidate(Collections.singleton(file("lib.raml")));
+        assertThat(errors(api), is(0));
+        assertThat(watcher.getParseCount(api), is(parsed + 1));
+    }
+
+    @Test
+    public void processesFileSystemEvents() throws Exception
+    {
+        watcher.watch(folder.getRoot());
+        results.clear();
+
+        write("lib.raml", "#%RAML 1.0 Library\n" +
+                          "types:\n" +
+                          "  User:\n" +
+                          "    properties:\n" +
+                          "      name: integer\n");
+        final long deadline = System.currentTimeMillis() + 30000;
+        while (!results.containsKey(api) && System.currentTimeMillis() < deadline)
+        {
+            watcher.processEvents(1, TimeUnit.SECONDS);
+        }
+        assertThat(results.keySet(), is(set(api, file("lib.raml"))));
+        assertThat(errors(api), is(1));
+
+        results.clear();
+        final File created = write("created.raml", "#%RAML 1.0\ntitle: created\n");
+        while (!results.containsKey(created) && System.currentTimeMillis() < deadline)
+        {
+            watcher.processEvents(1, TimeUnit.SECONDS);
+        }
+        assertThat(results.keySet(), is(Collections.singleton(created)));
+    }
+
+    private int errors(File raml)
+    {
+        return results.get(raml).findDescendantsWith(ErrorNode.class).size();
+    }
+
+    private File write(String name, String content) throws IOException
+    {
+        final File file = file(name);
+        FileUtils.writeStringToFile(file, content, "UTF-8");
+        return file;
+    }
+
+    private File file(String name)
+    {
+        return new File(folder.getRoot(), name).getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    private static Set<File> set(File... files)
+    {
+        return new HashSet<>(Arrays.asList(files));
+    }
+}
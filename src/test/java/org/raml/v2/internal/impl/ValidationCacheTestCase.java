@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationCacheTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File raml;
+    private File include;
+    private File cacheDirectory;
+
+    @Before
+    public void createFiles() throws IOException
+    {
+        raml = new File(folder.getRoot(), "api.raml");
+        include = new File(folder.getRoot(), "description.md");
+        FileUtils.writeStringToFile(raml, "#%RAML 1.0\ntitle: api\ndescription: !include description.md\n", "UTF-8");
+        FileUtils.writeStringToFile(include, "an api", "UTF-8");
+        cacheDirectory = new File(folder.getRoot(), "cache");
+    }
+
+    @Test
+    public void unchangedFilesAreAnsweredFromCache() throws IOException
+    {
+        new ValidationCache(cacheDirectory, "1").put(raml, "", Collections.singleton(include), false, "1 error found");
+
+        final ValidationCache.Entry entry = new ValidationCache(cacheDirectory, "1").get(raml, "");
+        assertThat(entry, notNullValue());
+        assertThat(entry.isValid(), is(false));
+        assertThat(entry.getOutput(), is("1 error found"));
+        assertThat(new ValidationCache(cacheDirectory, "1").get(raml, "dump"), nullValue());
+        assertThat(new ValidationCache(cacheDirectory, "2").get(raml, ""), nullValue());
+    }
+
+    @Test
+    public void changedDependencyInvalidatesEntry() throws IOException
+    {
+        final ValidationCache cache = new ValidationCache(cacheDirectory, "1");
+        cache.put(raml, "", Collections.singleton(include), true, "No errors found.");
+        FileUtils.writeStringToFile(include, "another api", "UTF-8");
+        assertThat(cache.get(raml, ""), nullValue());
+
+        cache.put(raml, "", Collections.singleton(include), true, "No errors found.");
+        assertThat(include.delete(), is(true));
+        assertThat(cache.get(raml, ""), nullValue());
+    }
+
+    @Test
+    public void evictsStaleAndLeastRecentlyUsedEntries() throws IOException
+    {
+        final ValidationCache cache = new ValidationCache(cacheDirectory, "1");
+        cache.put(raml, "", Collections.<File> emptySet(), true, "");
+        cache.put(raml, "stale", Collections.<File> emptySet(), true, "");
+        cache.put(raml, "old", Collections.<File> emptySet(), true, "");
+        cache.put(raml, "recent", Collections.<File> emptySet(), true, "");
+        final long now = System.currentTimeMillis();
+        setUsed(cache, "stale", now - TimeUnit.DAYS.toMillis(100));
+        setUsed(cache, "old", now - TimeUnit.HOURS.toMillis(1));
+        final long entrySize = cacheDirectory.listFiles()[0].length();
+
+        System.setProperty(ValidationCache.MAX_SIZE, String.valueOf(2 * entrySize));
+        try
+        {
+            cache.evict();
+        }
+        finally
+        {
+            System.clearProperty(ValidationCache.MAX_SIZE);
+        }
+        assertThat(cacheDirectory.listFiles().length, is(2));
+        assertThat(cache.get(raml, "stale"), nullValue());
+        assertThat(cache.get(raml, "old"), nullValue());
+        assertThat(cache.get(raml, "recent"), notNullValue());
+    }
+
+    private void setUsed(ValidationCache cache, String variant, long time)
+    {
+        assertThat(cache.getEntryFile(raml, variant).setLastModified(time), is(true));
+    }
+}
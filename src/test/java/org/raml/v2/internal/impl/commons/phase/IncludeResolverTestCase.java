@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.commons.phase;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.loader.FileResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+import org.raml.v2.internal.framework.nodes.ErrorNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.snakeyaml.ParsedResourceCache;
+import org.raml.v2.internal.framework.nodes.snakeyaml.RamlNodeParser;
+import org.raml.v2.internal.framework.nodes.snakeyaml.SYIncludeNode;
+import org.raml.v2.internal.impl.RamlBuilder;
+
+public class IncludeResolverTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fetchesEachIncludeOnce() throws IOException
+    {
+        FileUtils.writeStringToFile(folder.newFile("person.raml"), "#%RAML 1.0 DataType\nproperties:\n  name: string\n");
+        final String api = "#%RAML 1.0\ntitle: shared\ntypes:\n" +
+                           "  User: !include person.raml\n" +
+                           "  Admin: !include person.raml\n" +
+                           "  Guest: !include person.raml\n";
+        final CountingResourceLoader loader = new CountingResourceLoader(new FileResourceLoader(folder.getRoot()));
+
+        final RamlModelResult result = new RamlModelBuilder(loader).buildApi(api, new File(folder.getRoot(), "api.raml").getPath());
+        assertThat(result.getValidationResults().toString(), result.hasErrors(), is(false));
+        assertThat(loader.fetched.get(new File(folder.getRoot(), "person.raml").getPath()), is(1));
+        assertThat(result.getApiV10().types().size(), is(3));
+        for (TypeDeclaration type : result.getApiV10().types())
+        {
+            assertThat(type.name(), ((ObjectTypeDeclaration) type).properties().get(0).name(), is("name"));
+        }
+    }
+
+    @Test
+    public void parsesEachIncludedResourceOnce() throws IOException
+    {
+        FileUtils.writeStringToFile(folder.newFile("person.raml"), "#%RAML 1.0 DataType\nproperties:\n  name: string\n  address: !include address.raml\n");
+        FileUtils.writeStringToFile(folder.newFile("address.raml"), "#%RAML 1.0 DataType\nproperties:\n  street: string\n");
+        FileUtils.writeStringToFile(folder.newFile("group.raml"), "#%RAML 1.0 DataType\nproperties:\n  members: string[]\n");
+        final String api = "#%RAML 1.0\ntitle: shared\ntypes:\n" +
+                           "  User: !include person.raml\n" +
+                           "  Admin: !include person.raml\n" +
+                           "  Group: !include group.raml\n";
+        final CountingParsedResourceCache parsedResources = new CountingParsedResourceCache();
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setParsedResourceCache(parsedResources);
+
+        final Node result = builder.build(api, new FileResourceLoader(folder.getRoot()), new File(folder.getRoot(), "api.raml").getPath());
+        assertThat(result.findDescendantsWith(ErrorNode.class).toString(), result.findDescendantsWith(ErrorNode.class).isEmpty(), is(true));
+        for (String name : Arrays.asList("person.raml", "address.raml", "group.raml"))
+        {
+            assertThat(name, parsedResources.parsed.get(new File(folder.getRoot(), name).getPath()), is(1));
+        }
+        assertThat(result.findDescendantsWith(SYIncludeNode.class).isEmpty(), is(true));
+    }
+
+    @Test
+    public void reportsEachIncludeOfAMissingResource()
+    {
+        final String api = "#%RAML 1.0\ntitle: missing\ntypes:\n" +
+                           "  User: !include person.raml\n" +
+                           "  Admin: !include person.raml\n";
+        final CountingResourceLoader loader = new CountingResourceLoader(new FileResourceLoader(folder.getRoot()));
+
+        final RamlModelResult result = new RamlModelBuilder(loader).buildApi(api, new File(folder.getRoot(), "api.raml").getPath());
+        assertThat(result.getValidationResults().size(), is(2));
+        assertThat(loader.fetched.get(new File(folder.getRoot(), "person.raml").getPath()), is(1));
+    }
+
+    private static class CountingParsedResourceCache extends ParsedResourceCache
+    {
+
+        private final Map<String, Integer> parsed = new HashMap<>();
+
+        @Override
+        public Node parse(@Nonnull ResourceLoader resourceLoader, @Nonnull String resourcePath, @Nonnull String content)
+        {
+            final Integer count = parsed.get(resourcePath);
+            parsed.put(resourcePath, count == null ? 1 : count + 1);
+            // parses every time, like a build without cache
+            return RamlNodeParser.parse(resourceLoader, resourcePath, content);
+        }
+    }
+
+    private static class CountingResourceLoader implements ResourceLoader
+    {
+
+        private final ResourceLoader delegate;
+        private final Map<String, Integer> fetched = new HashMap<>();
+
+        CountingResourceLoader(ResourceLoader delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            final Integer count = fetched.get(resourceName);
+            fetched.put(resourceName, count == null ? 1 : count + 1);
+            return delegate.fetchResource(resourceName);
+        }
+    }
+}
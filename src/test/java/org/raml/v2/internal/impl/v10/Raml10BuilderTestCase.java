@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.phase.PhaseGraph;
+import org.raml.v2.internal.impl.RamlBuilder;
+import org.raml.v2.internal.impl.commons.nodes.RamlDocumentNode;
+
+public class Raml10BuilderTestCase
+{
+
+    @Test
+    public void fusesIndependentPhases()
+    {
+        final PhaseGraph phaseGraph = new Raml10Builder().createPhases(new DefaultResourceLoader(), RamlFragment.Default);
+        assertThat(phaseGraph.getPhaseNames(Integer.MAX_VALUE), is(Arrays.asList("include", "fragments", "grammar", "libraryLink", "referenceCheck", "resources",
+                "annotationValidation+mediaTypeInjection", "revalidation", "schemaValidation", "exampleValidation")));
+    }
+
+    @Test
+    public void recordsTheFragmentOfTheBuiltDocument()
+    {
+        final Node extension = new RamlBuilder().build(new File("src/test/resources/org/raml/v2/api/v10/validation-level/extension.raml"));
+        assertThat(((RamlDocumentNode) extension).getFragment(), is(RamlFragment.Default));
+
+        final Node api = new RamlBuilder().build("#%RAML 1.0\ntitle: fragments\n");
+        assertThat(((RamlDocumentNode) api).getFragment(), is(RamlFragment.Default));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.impl.v10.phase;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.text.IsEqualIgnoringWhiteSpace.equalToIgnoringWhiteSpace;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.raml.v2.dataprovider.TestDataProvider;
+import org.raml.v2.internal.impl.RamlBuilder;
+import org.raml.v2.internal.utils.TreeDumper;
+import org.raml.v2.parser.RamlBuilderTestCase;
+
+/**
+ * Runs the example scenarios validating the examples concurrently, the output must be the same as the sequential one.
+ */
+@RunWith(Parameterized.class)
+public class ParallelExampleValidationTestCase extends TestDataProvider
+{
+
+    public ParallelExampleValidationTestCase(File input, File expectedOutput, String name)
+    {
+        super(input, expectedOutput, name);
+    }
+
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+    {
+        executor.shutdown();
+        assertThat(executor.getTaskCount(), greaterThan(0L));
+    }
+
+    @Test
+    public void runTest() throws IOException
+    {
+        final RamlBuilder builder = new RamlBuilder();
+        builder.setExampleValidationExecutor(executor);
+        dump = new TreeDumper().dump(builder.build(input));
+        expected = IOUtils.toString(new FileInputStream(this.expectedOutput));
+        assertThat(dump, equalToIgnoringWhiteSpace(expected));
+    }
+
+    @Parameterized.Parameters(name = "{2}")
+    public static Collection<Object[]> getData() throws URISyntaxException
+    {
+        return getData(RamlBuilderTestCase.class.getResource("examples").toURI(), "input.raml", "output.txt");
+    }
+}
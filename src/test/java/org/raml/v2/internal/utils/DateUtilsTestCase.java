@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.raml.v2.internal.utils.DateType.date_only;
+import static org.raml.v2.internal.utils.DateType.datetime;
+import static org.raml.v2.internal.utils.DateType.datetime_only;
+import static org.raml.v2.internal.utils.DateType.time_only;
+import static org.raml.v2.internal.utils.DateUtils.isValidDate;
+
+import org.junit.Test;
+
+public class DateUtilsTestCase
+{
+
+    @Test
+    public void dateOnly()
+    {
+        assertThat(isValidDate("2015-05-23", date_only, null), is(true));
+        assertThat(isValidDate("2016-02-29", date_only, null), is(true));
+        assertThat(isValidDate("2015-02-29", date_only, null), is(false));
+        assertThat(isValidDate("2016-13-33", date_only, null), is(false));
+        assertThat(isValidDate("2015-5-23", date_only, null), is(false));
+        assertThat(isValidDate("2015-05-23T", date_only, null), is(false));
+    }
+
+    @Test
+    public void timeOnly()
+    {
+        assertThat(isValidDate("12:30:00", time_only, null), is(true));
+        assertThat(isValidDate("12:30:00.125", time_only, null), is(true));
+        assertThat(isValidDate("25:61:61", time_only, null), is(false));
+        assertThat(isValidDate("12:30:00.", time_only, null), is(false));
+        assertThat(isValidDate("12:30", time_only, null), is(false));
+    }
+
+    @Test
+    public void dateTimeOnly()
+    {
+        assertThat(isValidDate("2015-07-04T21:00:00", datetime_only, null), is(true));
+        assertThat(isValidDate("2015-13-33T25:61:61", datetime_only, null), is(false));
+        assertThat(isValidDate("2015-07-04T21:00:00Z", datetime_only, null), is(false));
+    }
+
+    @Test
+    public void dateTimeRfc3339()
+    {
+        assertThat(isValidDate("2016-02-28T16:41:41.090Z", datetime, "rfc3339"), is(true));
+        assertThat(isValidDate("2016-02-28T16:41:41-03:00", datetime, "rfc3339"), is(true));
+        assertThat(isValidDate("2016-02-28T16:41:41", datetime, "rfc3339"), is(false));
+        assertThat(isValidDate("2016-13-34T27:65:65.0901Z", datetime, "rfc3339"), is(false));
+        assertThat(isValidDate("2016-02-28T16:41:41+3:00", datetime, "rfc3339"), is(false));
+    }
+
+    @Test
+    public void dateTimeRfc2616()
+    {
+        assertThat(isValidDate("Sun, 28 Feb 2016 16:41:41 GMT", datetime, "rfc2616"), is(true));
+        assertThat(isValidDate("San, 28 Feb 2016 16:41:41 GMT", datetime, "rfc2616"), is(false));
+        assertThat(isValidDate("Sun, 30 Feb 2016 16:41:41 GMT", datetime, "rfc2616"), is(false));
+        assertThat(isValidDate("Sun, 28 Feb 2016 16:41:41 PST", datetime, "rfc2616"), is(false));
+    }
+}
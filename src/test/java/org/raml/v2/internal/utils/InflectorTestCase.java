@@ -16,6 +16,7 @@
 package org.raml.v2.internal.utils;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.raml.v2.internal.utils.Inflector.lowercamelcase;
 import static org.raml.v2.internal.utils.Inflector.lowercase;
@@ -92,4 +93,13 @@ public class InflectorTestCase
     {
         assertThat(upperhyphencase("userId"), is("USER-ID"));
     }
+
+    @Test
+    public void functionTable()
+    {
+        assertThat(InflectorFunction.forName("pluralize").apply("person"), is("people"));
+        assertThat(InflectorFunction.forName("pluralize").apply("person"), is("people"));
+        assertThat(InflectorFunction.forName("upperhyphencase").apply("userId"), is("USER-ID"));
+        assertThat(InflectorFunction.forName("capitalize"), nullValue());
+    }
 }
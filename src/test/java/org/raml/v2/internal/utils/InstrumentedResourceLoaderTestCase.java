@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.v2.api.instrumentation.BuildInstrumentation;
+import org.raml.v2.api.loader.AsyncResourceLoader;
+import org.raml.v2.api.loader.ExecutorResourceLoader;
+import org.raml.v2.api.loader.FileResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+
+public class InstrumentedResourceLoaderTestCase
+{
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Long> fetchedBytes = new ArrayList<>();
+    private FileResourceLoader fileLoader;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        FileUtils.writeStringToFile(new File(folder.getRoot(), "api.raml"), "#%RAML 1.0\ntitle: counted\n");
+        fileLoader = new FileResourceLoader(folder.getRoot());
+    }
+
+    @Test
+    public void forwardsVersions()
+    {
+        assertThat(InstrumentedResourceLoader.wrap(fileLoader, new RecordingInstrumentation()).getVersion("api.raml"), is(fileLoader.getVersion("api.raml")));
+
+        final ResourceLoader unversioned = new ResourceLoader()
+        {
+            @Override
+            public InputStream fetchResource(String resourceName)
+            {
+                return fileLoader.fetchResource(resourceName);
+            }
+        };
+        assertThat(InstrumentedResourceLoader.wrap(unversioned, new RecordingInstrumentation()).getVersion("api.raml"), nullValue());
+    }
+
+    @Test
+    public void staysAsynchronous() throws Exception
+    {
+        final InstrumentedResourceLoader loader = InstrumentedResourceLoader.wrap(new ExecutorResourceLoader(fileLoader), new RecordingInstrumentation());
+        assertThat(loader, instanceOf(AsyncResourceLoader.class));
+        assertThat(StreamUtils.toString(((AsyncResourceLoader) loader).fetchResourceAsync("api.raml").get()), is("#%RAML 1.0\ntitle: counted\n"));
+        assertThat(fetchedBytes.size(), is(1));
+        assertThat(fetchedBytes.get(0), is(26L));
+
+        assertThat(InstrumentedResourceLoader.wrap(fileLoader, new RecordingInstrumentation()), not(instanceOf(AsyncResourceLoader.class)));
+    }
+
+    @Test
+    public void countsFilesReadThroughTheirChannel()
+    {
+        final InputStream inputStream = InstrumentedResourceLoader.wrap(fileLoader, new RecordingInstrumentation()).fetchResource("api.raml");
+        assertThat(StreamUtils.toString(inputStream), is("#%RAML 1.0\ntitle: counted\n"));
+        assertThat(fetchedBytes.size(), is(1));
+        assertThat(fetchedBytes.get(0), is(26L));
+    }
+
+    private class RecordingInstrumentation implements BuildInstrumentation
+    {
+
+        @Override
+        public void buildCompleted(String location, long nanos, boolean hasErrors)
+        {
+        }
+
+        @Override
+        public void phaseCompleted(String phaseName, long nanos, long nodesVisited, long nodesReplaced)
+        {
+        }
+
+        @Override
+        public void resourceFetched(String resourceName, long bytes, long nanos)
+        {
+            fetchedBytes.add(bytes);
+        }
+
+        @Override
+        public void schemaCompiled(String schemaType, long nanos)
+        {
+        }
+    }
+}
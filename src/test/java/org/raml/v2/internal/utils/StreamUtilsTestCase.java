@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamUtilsTestCase
+{
+
+    private static final String CONTENT = "#%RAML 1.0\ntitle: Se\u00f1or caf\u00e9 \u2713\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void byteOrderMarks() throws IOException
+    {
+        assertDecoded(concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, CONTENT.getBytes("UTF-8")));
+        assertDecoded(concat(new byte[] {(byte) 0xFE, (byte) 0xFF}, CONTENT.getBytes("UTF-16BE")));
+        assertDecoded(concat(new byte[] {(byte) 0xFF, (byte) 0xFE}, CONTENT.getBytes("UTF-16LE")));
+        assertDecoded(concat(new byte[] {(byte) 0xFF, (byte) 0xFE, 0, 0}, CONTENT.getBytes("UTF-32LE")));
+    }
+
+    @Test
+    public void utf8WithoutByteOrderMark() throws IOException
+    {
+        assertDecoded(CONTENT.getBytes("UTF-8"));
+        assertThat(StreamUtils.detectEncoding(CONTENT.getBytes("UTF-8")), is("UTF-8"));
+    }
+
+    @Test
+    public void detectedEncoding() throws IOException
+    {
+        final String content = "#%RAML 1.0\ntitle: Le caf\u00e9 de la r\u00e9gion\ndescription: Une premi\u00e8re \u00e9tape tr\u00e8s d\u00e9taill\u00e9e, \u00e0 c\u00f4t\u00e9 du ch\u00e2teau\n";
+        assertThat(StreamUtils.toString(new ByteArrayInputStream(content.getBytes("ISO-8859-1"))), is(content));
+    }
+
+    @Test
+    public void files() throws IOException
+    {
+        final File file = folder.newFile("api.raml");
+        FileUtils.writeByteArrayToFile(file, concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, CONTENT.getBytes("UTF-8")));
+        assertThat(StreamUtils.toString(new FileInputStream(file)), is(CONTENT));
+    }
+
+    private void assertDecoded(byte[] content)
+    {
+        assertThat(StreamUtils.toString(new ByteArrayInputStream(content)), is(CONTENT));
+    }
+
+    private static byte[] concat(byte[] bom, byte[] content)
+    {
+        final byte[] result = new byte[bom.length + content.length];
+        System.arraycopy(bom, 0, result, 0, bom.length);
+        System.arraycopy(content, 0, result, bom.length, content.length);
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.v2.internal.utils;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.raml.v2.internal.framework.nodes.KeyValueNode;
+import org.raml.v2.internal.framework.nodes.Node;
+import org.raml.v2.internal.framework.nodes.StringNode;
+import org.raml.v2.internal.impl.RamlBuilder;
+
+public class StringPoolTestCase
+{
+
+    private static final String RAML = "#%RAML 1.0\n" +
+                                       "title: api\n" +
+                                       "/a:\n" +
+                                       "  description: same\n" +
+                                       "/b:\n" +
+                                       "  description: same\n";
+
+    @Test
+    public void keysAndValuesAreShared()
+    {
+        final List<Node> resources = parse().getChildren();
+        assertThat(key(resources.get(1)), sameInstance(key(resources.get(2))));
+        assertThat(value(resources.get(1)), sameInstance(value(resources.get(2))));
+    }
+
+    @Test
+    public void poolCanBeDisabled()
+    {
+        final String value = new String("short");
+        assertThat(StringPool.intern(value, false), sameInstance(value));
+        assertThat(StringPool.intern(new String("short"), false), not(sameInstance(value)));
+    }
+
+    @Test
+    public void longValuesAreNotPooled()
+    {
+        final String value = new String(new char[100]).replace('\0', 'a');
+        assertThat(StringPool.intern(value), sameInstance(value));
+        assertThat(StringPool.intern(new String("short")), sameInstance(StringPool.intern(new String("short"))));
+    }
+
+    private Node parse()
+    {
+        return new RamlBuilder(RamlBuilder.FIRST_PHASE).build(RAML);
+    }
+
+    private static String key(Node resource)
+    {
+        return ((StringNode) description(resource).getKey()).getValue();
+    }
+
+    private static String value(Node resource)
+    {
+        return ((StringNode) description(resource).getValue()).getValue();
+    }
+
+    private static KeyValueNode description(Node resource)
+    {
+        return (KeyValueNode) ((KeyValueNode) resource).getValue().getChildren().get(0);
+    }
+}